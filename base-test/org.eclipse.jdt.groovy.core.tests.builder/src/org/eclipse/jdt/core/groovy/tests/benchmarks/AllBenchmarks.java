@@ -0,0 +1,33 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * The compiler and inferencing benchmarks. Deliberately not part of the regular test suites, since they take minutes and
+ * only report numbers. Run as a JUnit plug-in test, optionally with -Dgreclipse.benchmark.output=results.csv to compare runs.
+ */
+public class AllBenchmarks {
+    public static Test suite() {
+        TestSuite suite = new TestSuite(AllBenchmarks.class.getName());
+        suite.addTestSuite(ReflectionBenchmarks.class);
+        suite.addTestSuite(CompilerBenchmarks.class);
+        suite.addTest(InferencingBenchmarks.suite());
+        return suite;
+    }
+}
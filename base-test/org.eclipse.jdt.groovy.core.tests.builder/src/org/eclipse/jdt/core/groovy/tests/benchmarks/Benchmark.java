@@ -0,0 +1,44 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+/**
+ * One operation measured by the {@link BenchmarkRunner}. {@link #setUp()} is called once before the warmup, {@link #runOnce()}
+ * for every warmup and measured operation, and {@link #tearDown()} once at the end.
+ * <p>
+ * The value returned by {@link #runOnce()} is kept by the runner until the next operation, so the JIT cannot drop the work that
+ * produced it, and it is what the retained heap is measured for.
+ */
+public abstract class Benchmark {
+
+    private final String name;
+
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    protected void setUp() throws Exception {
+    }
+
+    protected abstract Object runOnce() throws Exception;
+
+    protected void tearDown() throws Exception {
+    }
+}
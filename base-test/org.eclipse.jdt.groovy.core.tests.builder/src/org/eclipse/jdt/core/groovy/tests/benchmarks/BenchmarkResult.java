@@ -0,0 +1,80 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+/**
+ * The numbers of one {@link Benchmark}. Allocation and retained heap are -1 when the VM cannot tell.
+ */
+public class BenchmarkResult {
+
+    private final String name;
+    private final int iterations;
+    private final double opsPerSecond;
+    private final double opsPerSecondDeviation;
+    private final long allocatedBytesPerOp;
+    private final long retainedBytes;
+
+    BenchmarkResult(String name, int iterations, double opsPerSecond, double opsPerSecondDeviation, long allocatedBytesPerOp,
+            long retainedBytes) {
+        this.name = name;
+        this.iterations = iterations;
+        this.opsPerSecond = opsPerSecond;
+        this.opsPerSecondDeviation = opsPerSecondDeviation;
+        this.allocatedBytesPerOp = allocatedBytesPerOp;
+        this.retainedBytes = retainedBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public double getOpsPerSecond() {
+        return opsPerSecond;
+    }
+
+    /**
+     * @return the standard deviation of the throughput of the measured iterations
+     */
+    public double getOpsPerSecondDeviation() {
+        return opsPerSecondDeviation;
+    }
+
+    public long getAllocatedBytesPerOp() {
+        return allocatedBytesPerOp;
+    }
+
+    /**
+     * @return how much more heap is in use after a garbage collection while the result of one operation is held
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public String toCSV() {
+        return name + "," + iterations + "," + String.format("%.3f", opsPerSecond) + ","
+                + String.format("%.3f", opsPerSecondDeviation) + "," + allocatedBytesPerOp + "," + retainedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-50s %12.3f ops/s +- %10.3f %14d B/op %14d B retained", name, opsPerSecond,
+                opsPerSecondDeviation, allocatedBytesPerOp, retainedBytes);
+    }
+}
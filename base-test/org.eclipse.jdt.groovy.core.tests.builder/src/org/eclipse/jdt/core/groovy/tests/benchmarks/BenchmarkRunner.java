@@ -0,0 +1,157 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Runs {@link Benchmark}s the way JMH would in a plain JUnit run: a number of warmup iterations that are thrown away, then
+ * measured iterations of a fixed duration, each counting how many operations fit in it. Reports the throughput with its
+ * deviation, the bytes allocated per operation and the heap retained by the result of one operation.
+ * <p>
+ * Tuned with system properties:
+ * <ul>
+ * <li>greclipse.benchmark.warmup - warmup iterations, default 5</li>
+ * <li>greclipse.benchmark.iterations - measured iterations, default 10</li>
+ * <li>greclipse.benchmark.iterationMillis - duration of one iteration, default 1000</li>
+ * <li>greclipse.benchmark.output - a file the results are appended to as CSV</li>
+ * </ul>
+ * Allocation is measured with <code>com.sun.management.ThreadMXBean</code>, found reflectively since it is neither part of
+ * Java 5 nor of every VM.
+ */
+public class BenchmarkRunner {
+
+    private final int warmupIterations = Integer.getInteger("greclipse.benchmark.warmup", 5);
+    private final int measuredIterations = Integer.getInteger("greclipse.benchmark.iterations", 10);
+    private final long iterationNanos = Integer.getInteger("greclipse.benchmark.iterationMillis", 1000) * 1000000L;
+    private final String output = System.getProperty("greclipse.benchmark.output");
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final Method getThreadAllocatedBytes = findAllocationMethod();
+
+    private static Method findAllocationMethod() {
+        try {
+            Class<?> sunBean = Class.forName("com.sun.management.ThreadMXBean");
+            if (sunBean.isInstance(threadBean)) {
+                Method method = sunBean.getMethod("getThreadAllocatedBytes", long.class);
+                method.invoke(threadBean, Thread.currentThread().getId());
+                return method;
+            }
+        } catch (Exception e) {
+            // not available on this VM
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        if (getThreadAllocatedBytes == null) {
+            return -1;
+        }
+        try {
+            return (Long) getThreadAllocatedBytes.invoke(threadBean, Thread.currentThread().getId());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static long usedHeapAfterGC() {
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            System.runFinalization();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // keeps the results of the operations reachable, so the work cannot be optimized away
+    private Object blackhole;
+
+    public BenchmarkResult run(Benchmark benchmark) throws Exception {
+        benchmark.setUp();
+        try {
+            for (int i = 0; i < warmupIterations; i++) {
+                iteration(benchmark);
+            }
+            double[] throughputs = new double[measuredIterations];
+            long totalOps = 0;
+            long allocatedBefore = allocatedBytes();
+            for (int i = 0; i < measuredIterations; i++) {
+                long start = System.nanoTime();
+                long ops = iteration(benchmark);
+                throughputs[i] = ops * 1000000000.0 / (System.nanoTime() - start);
+                totalOps += ops;
+            }
+            long allocatedAfter = allocatedBytes();
+            long bytesPerOp = allocatedBefore < 0 || allocatedAfter < 0 || totalOps == 0 ? -1 : (allocatedAfter - allocatedBefore)
+                    / totalOps;
+
+            blackhole = null;
+            long heapBefore = usedHeapAfterGC();
+            blackhole = benchmark.runOnce();
+            long retained = Math.max(0, usedHeapAfterGC() - heapBefore);
+            blackhole = null;
+
+            double mean = 0;
+            for (double throughput : throughputs) {
+                mean += throughput;
+            }
+            mean /= Math.max(1, throughputs.length);
+            double variance = 0;
+            for (double throughput : throughputs) {
+                variance += (throughput - mean) * (throughput - mean);
+            }
+            variance /= Math.max(1, throughputs.length - 1);
+
+            BenchmarkResult result = new BenchmarkResult(benchmark.getName(), measuredIterations, mean, Math.sqrt(variance),
+                    bytesPerOp, retained);
+            report(result);
+            return result;
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    private long iteration(Benchmark benchmark) throws Exception {
+        long ops = 0;
+        long end = System.nanoTime() + iterationNanos;
+        do {
+            blackhole = benchmark.runOnce();
+            ops += 1;
+        } while (System.nanoTime() < end);
+        return ops;
+    }
+
+    private void report(BenchmarkResult result) {
+        System.out.println(result);
+        if (output != null) {
+            PrintWriter writer = null;
+            try {
+                writer = new PrintWriter(new FileWriter(output, true));
+                writer.println(result.toCSV());
+            } catch (IOException e) {
+                System.err.println("Could not write benchmark results to " + output + ": " + e.getMessage());
+            } finally {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.activator.GroovyActivator;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+import org.eclipse.jdt.core.tests.util.GroovyUtils;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+
+/**
+ * Throughput of the headless batch compiler on the generated {@link Corpora}, and of the Groovy phases alone: parsing
+ * (conversion), resolving (semantic analysis) and class generation. Mixed Java and Groovy sources are compiled both with and
+ * without the compiler's read ahead threads. Not part of any suite, run it by hand.
+ */
+public class CompilerBenchmarks extends TestCase {
+
+    private final BenchmarkRunner runner = new BenchmarkRunner();
+
+    /**
+     * Writes the corpus to a temporary folder and compiles all of it with {@link Main} in each operation
+     */
+    private static class BatchCompile extends Benchmark {
+        private final Map<String, String> corpus;
+        private final Map<String, String> javaCorpus;
+        // the value of -Djdt.compiler.useSingleThread while compiling, or null to leave it as it is
+        private final String useSingleThread;
+        private File root;
+        private String[] args;
+
+        BatchCompile(String name, Map<String, String> corpus) {
+            this("batch compile " + name, corpus, Collections.<String, String> emptyMap(), null);
+        }
+
+        BatchCompile(String name, Map<String, String> corpus, Map<String, String> javaCorpus, String useSingleThread) {
+            super(name);
+            this.corpus = corpus;
+            this.javaCorpus = javaCorpus;
+            this.useSingleThread = useSingleThread;
+        }
+
+        @Override
+        protected void setUp() throws Exception {
+            root = File.createTempFile("benchmark", "");
+            root.delete();
+            File src = new File(root, "src");
+            src.mkdirs();
+            List<String> list = new ArrayList<String>();
+            list.add("-1.5");
+            list.add("-nowarn");
+            list.add("-classpath");
+            StringBuilder classpath = new StringBuilder();
+            for (String lib : Util.getJavaClassLibs()) {
+                classpath.append(lib).append(File.pathSeparatorChar);
+            }
+            classpath.append(new File(GroovyActivator.GROOVY_ALL_JAR_URL.getFile()).getAbsolutePath());
+            list.add(classpath.toString());
+            list.add("-d");
+            list.add(new File(root, "bin").getAbsolutePath());
+            for (Map.Entry<String, String> entry : corpus.entrySet()) {
+                File file = new File(src, entry.getKey() + ".groovy");
+                write(file, entry.getValue());
+                list.add(file.getAbsolutePath());
+            }
+            for (Map.Entry<String, String> entry : javaCorpus.entrySet()) {
+                File file = new File(src, entry.getKey() + ".java");
+                write(file, entry.getValue());
+                list.add(file.getAbsolutePath());
+            }
+            args = list.toArray(new String[list.size()]);
+        }
+
+        @Override
+        protected Object runOnce() throws Exception {
+            // Main reads the property each time it compiles
+            String oldValue = System.getProperty("jdt.compiler.useSingleThread");
+            if (useSingleThread != null) {
+                System.setProperty("jdt.compiler.useSingleThread", useSingleThread);
+            }
+            try {
+                StringWriter err = new StringWriter();
+                boolean ok = new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null).compile(args);
+                if (!ok) {
+                    throw new IllegalStateException(getName() + " does not compile:\n" + err);
+                }
+                return err;
+            } finally {
+                if (useSingleThread != null) {
+                    if (oldValue == null) {
+                        System.clearProperty("jdt.compiler.useSingleThread");
+                    } else {
+                        System.setProperty("jdt.compiler.useSingleThread", oldValue);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void tearDown() throws Exception {
+            Util.delete(root);
+        }
+    }
+
+    /**
+     * Runs the Groovy compiler up to the given phase on the whole corpus in each operation
+     */
+    private static class GroovyPhase extends Benchmark {
+        private final Map<String, String> corpus;
+        private final int phase;
+
+        GroovyPhase(String name, Map<String, String> corpus, int phase) {
+            super(Phases.getDescription(phase) + " " + name);
+            this.corpus = corpus;
+            this.phase = phase;
+        }
+
+        @Override
+        protected Object runOnce() throws Exception {
+            CompilationUnit unit = new CompilationUnit();
+            for (Map.Entry<String, String> entry : corpus.entrySet()) {
+                unit.addSource(entry.getKey() + ".groovy", entry.getValue());
+            }
+            unit.compile(phase);
+            return unit;
+        }
+    }
+
+    private static void write(File file, String contents) throws IOException {
+        FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(contents);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void runAll(String name, Map<String, String> corpus) throws Exception {
+        runner.run(new BatchCompile(name, corpus));
+        runner.run(new GroovyPhase(name, corpus, Phases.CONVERSION));
+        runner.run(new GroovyPhase(name, corpus, Phases.SEMANTIC_ANALYSIS));
+        runner.run(new GroovyPhase(name, corpus, Phases.CLASS_GENERATION));
+    }
+
+    public void testSmallScripts() throws Exception {
+        runAll("200 small scripts", Corpora.smallScripts(200));
+    }
+
+    public void testLargeClasses() throws Exception {
+        runAll("3 classes of 10000 lines", Corpora.largeClasses(3, 10000));
+    }
+
+    public void testTraits() throws Exception {
+        if (GroovyUtils.GROOVY_LEVEL < 23) {
+            return;
+        }
+        runAll("100 classes with traits", Corpora.traitHeavy(100));
+    }
+
+    public void testDSL() throws Exception {
+        runAll("100 builder scripts", Corpora.dslHeavy(100));
+    }
+
+    public void testMixedJavaAndGroovy() throws Exception {
+        Map<String, String> groovy = Corpora.mixedGroovy(250);
+        Map<String, String> java = Corpora.mixedJava(250);
+        runner.run(new BatchCompile("batch compile 250 Java and 250 Groovy classes, single thread", groovy, java, "true"));
+        runner.run(new BatchCompile("batch compile 250 Java and 250 Groovy classes, read ahead", groovy, java, "false"));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generated Groovy sources for the benchmarks, as type name -> contents, and the Java sources that go with
+ * {@link #mixedGroovy(int)}. All types are in the default package, and the sources of one corpus compile together without
+ * errors. The same arguments always generate the same sources.
+ */
+public class Corpora {
+
+    private Corpora() {
+        // static only
+    }
+
+    /**
+     * Many short scripts, each calling into the next one
+     */
+    public static Map<String, String> smallScripts(int count) {
+        Map<String, String> corpus = new LinkedHashMap<String, String>();
+        for (int i = 0; i < count; i++) {
+            String next = "Script" + ((i + 1) % count);
+            corpus.put("Script" + i, "def list = [1, 2, 3].collect { it * " + i + " }\n"
+                    + "String text = \"value ${list.sum()}\"\n"
+                    + "def map = [name: text, size: list.size()]\n"
+                    + "if (map.size > 2) {\n"
+                    + "    println map.name.toUpperCase()\n"
+                    + "}\n"
+                    + "def helper(int x) { x + " + i + " }\n"
+                    + "Class<?> other = " + next + "\n"
+                    + "helper(list[0])\n");
+        }
+        return corpus;
+    }
+
+    /**
+     * A few classes, each with roughly the given number of lines of typed and untyped code
+     */
+    public static Map<String, String> largeClasses(int count, int lines) {
+        Map<String, String> corpus = new LinkedHashMap<String, String>();
+        for (int i = 0; i < count; i++) {
+            corpus.put("Large" + i, largeClass("Large" + i, lines));
+        }
+        return corpus;
+    }
+
+    public static String largeClass(String name, int lines) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(name).append(" {\n");
+        sb.append("    Map<String, List<Integer>> values = [:]\n");
+        sb.append("    def counter = 0\n");
+        // each method is 10 lines
+        for (int m = 0; m * 10 < lines; m++) {
+            sb.append("    List<Integer> method").append(m).append("(String key, int n) {\n");
+            sb.append("        def result = values[key] ?: []\n");
+            sb.append("        for (int i = 0; i < n; i++) {\n");
+            sb.append("            result << i * ").append(m).append('\n');
+            sb.append("        }\n");
+            sb.append("        counter += result.size()\n");
+            sb.append("        String text = key.toUpperCase().substring(0, Math.min(key.length(), 3))\n");
+            sb.append("        values.put(text, result.findAll { it % 2 == 0 })\n");
+            sb.append("        return ").append(m > 0 ? "method" + (m - 1) + "(text, n - 1)" : "result").append('\n');
+            sb.append("    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Classes that each implement several traits with state and default methods. Traits need Groovy 2.3 or later.
+     */
+    public static Map<String, String> traitHeavy(int count) {
+        Map<String, String> corpus = new LinkedHashMap<String, String>();
+        int traits = Math.max(1, count / 4);
+        for (int t = 0; t < traits; t++) {
+            corpus.put("Trait" + t, "trait Trait" + t + " {\n"
+                    + "    int count" + t + " = 0\n"
+                    + "    String describe" + t + "() { \"trait " + t + " counted ${count" + t + "}\" }\n"
+                    + "    int increment" + t + "(int by) { count" + t + " += by }\n"
+                    + "}\n");
+        }
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("class Traited").append(i).append(" implements ");
+            for (int t = 0; t < Math.min(traits, 4); t++) {
+                if (t > 0) {
+                    sb.append(", ");
+                }
+                sb.append("Trait").append((i + t) % traits);
+            }
+            sb.append(" {\n");
+            sb.append("    String run() {\n");
+            for (int t = 0; t < Math.min(traits, 4); t++) {
+                int trait = (i + t) % traits;
+                sb.append("        increment").append(trait).append("(").append(i).append(")\n");
+                sb.append("        println describe").append(trait).append("()\n");
+            }
+            sb.append("        return toString()\n");
+            sb.append("    }\n");
+            sb.append("}\n");
+            corpus.put("Traited" + i, sb.toString());
+        }
+        return corpus;
+    }
+
+    /**
+     * Groovy classes that call into the Java classes of {@link #mixedJava(int)} with the same count, which call back into them
+     */
+    public static Map<String, String> mixedGroovy(int count) {
+        Map<String, String> corpus = new LinkedHashMap<String, String>();
+        for (int i = 0; i < count; i++) {
+            corpus.put("Groovy" + i, "class Groovy" + i + " {\n"
+                    + "    def partner = new Java" + i + "()\n"
+                    + "    int value() { " + i + " }\n"
+                    + "    String describe() { \"${partner.next()} after ${value()}\" }\n"
+                    + "}\n");
+        }
+        return corpus;
+    }
+
+    /**
+     * Java classes that call into the Groovy classes of {@link #mixedGroovy(int)}
+     */
+    public static Map<String, String> mixedJava(int count) {
+        Map<String, String> corpus = new LinkedHashMap<String, String>();
+        for (int i = 0; i < count; i++) {
+            corpus.put("Java" + i, "public class Java" + i + " {\n"
+                    + "    public int next() {\n"
+                    + "        return new Groovy" + ((i + 1) % count) + "().value();\n"
+                    + "    }\n"
+                    + "}\n");
+        }
+        return corpus;
+    }
+
+    /**
+     * Scripts in builder style: deeply nested closures passed to untyped method calls, resolved through a map based builder
+     */
+    public static Map<String, String> dslHeavy(int count) {
+        Map<String, String> corpus = new LinkedHashMap<String, String>();
+        corpus.put("DslBuilder", "class DslBuilder {\n"
+                + "    def nodes = []\n"
+                + "    def invokeMethod(String name, args) {\n"
+                + "        nodes << name\n"
+                + "        def last = args ? args[-1] : null\n"
+                + "        if (last instanceof Closure) {\n"
+                + "            last.delegate = this\n"
+                + "            last.resolveStrategy = Closure.DELEGATE_FIRST\n"
+                + "            last.call()\n"
+                + "        }\n"
+                + "        return this\n"
+                + "    }\n"
+                + "}\n");
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("def builder = new DslBuilder()\n");
+            sb.append("builder.project(name: 'p").append(i).append("') {\n");
+            for (int m = 0; m < 5; m++) {
+                sb.append("    module(id: ").append(m).append(") {\n");
+                sb.append("        dependencies {\n");
+                for (int d = 0; d < 4; d++) {
+                    sb.append("            compile 'group:artifact").append(d).append(":1.").append(m).append("'\n");
+                }
+                sb.append("        }\n");
+                sb.append("        tasks { [1, 2, 3].each { n -> task(\"t${n}\") { doLast { println n * ").append(m)
+                        .append(" } } } }\n");
+                sb.append("    }\n");
+            }
+            sb.append("}\n");
+            sb.append("assert builder.nodes.size() > 0\n");
+            corpus.put("Dsl" + i, sb.toString());
+        }
+        return corpus;
+    }
+}
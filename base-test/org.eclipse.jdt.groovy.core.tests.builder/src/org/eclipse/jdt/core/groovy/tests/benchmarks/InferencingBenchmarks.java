@@ -0,0 +1,112 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Test;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.groovy.tests.search.AbstractGroovySearchTest;
+import org.eclipse.jdt.core.tests.util.GroovyUtils;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.TypeLookupResult;
+
+/**
+ * Throughput of {@link org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor} on the generated {@link Corpora}.
+ * Each operation infers every node of every unit of the corpus, the way code select and search do. The units are created and
+ * built once, so their module nodes are cached and only the inferencing is measured. Not part of any suite, run it by hand.
+ */
+public class InferencingBenchmarks extends AbstractGroovySearchTest {
+
+    public InferencingBenchmarks(String name) {
+        super(name);
+    }
+
+    public static Test suite() {
+        return buildTestSuite(InferencingBenchmarks.class);
+    }
+
+    private final BenchmarkRunner runner = new BenchmarkRunner();
+
+    private static class CountingRequestor implements ITypeRequestor {
+        int nodes;
+
+        public VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) {
+            nodes += 1;
+            return VisitStatus.CONTINUE;
+        }
+    }
+
+    private class Inference extends Benchmark {
+        private final Map<String, String> corpus;
+        private final List<GroovyCompilationUnit> units = new ArrayList<GroovyCompilationUnit>();
+
+        Inference(String name, Map<String, String> corpus) {
+            super("infer " + name);
+            this.corpus = corpus;
+        }
+
+        @Override
+        protected void setUp() throws Exception {
+            for (Map.Entry<String, String> entry : corpus.entrySet()) {
+                units.add(createUnit(entry.getKey(), entry.getValue()));
+            }
+            for (GroovyCompilationUnit unit : units) {
+                unit.becomeWorkingCopy(null);
+            }
+        }
+
+        @Override
+        protected Object runOnce() throws Exception {
+            CountingRequestor requestor = new CountingRequestor();
+            for (GroovyCompilationUnit unit : units) {
+                factory.createVisitor(unit).visitCompilationUnit(requestor);
+            }
+            return requestor;
+        }
+
+        @Override
+        protected void tearDown() throws Exception {
+            for (GroovyCompilationUnit unit : units) {
+                unit.discardWorkingCopy();
+            }
+        }
+    }
+
+    public void testSmallScripts() throws Exception {
+        runner.run(new Inference("100 small scripts", Corpora.smallScripts(100)));
+    }
+
+    public void testLargeClass() throws Exception {
+        runner.run(new Inference("a class of 10000 lines", Corpora.largeClasses(1, 10000)));
+    }
+
+    public void testTraits() throws Exception {
+        if (GroovyUtils.GROOVY_LEVEL < 23) {
+            return;
+        }
+        runner.run(new Inference("40 classes with traits", Corpora.traitHeavy(40)));
+    }
+
+    public void testDSL() throws Exception {
+        runner.run(new Inference("40 builder scripts", Corpora.dslHeavy(40)));
+    }
+}
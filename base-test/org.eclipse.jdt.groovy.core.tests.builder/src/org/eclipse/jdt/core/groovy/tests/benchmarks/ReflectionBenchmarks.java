@@ -0,0 +1,85 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.eclipse.jdt.core.groovy.tests.benchmarks;
+
+import java.lang.reflect.Field;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
+
+/**
+ * Cost of reading a private field: through a {@link FieldAccessor} kept in a constant, through
+ * {@link ReflectionUtils#getPrivateField(Class, String, Object)} which looks the accessor up in its cache, and by looking up
+ * the field each time, which is what every read cost before the accessors were cached. Not part of any suite, run it by hand.
+ */
+public class ReflectionBenchmarks extends TestCase {
+
+    private static final int READS = 1000;
+
+    @SuppressWarnings("unused")
+    private static class Target {
+        private String value = "value";
+    }
+
+    private static final FieldAccessor VALUE = ReflectionUtils.getFieldAccessor(Target.class, "value");
+
+    private final BenchmarkRunner runner = new BenchmarkRunner();
+
+    private final Target target = new Target();
+
+    public void testCachedAccessor() throws Exception {
+        runner.run(new Benchmark("field accessor constant, " + READS + " reads") {
+            @Override
+            protected Object runOnce() throws Exception {
+                Object last = null;
+                for (int i = 0; i < READS; i++) {
+                    last = VALUE.get(target);
+                }
+                return last;
+            }
+        });
+    }
+
+    public void testGetPrivateField() throws Exception {
+        runner.run(new Benchmark("getPrivateField, " + READS + " reads") {
+            @Override
+            protected Object runOnce() throws Exception {
+                Object last = null;
+                for (int i = 0; i < READS; i++) {
+                    last = ReflectionUtils.getPrivateField(Target.class, "value", target);
+                }
+                return last;
+            }
+        });
+    }
+
+    public void testUncachedLookup() throws Exception {
+        runner.run(new Benchmark("getDeclaredField each time, " + READS + " reads") {
+            @Override
+            protected Object runOnce() throws Exception {
+                Object last = null;
+                for (int i = 0; i < READS; i++) {
+                    Field field = Target.class.getDeclaredField("value");
+                    field.setAccessible(true);
+                    last = field.get(target);
+                }
+                return last;
+            }
+        });
+    }
+}
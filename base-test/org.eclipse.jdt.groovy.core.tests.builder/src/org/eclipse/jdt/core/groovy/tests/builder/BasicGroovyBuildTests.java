@@ -11,6 +11,8 @@
 package org.eclipse.jdt.core.groovy.tests.builder;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.StringTokenizer;
@@ -28,6 +30,7 @@ import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
 import org.codehaus.groovy.ast.expr.Expression;
 import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.groovy.vmplugin.VMPluginFactory;
+import org.codehaus.jdt.groovy.integration.internal.MultiplexingParser;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTClassNode;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
@@ -44,6 +47,15 @@ import org.eclipse.jdt.core.tests.util.GroovyUtils;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.core.util.CompilerUtils;
 import org.eclipse.jdt.groovy.search.VariableScope;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ReadManager;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
 import org.osgi.framework.Version;
 
@@ -278,6 +290,126 @@ public class BasicGroovyBuildTests extends GroovierBuilderTests {
 		expectingNoProblems();
 	}
 
+	// many more groovy errors than JDT reports for a unit, only maxProblemsPerUnit of them are kept
+	public void testManyUnresolvedTypes() throws Exception {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.addGroovyJars(projectPath);
+		fullBuild(projectPath);
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		StringBuilder contents = new StringBuilder("package p1;\nclass Many {\n");
+		for (int i = 0; i < 250; i++) {
+			contents.append("  Unknown").append(i).append(" field").append(i).append("\n");
+		}
+		contents.append("}\n");
+		IPath path = env.addGroovyClass(root, "p1", "Many", contents.toString());
+		incrementalBuild(projectPath);
+
+		Problem[] problems = env.getProblemsFor(path);
+		assertTrue("Expected unresolved type problems", problems.length > 0);
+		assertTrue("Expected at most 100 problems, but got " + problems.length, problems.length <= 100);
+		for (Problem problem : problems) {
+			assertTrue("Unexpected problem: " + problem.getMessage(),
+					problem.getMessage().startsWith("Groovy:unable to resolve class Unknown"));
+		}
+	}
+
+	// enough units for the compiler to read ahead on other threads, with the Groovy units after the Java ones
+	public void testManyMixedUnitsReadAhead() throws Exception {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.addGroovyJars(projectPath);
+		fullBuild(projectPath);
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		int count = 40;
+		String[] expected = new String[count * 2];
+		for (int i = 0; i < count; i++) {
+			env.addClass(root, "p1", "J" + i, "package p1;\n"
+					+ "public class J" + i + " {\n"
+					+ "   public String g() { return new G" + i + "().name(); }\n"
+					+ "}\n");
+			env.addGroovyClass(root, "p1", "G" + i, "package p1;\n"
+					+ "class G" + i + " {\n"
+					+ "   String name() { 'G" + i + "' }\n"
+					+ "   String j() { new J" + ((i + 1) % count) + "().g() }\n"
+					+ "}\n");
+			expected[i * 2] = "p1.J" + i;
+			expected[i * 2 + 1] = "p1.G" + i;
+		}
+
+		// the builder only reads ahead when it is not told to use a single thread
+		String useSingleThread = System.getProperty("jdt.compiler.useSingleThread");
+		try {
+			System.setProperty("jdt.compiler.useSingleThread", "false");
+			incrementalBuild(projectPath);
+			expectingCompiledClassesV(expected);
+			expectingNoProblems();
+
+			// and the same without reading ahead
+			System.setProperty("jdt.compiler.useSingleThread", "true");
+			fullBuild(projectPath);
+			expectingCompiledClassesV(expected);
+			expectingNoProblems();
+		} finally {
+			if (useSingleThread == null) {
+				System.clearProperty("jdt.compiler.useSingleThread");
+			} else {
+				System.setProperty("jdt.compiler.useSingleThread", useSingleThread);
+			}
+		}
+	}
+
+	/**
+	 * Remembers the units whose contents were asked for
+	 */
+	private static class CountingReadManager extends ReadManager {
+		final List<ICompilationUnit> served = new ArrayList<ICompilationUnit>();
+
+		CountingReadManager(ICompilationUnit[] units) {
+			super(units, units.length);
+		}
+
+		@Override
+		public char[] getContents(ICompilationUnit unit) throws Error {
+			served.add(unit);
+			return super.getContents(unit);
+		}
+	}
+
+	public void testGroovyUnitsReadThroughReadManager() throws Exception {
+		ICompilationUnit[] units = new ICompilationUnit[ReadManager.THRESHOLD * 2];
+		for (int i = 0; i < units.length; i++) {
+			units[i] = new CompilationUnit(("class G" + i + " {\n   String name() { 'G" + i + "' }\n}\n").toCharArray(), "G" + i
+					+ ".groovy", null);
+		}
+		CompilerOptions options = new CompilerOptions(JavaCore.getOptions());
+		ProblemReporter problemReporter = new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options,
+				new DefaultProblemFactory());
+		MultiplexingParser parser = new MultiplexingParser(null, options, problemReporter, false);
+		CountingReadManager readManager = new CountingReadManager(units);
+		parser.readManager = readManager;
+		try {
+			for (ICompilationUnit unit : units) {
+				CompilationUnitDeclaration declaration = parser.dietParse(unit, new CompilationResult(unit, 0, units.length,
+						options.maxProblemsPerUnit));
+				assertNotNull(declaration);
+			}
+		} finally {
+			readManager.shutdown();
+		}
+		assertEquals("The Groovy units should have been read by the read manager", Arrays.asList(units), readManager.served);
+	}
+
 	public void testNPEAnno_1398() throws Exception {
 		IPath projectPath = env.addProject("Project", "1.5"); //$NON-NLS-1$ //$NON-NLS-2$
 		env.addExternalJars(projectPath, Util.getJavaClassLibs());
@@ -3752,6 +3884,101 @@ public class BasicGroovyBuildTests extends GroovierBuilderTests {
 		executeClass(projectPath, "Runner", "new name", "");
 	}
 
+	// within one build the kind of a trait is worked out once and shared by units that do and do not import groovy.transform.Trait
+	public void testTraitsAcrossUnits() throws Exception {
+		if (GroovyUtils.GROOVY_LEVEL < 23) {
+			return;
+		}
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.addGroovyJars(projectPath);
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addGroovyClass(root, "p", "Named",
+				"package p\n" +
+				"trait Named {\n" +
+				"    String name() { 'named' }\n" +
+				"}\n");
+
+		env.addGroovyClass(root, "p", "Greeter",
+				"package p\n" +
+				"trait Greeter {\n" +
+				"    String greet() { \"Hello, ${name()}\" }\n" +
+				"}\n");
+
+		env.addGroovyClass(root, "q", "DefaultNamed",
+				"package q;\n" +
+				"public class DefaultNamed {\n" +
+				"    protected String name() { 'default' }\n" +
+				"    protected String greet() { 'hi' }\n" +
+				"}\n");
+
+		env.addGroovyClass(root, "r", "A",
+				"package r;\n" +
+				"import p.*\n" +
+				"import q.DefaultNamed\n" +
+				"public class A extends DefaultNamed implements Named, Greeter {}\n");
+
+		env.addGroovyClass(root, "r", "B",
+				"package r;\n" +
+				"import groovy.transform.Trait\n" +
+				"import p.*\n" +
+				"import q.DefaultNamed\n" +
+				"public class B extends DefaultNamed implements Named, Greeter {}\n");
+
+		env.addGroovyClass(root, "r", "C",
+				"package r;\n" +
+				"import groovy.transform.*\n" +
+				"import p.*\n" +
+				"import q.DefaultNamed\n" +
+				"public class C extends DefaultNamed implements Named, Greeter {}\n");
+
+		env.addGroovyClass(root, "", "Runner",
+				"import r.*\n" +
+				"for (n in [new A(), new B(), new C()]) {\n" +
+				"    print n.name() + ' ' + n.greet() + ';'\n" +
+				"}\n");
+
+		incrementalBuild(projectPath);
+		expectingCompiledClassesV("p.Named", "p.Named$Trait$Helper", "p.Greeter", "p.Greeter$Trait$Helper", "q.DefaultNamed", "r.A",
+				"r.B", "r.C", "Runner");
+		expectingNoProblems();
+		executeClass(projectPath, "Runner", "named Hello, named;named Hello, named;named Hello, named;", "");
+
+		// rebuild one of the units, the cache does not outlive a build so the incremental build works the traits out again
+		env.addGroovyClass(root, "r", "B",
+				"package r;\n" +
+				"import groovy.transform.Trait\n" +
+				"import p.*\n" +
+				"import q.DefaultNamed\n" +
+				"public class B extends DefaultNamed implements Named, Greeter {\n" +
+				"    String name() { 'b' }\n" +
+				"}\n");
+
+		incrementalBuild(projectPath);
+		expectingCompiledClassesV("r.B", "Runner");
+		expectingNoProblems();
+		executeClass(projectPath, "Runner", "named Hello, named;b Hello, b;named Hello, named;", "");
+
+		env.addGroovyClass(root, "r", "B",
+				"package r;\n" +
+				"import groovy.transform.Trait\n" +
+				"import p.*\n" +
+				"import q.DefaultNamed\n" +
+				"public class B extends DefaultNamed implements Named, Greeter {}\n");
+
+		incrementalBuild(projectPath);
+		expectingCompiledClassesV("r.B", "Runner");
+		expectingNoProblems();
+		executeClass(projectPath, "Runner", "named Hello, named;named Hello, named;named Hello, named;", "");
+	}
+
 	public void testTraitGRE1776() throws Exception {
 		if (GroovyUtils.GROOVY_LEVEL < 23) {
 			return;
@@ -13,6 +13,7 @@ package org.eclipse.jdt.core.groovy.tests.locations;
 
 import groovy.lang.GroovyClassLoader;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -56,6 +57,26 @@ public class LocationSupportTests extends TestCase {
         assertEquals("Wrong offset found", 10, locations.findOffset(3, 3));
     }
     
+    public void testLineSeparators() throws Exception {
+        String content = "a\r\nb\rc\n\nd";
+        int[] expected = new int[] { 2, 4, 6, 7 };
+        assertTrue("Wrong line separators", Arrays.equals(expected, LocationSupport.findLineSeparators(content.toCharArray())));
+
+        SourceUnit sourceUnit = new SourceUnit("Foo", content, new CompilerConfiguration(), new GroovyClassLoader(), new ErrorCollector(new CompilerConfiguration()));
+        sourceUnit.parse();
+        LocationSupport locations = sourceUnit.getLocationSupport();
+        assertTrue("Wrong line separators from parser", Arrays.equals(expected, locations.getLineSeparatorPositions()));
+        assertEquals(content.length(), locations.getEnd());
+        assertEquals(5, locations.getEndLine());
+        assertEquals(1, locations.getEndColumn());
+        assertEquals(content.indexOf('b'), locations.findOffset(2, 1));
+        assertEquals(content.indexOf('d'), locations.findOffset(5, 1));
+        assertTrue(Arrays.equals(new int[] { 1, 3 }, locations.getRowCol(2)));
+        assertTrue(Arrays.equals(new int[] { 2, 1 }, locations.getRowCol(3)));
+        assertTrue(Arrays.equals(new int[] { 4, 1 }, locations.getRowCol(7)));
+        assertTrue(Arrays.equals(new int[] { 5, 1 }, locations.getRowCol(8)));
+    }
+
     public void testParserSourceLocationsBlock() throws Exception {
         String content = "def x = 7\n  x++\n  def y = []";
         SourceUnit sourceUnit = new SourceUnit("Foo", content, new CompilerConfiguration(), new GroovyClassLoader(), new ErrorCollector(new CompilerConfiguration()));
@@ -11,27 +11,36 @@
 
 package org.eclipse.jdt.core.groovy.tests.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 import junit.framework.Test;
 
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.GroovyParallelReconciler;
 import org.codehaus.jdt.groovy.model.ModuleNodeMapper;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.tests.util.Util;
 
@@ -203,6 +212,107 @@ public class GroovyCompilationUnitTests extends AbstractGroovyTypeRootTests {
         assertTrue("Multiple calls to getModuleNode should return the same object after a call to reconcile with no force problem detection", node1 == node2);
     }
     
+    public void testParallelReconcile() throws Exception {
+        IFile groovyFile = createSimpleGroovyProject();
+        // the first unit is much larger, so that without ordering the second would finish first
+        StringBuilder methods = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            methods.append("   def method" + i + "(List list) { list.collect { it.toString() + " + i + " }.findAll { it } }\n");
+        }
+        env.addGroovyClass(groovyFile.getParent().getFullPath().removeLastSegments(1), "p1", "Big",
+                "package p1;\n"+
+                "class Big {\n"+
+                methods +
+                "}\n");
+        env.addGroovyClass(groovyFile.getParent().getFullPath().removeLastSegments(1), "p1", "Other",
+                "package p1;\n"+
+                "class Other {\n"+
+                "   def hello = new Hello()\n"+
+                "}\n");
+
+        // problems and reconcile deltas of all working copies, in the order they are reported
+        final List<String> reported = Collections.synchronizedList(new ArrayList<String>());
+        WorkingCopyOwner owner = new WorkingCopyOwner() {
+            @Override
+            public IProblemRequestor getProblemRequestor(final ICompilationUnit workingCopy) {
+                return new IProblemRequestor() {
+                    public void acceptProblem(IProblem problem) {
+                    }
+                    public void beginReporting() {
+                    }
+                    public void endReporting() {
+                        reported.add("problems " + workingCopy.getElementName());
+                    }
+                    public boolean isActive() {
+                        return true;
+                    }
+                };
+            }
+        };
+        IElementChangedListener listener = new IElementChangedListener() {
+            public void elementChanged(ElementChangedEvent event) {
+                reported.add("delta " + event.getDelta().getElement().getElementName());
+            }
+        };
+
+        GroovyCompilationUnit unit1 = (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(getFile("Project/src/p1/Big.groovy")).getWorkingCopy(owner, null);
+        GroovyCompilationUnit unit2 = (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(getFile("Project/src/p1/Other.groovy")).getWorkingCopy(owner, null);
+        ModuleNode node1 = unit1.getModuleNode();
+        ModuleNode node2 = unit2.getModuleNode();
+        unit1.getBuffer().replace(unit1.getBuffer().getLength() - 2, 0, "   def added() {}\n");
+        unit2.getBuffer().replace(unit2.getBuffer().getLength() - 2, 0, "   def added() {}\n");
+        reported.clear();
+
+        boolean wasEnabled = GroovyParallelReconciler.isEnabled();
+        GroovyParallelReconciler.setEnabled(true);
+        JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_RECONCILE);
+        try {
+            GroovyParallelReconciler.reconcile(Arrays.asList(unit1, unit2), AST.JLS3, ICompilationUnit.FORCE_PROBLEM_DETECTION, owner, null);
+            assertTrue("Working copy should be consistent after parallel reconcile", unit1.isConsistent());
+            assertTrue("Working copy should be consistent after parallel reconcile", unit2.isConsistent());
+            assertTrue("Parallel reconcile should have created a new module node", node1 != unit1.getModuleNode());
+            assertTrue("Parallel reconcile should have created a new module node", node2 != unit2.getModuleNode());
+
+            assertEquals("Problems and deltas should be reported in the order of a sequential reconcile",
+                    Arrays.asList("problems Big.groovy", "delta Big.groovy", "problems Other.groovy", "delta Other.groovy"), reported);
+        } finally {
+            JavaCore.removeElementChangedListener(listener);
+            GroovyParallelReconciler.setEnabled(wasEnabled);
+            unit1.discardWorkingCopy();
+            unit2.discardWorkingCopy();
+        }
+    }
+
+    public void testReconcileTakesOtherWorkingCopiesAlong() throws Exception {
+        IFile groovyFile = createSimpleGroovyProject();
+        env.addGroovyClass(groovyFile.getParent().getFullPath().removeLastSegments(1), "p1", "Other",
+                "package p1;\n"+
+                "class Other {\n"+
+                "   def hello = new Hello()\n"+
+                "}\n");
+        GroovyCompilationUnit unit1 = (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(groovyFile);
+        GroovyCompilationUnit unit2 = (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(getFile("Project/src/p1/Other.groovy"));
+        unit1.becomeWorkingCopy(null);
+        unit2.becomeWorkingCopy(null);
+        ModuleNode node2 = unit2.getModuleNode();
+        // as a refactoring leaves them
+        unit1.getBuffer().append(" ");
+        unit2.getBuffer().append(" ");
+
+        boolean wasEnabled = GroovyParallelReconciler.isEnabled();
+        GroovyParallelReconciler.setEnabled(true);
+        try {
+            unit1.reconcile(ICompilationUnit.NO_AST, false, null, null);
+            assertTrue("Working copy should be consistent after reconcile", unit1.isConsistent());
+            assertTrue("Other working copy should have been reconciled along", unit2.isConsistent());
+            assertTrue("Other working copy should have a new module node", node2 != unit2.getModuleNode());
+        } finally {
+            GroovyParallelReconciler.setEnabled(wasEnabled);
+            unit1.discardWorkingCopy();
+            unit2.discardWorkingCopy();
+        }
+    }
+
     public void testGetNewModuleNode() throws Exception {
         IFile groovyFile = createSimpleGroovyProject();
         GroovyCompilationUnit unit1 = (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(groovyFile);
@@ -24,6 +24,8 @@ import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.jdt.core.tests.util.GroovyUtils;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
+import org.eclipse.jdt.groovy.search.TypeLookupStatistics;
+import org.eclipse.jdt.groovy.search.TypeLookupStatistics.LookupStatistics;
 
 /**
  * Lots of tests to see that expressions have the proper type associated with them
@@ -1878,6 +1880,95 @@ public class InferencingTests extends AbstractInferencingTest {
 		assertType(contents, start, end, "A");
 	}
 
+    public void testLookupStatistics() {
+        boolean wasEnabled = TypeLookupStatistics.isEnabled();
+        TypeLookupStatistics.setEnabled(true);
+        TypeLookupStatistics.getInstance().reset();
+        try {
+            String contents = "def x = 9\nx";
+            int start = contents.lastIndexOf("x");
+            assertType(contents, start, start + 1, "java.lang.Integer");
+
+            long calls = 0, wins = 0;
+            for (LookupStatistics stats : TypeLookupStatistics.getInstance().getAllStatistics()) {
+                calls += stats.getCalls();
+                wins += stats.getWins();
+                assertTrue("More wins than calls for " + stats.getLookupName(), stats.getWins() <= stats.getCalls());
+            }
+            assertTrue("Should have counted lookups", calls > 0);
+            assertTrue("Should have counted answers", wins > 0);
+            assertTrue(TypeLookupStatistics.getInstance().dump().contains("SimpleTypeLookup"));
+        } finally {
+            TypeLookupStatistics.setEnabled(wasEnabled);
+            TypeLookupStatistics.getInstance().reset();
+        }
+    }
+
+    public void testAdaptiveLookupsKeepTypes() {
+        boolean wasAdaptive = TypeInferencingVisitorWithRequestor.isAdaptiveLookups();
+        TypeInferencingVisitorWithRequestor.setAdaptiveLookups(true);
+        try {
+            StringBuilder sb = new StringBuilder("def list = []\n");
+            for (int i = 0; i < 50; i++) {
+                sb.append("def s").append(i).append(" = list.size().toString()\n");
+            }
+            sb.append("s49");
+            String contents = sb.toString();
+            int start = contents.lastIndexOf("s49");
+            assertType(contents, start, start + "s49".length(), "java.lang.String");
+            start = contents.lastIndexOf("toString");
+            assertType(contents, start, start + "toString".length(), "java.lang.String");
+        } finally {
+            TypeInferencingVisitorWithRequestor.setAdaptiveLookups(wasAdaptive);
+        }
+    }
+
+    public void testAdaptiveLookupsSkipLookupsThatCannotAnswer() {
+        boolean wasAdaptive = TypeInferencingVisitorWithRequestor.isAdaptiveLookups();
+        boolean wasEnabled = TypeLookupStatistics.isEnabled();
+        TypeInferencingVisitorWithRequestor.setAdaptiveLookups(true);
+        TypeLookupStatistics.setEnabled(true);
+        TypeLookupStatistics.getInstance().reset();
+        try {
+            String contents = "def x = new ArrayList()\n(Object) x";
+            int start = contents.lastIndexOf("x");
+            assertType(contents, start, start + 1, "java.util.ArrayList");
+
+            // the category lookup only answers for constants and variables
+            LookupStatistics category = null;
+            for (LookupStatistics stats : TypeLookupStatistics.getInstance().getAllStatistics()) {
+                if (stats.getLookupName().endsWith("CategoryTypeLookup")) {
+                    category = stats;
+                }
+            }
+            assertNotNull("Should have counted the category lookup", category);
+            assertTrue("Should have skipped the category lookup for the constructor call and the cast", category.getSkips() > 0);
+            assertTrue("Should still have asked the category lookup about the variables", category.getCalls() > 0);
+        } finally {
+            TypeInferencingVisitorWithRequestor.setAdaptiveLookups(wasAdaptive);
+            TypeLookupStatistics.setEnabled(wasEnabled);
+            TypeLookupStatistics.getInstance().reset();
+        }
+    }
+
+    // a lookup that has not answered for many expressions must still be asked about the next one
+    public void testAdaptiveLookupsAskLateContributors() {
+        boolean wasAdaptive = TypeInferencingVisitorWithRequestor.isAdaptiveLookups();
+        TypeInferencingVisitorWithRequestor.setAdaptiveLookups(true);
+        try {
+            StringBuilder sb = new StringBuilder("class Cat {\n  static Integer shout(String self) { 42 }\n}\n");
+            for (int i = 0; i < 50; i++) {
+                sb.append("def s").append(i).append(" = 'a").append(i).append("'.toUpperCase()\n");
+            }
+            sb.append("use (Cat) {\n  'x'.shout()\n}\n");
+            String contents = sb.toString();
+            int start = contents.lastIndexOf("shout");
+            assertType(contents, start, start + "shout".length(), "java.lang.Integer");
+        } finally {
+            TypeInferencingVisitorWithRequestor.setAdaptiveLookups(wasAdaptive);
+        }
+    }
+
     protected void assertNoUnknowns(String contents) {
         GroovyCompilationUnit unit = createUnit("Search", contents);
         
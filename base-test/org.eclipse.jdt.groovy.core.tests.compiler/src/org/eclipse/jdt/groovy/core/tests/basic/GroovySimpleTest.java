@@ -9656,6 +9656,48 @@ public class GroovySimpleTest extends AbstractGroovyRegressionTest {
 			},"success");
 	}
 
+	// the units of a build share what is known about the default packages, each must still resolve its own way
+	public void testImportsSharedAcrossUnits() {
+		try {
+		JDTResolver.recordInstances = true;
+		this.runConformTest(new String[] {
+				"p/First.groovy",
+				"package p;\n"+
+				"public class First {\n"+
+				"  public static void main(String[] argv) {\n"+
+				"    print new q.Second().describe(new File('a'), [1])\n"+
+				"    print new r.Third().describe(new File('b'), [2])\n"+
+				"  }\n"+
+				"  public Pattern getPattern() { return null;}\n"+
+				"}\n"+
+				"class Pattern {}\n",
+				"q/Second.groovy",
+				"package q;\n"+
+				"public class Second {\n"+
+				"  String describe(File file, List list) { file.name + list.size() }\n"+
+				"}\n",
+				"r/Third.groovy",
+				"package r;\n"+
+				"import java.util.regex.Pattern\n"+
+				"public class Third {\n"+
+				"  Pattern pattern = ~/x/\n"+
+				"  String describe(File file, Collection list) { file.name + list.size() + (pattern instanceof Pattern) }\n"+
+				"}\n",
+			},"a1b1true");
+
+		assertEquals("The units should have shared one table", 1, JDTResolver.getDefaultImportsTableCount());
+		assertEquals("", JDTResolver.getDefaultImportsEntry("java.lang.", "File"));
+		assertEquals("java.io.File", JDTResolver.getDefaultImportsEntry("java.io.", "File"));
+		assertEquals("java.util.List", JDTResolver.getDefaultImportsEntry("java.util.", "List"));
+		assertEquals("java.util.Collection", JDTResolver.getDefaultImportsEntry("java.util.", "Collection"));
+		// the type of the unit and the explicit import are found before the default packages are probed
+		assertNull(JDTResolver.getDefaultImportsEntry("java.lang.", "Pattern"));
+		} finally {
+			JDTResolver.instances.clear();
+			JDTResolver.recordInstances = false;
+		}
+	}
+
 	public void testImportsBigDecimal1() {
 		this.runConformTest(new String[] {
 				"p/First.groovy",
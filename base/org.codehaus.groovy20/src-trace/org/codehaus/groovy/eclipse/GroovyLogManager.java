@@ -22,7 +22,10 @@ import java.util.Map;
 
 /**
  * Manages the current {@link IGroovyLogger} instance.
- * This class is a singleton
+ * This class is a singleton.
+ * <p>
+ * Events are timed per thread with {@link System#nanoTime()}. Their durations
+ * are logged and, when enabled, collected in {@link GroovyMetrics}.
  * @author Andrew Eisenberg
  * @created Nov 24, 2010
  */
@@ -34,23 +37,32 @@ public class GroovyLogManager {
     private GroovyLogManager() {
         // uninstantiable
         defaultLogger = new DefaultGroovyLogger();
-        timers = new HashMap<String, Long>();
+        updateEnabled();
     }
     
-    private IGroovyLogger[] loggers = null;
+    private volatile IGroovyLogger[] loggers = null;
     
     // only use default logger if no others are registered
     private IGroovyLogger defaultLogger;
     
-    private Map<String, Long> timers;
+    // start times in nanoseconds of the events started by each thread, so that threads timing the same event do not collide
+    private final ThreadLocal<Map<String, Long>> timers = new ThreadLocal<Map<String, Long>>() {
+        @Override
+        protected Map<String, Long> initialValue() {
+            return new HashMap<String, Long>();
+        }
+    };
+
+    private volatile boolean useDefaultLogger;
 
-    private boolean useDefaultLogger;
+    // true when there are loggers or metrics are collected, all that logStart and logEnd check
+    private volatile boolean enabled;
     
     /**
      * @return true if logger was added.  False if not
      * if not added, then this means the exact logger is already in the list
      */
-    public boolean addLogger(IGroovyLogger logger) {
+    public synchronized boolean addLogger(IGroovyLogger logger) {
         int newIndex;
         if (loggers == null) {
             loggers = new IGroovyLogger[1];
@@ -69,6 +81,7 @@ public class GroovyLogManager {
             loggers = newLoggers;
         }
         loggers[newIndex] = logger;
+        updateEnabled();
         return true;
     }
     
@@ -77,7 +90,7 @@ public class GroovyLogManager {
      * @return true iff found and removed
      * false iff nothing found.
      */
-    public boolean removeLogger(IGroovyLogger logger) {
+    public synchronized boolean removeLogger(IGroovyLogger logger) {
         if (logger != null) {
             int foundIndex = -1;
             for (int i = 0; i < loggers.length; i++) {
@@ -96,6 +109,7 @@ public class GroovyLogManager {
                 } else {
                     loggers = null;
                 }
+                updateEnabled();
                 return true;
             }
         }
@@ -105,8 +119,17 @@ public class GroovyLogManager {
     }
     
     
+    /**
+     * Called whenever the loggers, the default logger or {@link GroovyMetrics} are turned on or off
+     */
+    synchronized void updateEnabled() {
+        enabled = hasLoggers() || GroovyMetrics.metrics.isEnabled();
+    }
+
     public void logStart(String event) {
-        timers.put(event, System.currentTimeMillis());
+        if (enabled) {
+            timers.get().put(event, System.nanoTime());
+        }
     }
     
     public void logEnd(String event, TraceCategory category) {
@@ -114,18 +137,21 @@ public class GroovyLogManager {
     }
     
     public void logEnd(String event, TraceCategory category, String message) {
-        Long then = timers.get(event);
+        if (!enabled) {
+            return;
+        }
+        Long then = timers.get().remove(event);
         if (then != null) {
+            long elapsedNanos = System.nanoTime() - then.longValue();
+            GroovyMetrics.metrics.record(category, elapsedNanos);
             if (hasLoggers()) {
-                long now = System.currentTimeMillis();
-                long elapsed = now - then.longValue();
+                long elapsed = elapsedNanos / 1000000;
                 if ((message != null) && (message.length() > 0)) {
                     log(category,"Event complete: "+elapsed + "ms: " + event + " (" + message + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
                 } else {
                     log(category,"Event complete: "+elapsed + "ms: " + event); //$NON-NLS-1$ //$NON-NLS-2$
                 }
             }
-            timers.remove(event);
         }
     }
 
@@ -138,8 +164,9 @@ public class GroovyLogManager {
             return;
         }
         
-        if (loggers != null) {
-            for (IGroovyLogger logger : loggers) {
+        IGroovyLogger[] current = loggers;
+        if (current != null) {
+            for (IGroovyLogger logger : current) {
                 if (logger.isCategoryEnabled(category)) {
                     logger.log(category, message);
                 }
@@ -167,6 +194,7 @@ public class GroovyLogManager {
      */
     public void setUseDefaultLogger(boolean useDefaultLogger) {
         this.useDefaultLogger = useDefaultLogger;
+        updateEnabled();
     }
     
     public void logException(TraceCategory cat, Throwable t) {
@@ -125,6 +125,7 @@ public class ErrorRecoveredCSTParserPlugin extends AntlrParserPlugin {
 		super.ast = parser.getAST();
 		
 	    sourceUnit.setComments(parser.getComments());
+	    sourceUnit.setLocationSupport(locations);
 		reportCST(sourceUnit, parser);
 	}
 
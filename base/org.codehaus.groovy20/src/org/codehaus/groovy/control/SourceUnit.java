@@ -32,6 +32,7 @@ import java.security.PrivilegedAction;
 import java.util.List;
 
 import org.codehaus.groovy.GroovyBugError;
+import org.codehaus.groovy.antlr.LocationSupport;
 import org.codehaus.groovy.ast.Comment;
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.control.io.FileReaderSource;
@@ -58,8 +59,9 @@ import org.codehaus.groovy.tools.Utilities;
 public class SourceUnit extends ProcessingUnit {
 
 
-    // GRECLIPSE: new field
+    // GRECLIPSE: new fields
     private List<Comment> comments;
+    private LocationSupport locationSupport;
    
 	/**
      * The pluggable parser used to generate the AST - we allow
@@ -403,5 +405,16 @@ public class SourceUnit extends ProcessingUnit {
 	public void setComments(List<Comment> comments) {
 		this.comments = comments;
 	}
+
+    /**
+     * @return the line table built while parsing this source, or null if it has not been parsed
+     */
+    public LocationSupport getLocationSupport() {
+        return locationSupport;
+    }
+
+    public void setLocationSupport(LocationSupport locationSupport) {
+        this.locationSupport = locationSupport;
+    }
     // end
 }
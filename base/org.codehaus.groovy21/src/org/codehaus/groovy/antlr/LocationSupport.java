@@ -15,14 +15,13 @@
  */
 package org.codehaus.groovy.antlr;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
 /**
  * @author Andrew Eisenberg
  * @created Jun 4, 2009
- * 
+ *
  * Maps Line/Columns to offsets in a text file.  Assumes that '\n' is the newline delimiter.
  * The newline character is included as the last char on the current line.
  * Both columns and lines are 1 based
@@ -35,107 +34,171 @@ import java.util.List;
  * <li> "a\nb" -> [0,2], [2,1]
  * <li> "a\nbc\n" -> [0,2], [2,3], [5,0]
  * </ul>
+ *
+ * The line table is held as a primitive array of line separator positions in the same form as JDT's
+ * <code>CompilationResult.lineSeparatorPositions</code> (the offset of the last character of each line
+ * terminator, ie- the '\n' of a "\r\n"), so that it can be computed once per source and shared with JDT.
  */
 public class LocationSupport {
-	
+
 	private static final int[] NO_LINE_ENDINGS = new int[0];
 
 	public static final LocationSupport NO_LOCATIONS = new LocationSupport();
-	
-    private final int[] lineEndings;
-    
-    // not used
+
+    /**
+     * offset of the last character of each line terminator, in ascending order
+     */
+    private final int[] lineSeparators;
+
+    /**
+     * length of the document, or -1 if this location support is not populated
+     */
+    private final int end;
+
     public LocationSupport(char[] contents) {
     	if (contents != null) {
-    		lineEndings = processLineEndings(contents);
+    		lineSeparators = findLineSeparators(contents);
+    		end = contents.length;
     	} else {
-    		lineEndings = NO_LINE_ENDINGS;
+    		lineSeparators = NO_LINE_ENDINGS;
+    		end = -1;
     	}
     }
-    
+
     public LocationSupport(List<StringBuffer> lines) {
     	if (lines != null) {
-    		lineEndings = processLineEndings(lines);
+    		// the last line is terminated by the end of the document
+    		lineSeparators = lines.size() > 1 ? new int[lines.size() - 1] : NO_LINE_ENDINGS;
+    		int total = 0;
+    		int current = 0;
+    		for (StringBuffer line : lines) {
+    			total += line.length();
+    			if (current < lineSeparators.length) {
+    				lineSeparators[current++] = total - 1;
+    			}
+    		}
+    		end = total;
     	} else {
-    		lineEndings = NO_LINE_ENDINGS;
+    		lineSeparators = NO_LINE_ENDINGS;
+    		end = -1;
     	}
     }
 
+    /**
+     * @param lineEndings offsets of the start of each line, with the end of the document as the last element
+     */
     public LocationSupport(int[] lineEndings) {
-    	this.lineEndings = lineEndings;
+    	if (lineEndings != null && lineEndings.length > 0) {
+    		int count = lineEndings.length - 2;
+    		lineSeparators = count > 0 ? new int[count] : NO_LINE_ENDINGS;
+    		for (int i = 0; i < count; i++) {
+    			lineSeparators[i] = lineEndings[i + 1] - 1;
+    		}
+    		end = lineEndings[lineEndings.length - 1];
+    	} else {
+    		lineSeparators = NO_LINE_ENDINGS;
+    		end = -1;
+    	}
     }
-    
-    public LocationSupport() {
-        lineEndings = NO_LINE_ENDINGS;
+
+    /**
+     * @param lineSeparators line separator positions in JDT form, this array is not copied
+     * @param end length of the document
+     */
+    public LocationSupport(int[] lineSeparators, int end) {
+    	this.lineSeparators = lineSeparators;
+    	this.end = end;
     }
-    
-    private int[] processLineEndings(List<StringBuffer> lines) {
-        int[] newLineEndings = new int[lines.size()+1];  // last index stores end of file
-        int total = 0;
-        int current = 1;
-        for (StringBuffer line : lines) {
-        	newLineEndings[current++] = total += (line.length());
-        }
-        return newLineEndings;
+
+    public LocationSupport() {
+        lineSeparators = NO_LINE_ENDINGS;
+        end = -1;
     }
-    
-    
-    private int[] processLineEndings(char[] contents) {
-        List<Integer> l = new ArrayList<Integer>();
-        for (int i = 0; i < contents.length; i++) {
-        	
-            if (contents[i] == '\n') {
-                l.add(i);
-            } else if (contents[i] == '\r') {
-            	l.add(i);
-            	if (i < contents.length && contents[i] == '\n') {
-            		i++;
-            	}
+
+    /**
+     * Scans the contents for line separators in a single pass without boxing.  A "\r\n" pair is a single separator
+     * recorded at the position of the '\n'.
+     */
+    public static int[] findLineSeparators(char[] contents) {
+        int[] separators = new int[Math.max(16, contents.length >> 5)];
+        int count = 0;
+        for (int i = 0, max = contents.length; i < max; i++) {
+            char c = contents[i];
+            if (c == '\r') {
+                if (i + 1 < max && contents[i + 1] == '\n') {
+                    i++;
+                }
+            } else if (c != '\n') {
+                continue;
+            }
+            if (count == separators.length) {
+                System.arraycopy(separators, 0, separators = new int[count * 2], 0, count);
             }
+            separators[count++] = i;
         }
-        
-        int[] newLineEndings = new int[l.size()];
-        int i = 0;
-        for (Integer integer : l) {
-        	newLineEndings[i] = integer.intValue();
+        if (count == 0) {
+            return NO_LINE_ENDINGS;
+        }
+        if (count < separators.length) {
+            System.arraycopy(separators, 0, separators = new int[count], 0, count);
+        }
+        return separators;
+    }
+
+    /**
+     * @return the shared line separator table, in the form used by JDT's <code>CompilationResult</code>.
+     * Callers must not modify the array.
+     */
+    public int[] getLineSeparatorPositions() {
+        return lineSeparators;
+    }
+
+    private int lineStart(int row) {
+        // rows are 1 based; the row after the last separator starts at the end of the document
+        if (row == 1) {
+            return 0;
         }
-        return newLineEndings;
+        return row - 2 < lineSeparators.length ? lineSeparators[row - 2] + 1 : end;
     }
 
     // TODO maybe should throw exception if out of bounds?
     public int findOffset(int row, int col) {
-        return row <= lineEndings.length && row > 0 ? lineEndings[row-1] + col-1 : 0;
+        return row <= lineSeparators.length + 2 && row > 0 && isPopulated() ? lineStart(row) + col-1 : 0;
     }
     public int getEnd() {
-        return lineEndings.length > 0 ? 
-                lineEndings[lineEndings.length-1] :
-                0;
+        return isPopulated() ? end : 0;
     }
     public int getEndColumn() {
-        if (lineEndings.length > 1) {
-            return lineEndings[lineEndings.length-1] - lineEndings[lineEndings.length-2];
-        } else if (lineEndings.length > 0) {
-            return lineEndings[0];
-        } else {
+        if (!isPopulated()) {
             return 0;
         }
+        return end - lineStart(lineSeparators.length + 1);
     }
     public int getEndLine() {
-        return lineEndings.length > 0 ?
-                lineEndings.length-1 : 0;  // last index contains length of document
+        return isPopulated() ?
+                lineSeparators.length + 1 : 0;
     }
-    
+
     public int[] getRowCol(int offset) {
-        for (int i = 1; i < lineEndings.length; i++) {
-            if (lineEndings[i] > offset) {
-                return new int[] { i, offset - lineEndings[i-1] +1};
+        if (isPopulated() && offset < end) {
+            // binary search for the first line that starts after the offset
+            int low = 0, high = lineSeparators.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (lineSeparators[mid] + 1 > offset) {
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
             }
+            int row = low + 1;
+            return new int[] { row, offset - lineStart(row) + 1 };
         }
         // after end of document
         throw new RuntimeException("Location is after end of document.  Offset : " + offset);
     }
-    
+
     public boolean isPopulated() {
-        return lineEndings.length > 0;
+        return end >= 0;
     }
 }
@@ -149,8 +149,9 @@ public class AntlrParserPlugin extends ASTHelper implements ParserPlugin, Groovy
         catch (TokenStreamException e) {
             sourceUnit.addException(e);
         }
-        // GRECLIPSE: extra line
+        // GRECLIPSE: extra lines
         configureLocationSupport(sourceBuffer);
+        sourceUnit.setLocationSupport(locations);
 
         ast = parser.getAST();
     }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects the durations of the events timed with {@link GroovyLogManager#logStart(String)} and
+ * {@link GroovyLogManager#logEnd(String, TraceCategory)}, one histogram per {@link TraceCategory}. Recording is lock free, so
+ * it can stay on while many threads build, reconcile and code select at the same time.
+ * <p>
+ * Metrics are off unless -Dgreclipse.metrics=true is set or {@link #setEnabled(boolean)} is called. Read the results with
+ * {@link #dump()}.
+ */
+public class GroovyMetrics {
+
+    /**
+     * Durations in nanoseconds, bucketed by powers of two
+     */
+    public static final class Histogram {
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            buckets.incrementAndGet(BUCKETS - 1 - Long.numberOfLeadingZeros(nanos | 1));
+            count.incrementAndGet();
+            total.addAndGet(nanos);
+            long oldMax;
+            while (nanos > (oldMax = max.get()) && !max.compareAndSet(oldMax, nanos)) {
+                // retry
+            }
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTotalNanos() {
+            return total.get();
+        }
+
+        public long getMaxNanos() {
+            return max.get();
+        }
+
+        /**
+         * @return an upper bound of the duration that the given fraction of the events took at most, within a factor of two
+         */
+        public long getPercentileNanos(double fraction) {
+            long n = count.get();
+            if (n == 0) {
+                return 0;
+            }
+            long wanted = (long) Math.ceil(n * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= wanted) {
+                    long bound = i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                    return Math.min(bound, max.get());
+                }
+            }
+            return max.get();
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            total.set(0);
+            max.set(0);
+        }
+    }
+
+    public static final GroovyMetrics metrics = new GroovyMetrics();
+
+    private volatile boolean enabled = Boolean.getBoolean("greclipse.metrics");
+
+    private final Histogram[] histograms;
+
+    private GroovyMetrics() {
+        TraceCategory[] categories = TraceCategory.values();
+        histograms = new Histogram[categories.length];
+        for (int i = 0; i < categories.length; i++) {
+            histograms[i] = new Histogram();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        GroovyLogManager.manager.updateEnabled();
+    }
+
+    public void record(TraceCategory category, long nanos) {
+        if (enabled && category != null) {
+            histograms[category.ordinal()].record(nanos);
+        }
+    }
+
+    public Histogram getHistogram(TraceCategory category) {
+        return histograms[category.ordinal()];
+    }
+
+    public void reset() {
+        for (Histogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * @return one line per category with events: count, mean, 50th, 90th and 99th percentile and maximum in milliseconds
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (TraceCategory category : TraceCategory.values()) {
+            Histogram histogram = getHistogram(category);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+            sb.append(category.getPaddedLabel()).append(": ").append(count).append(" events, mean ")
+                    .append(millis(histogram.getTotalNanos() / count)).append(", p50 <= ")
+                    .append(millis(histogram.getPercentileNanos(0.5))).append(", p90 <= ")
+                    .append(millis(histogram.getPercentileNanos(0.9))).append(", p99 <= ")
+                    .append(millis(histogram.getPercentileNanos(0.99))).append(", max ")
+                    .append(millis(histogram.getMaxNanos())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3fms", nanos / 1000000.0); //$NON-NLS-1$
+    }
+}
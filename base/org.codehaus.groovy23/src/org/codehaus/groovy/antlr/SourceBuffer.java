@@ -15,9 +15,6 @@
  */
 package org.codehaus.groovy.antlr;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * A simple buffer that provides line/col access to chunks of source code
  * held within itself.
@@ -26,25 +23,39 @@ import java.util.List;
  * @version $Revision$
  */
 public class SourceBuffer {
-    private final List<StringBuilder> lines; //GRECLIPSE: type was List (raw)
-    private StringBuilder current; //GRECLIPSE: type was StringBuffer
     // GRECLIPSE: start
-    private final List<Integer> lineEndings;
+    /*{
+    private final List lines;
+    private StringBuffer current;
+    }*/
+    // newcode: hold the text once, with primitive tables of line starts (in buffer
+    // coordinates) and line separators (in source coordinates, see LocationSupport)
+    private final StringBuilder text;
+    private int[] lineStarts;
+    private int lineCount;
+    private int[] lineSeparators;
+    private int separatorCount;
 
     // GRECLIPSE-805 Support for unicode escape sequences
     private UnicodeEscapingReader unescaper;
     // end
 
     public SourceBuffer() {
-        lines = new ArrayList<StringBuilder>();
-        //lines.add(new StringBuffer()); // dummy row for position [0] in the List
         // GRECLIPSE: start
-        lineEndings = new ArrayList<Integer>();
-        lineEndings.add(0);
+        /*{
+        lines = new ArrayList();
+        //lines.add(new StringBuffer()); // dummy row for position [0] in the List
+
+        current = new StringBuffer();
+        lines.add(current);
+        }*/
+        // newcode:
+        text = new StringBuilder();
+        lineStarts = new int[64];
+        lineCount = 1; // first line starts at 0
+        lineSeparators = new int[64];
         unescaper = new NoEscaper();
         // end
-        current = new StringBuilder();
-        lines.add(current);
     }
 
     /**
@@ -57,7 +68,7 @@ public class SourceBuffer {
         // preconditions
         if (start == null || end == null) { return null; } // no text to return
         if (start.equals(end)) { return null; } // no text to return
-        if (lines.size() == 1 && current.length() == 0) { return null; } // buffer hasn't been filled yet
+        if (lineCount == 1 && text.length() == 0) { return null; } // buffer hasn't been filled yet
 
         // working variables
         int startLine = start.getLine();
@@ -70,34 +81,41 @@ public class SourceBuffer {
         if (endLine < 1) { endLine = 1;}
         if (startColumn < 1) { startColumn = 1;}
         if (endColumn < 1) { endColumn = 1;}
-        if (startLine > lines.size()) { startLine = lines.size(); }
-        if (endLine > lines.size()) { endLine = lines.size(); }
+        if (startLine > lineCount) { startLine = lineCount; }
+        if (endLine > lineCount) { endLine = lineCount; }
 
         // obtain the snippet from the buffer within specified bounds
-        StringBuffer snippet = new StringBuffer();
+        StringBuilder snippet = new StringBuilder();
         for (int i = startLine - 1; i < endLine;i++) {
-            String line = (lines.get(i)).toString();
+            // GRECLIPSE: lines are slices of the shared text rather than separate buffers
+            int lineStart = lineStarts[i];
+            int lineEnd = (i + 1 < lineCount) ? lineStarts[i + 1] : text.length();
+            int length = lineEnd - lineStart;
+            int from = 0, to = length;
             if (startLine == endLine) {
                 // reset any out of bounds requests (again)
-                if (startColumn > line.length()) { startColumn = line.length();}
+                if (startColumn > length) { startColumn = length;}
                 if (startColumn < 1) { startColumn = 1;}
-                if (endColumn > line.length()) { endColumn = line.length() + 1;}
+                if (endColumn > length) { endColumn = length + 1;}
                 if (endColumn < 1) { endColumn = 1;}
 
-                line = line.substring(startColumn - 1, endColumn - 1);
+                from = startColumn - 1;
+                to = endColumn - 1;
             } else {
                 if (i == startLine - 1) {
-                    if (startColumn - 1 < line.length()) {
-                        line = line.substring(startColumn - 1);
+                    if (startColumn - 1 < length) {
+                        from = startColumn - 1;
                     }
                 }
                 if (i == endLine - 1) {
-                    if (endColumn - 1 < line.length()) {
-                        line = line.substring(0,endColumn - 1);
+                    if (endColumn - 1 < length) {
+                        to = endColumn - 1;
                     }
                 }
             }
-            snippet.append(line);
+            if (from < to) {
+                snippet.append(text, lineStart + from, lineStart + to);
+            }
         }
         return snippet.toString();
     }
@@ -125,45 +143,61 @@ public class SourceBuffer {
     
     private boolean prevWasCarriageReturn = false;
     private int col = 0;
-    // FIXASC tidy this up, looks slow
     public void write(int c) {
         if (c != -1) {
         	col++;
-            current.append((char)c);
+            text.append((char)c);
         }
         if (c == '\n') {
         	if (!prevWasCarriageReturn) {
-	            current = new StringBuilder();
-	            lines.add(current);
-	            lineEndings.add(col + unescaper.getUnescapedUnicodeOffsetCount());
+        		addLine();
         	} else {
         		// \r\n was found
-        		// back out previous line and add a \n to the line
-        		current = new StringBuilder();
-        		lines.get(lines.size()-1).append('\n');
-        		lineEndings.remove(lineEndings.size()-1);
-        		lineEndings.add(col + unescaper.getUnescapedUnicodeOffsetCount());
+        		// the line started by the \r actually starts after the \n
+        		lineStarts[lineCount - 1] = text.length();
+        		lineSeparators[separatorCount - 1] = sourceOffset() - 1;
         	}
         }
         // handle carriage returns as well as newlines
         if (c == '\r') {
-        	current = new StringBuilder();
-        	lines.add(current);
-        	lineEndings.add(col + unescaper.getUnescapedUnicodeOffsetCount());
+        	addLine();
         	// this may be a \r\n, but may not be
         	prevWasCarriageReturn = true;
         } else {
         	prevWasCarriageReturn = false;
         }
     }
-    
-    public LocationSupport getLocationSupport() {
-    	lineEndings.add(col + unescaper.getUnescapedUnicodeOffsetCount()); // last line ends where the data runs out
-    	int[] lineEndingsArray = new int[lineEndings.size()];
-    	for (int i=0,max=lineEndings.size();i<max;i++) {
-    		lineEndingsArray[i] = lineEndings.get(i).intValue();
+
+    /**
+     * @return offset in the original source of the next character to be written
+     */
+    private int sourceOffset() {
+    	return col + unescaper.getUnescapedUnicodeOffsetCount();
+    }
+
+    private void addLine() {
+    	if (lineCount == lineStarts.length) {
+    		int[] newLineStarts = new int[lineCount * 2];
+    		System.arraycopy(lineStarts, 0, newLineStarts, 0, lineCount);
+    		lineStarts = newLineStarts;
+    	}
+    	lineStarts[lineCount++] = text.length();
+    	if (separatorCount == lineSeparators.length) {
+    		int[] newLineSeparators = new int[separatorCount * 2];
+    		System.arraycopy(lineSeparators, 0, newLineSeparators, 0, separatorCount);
+    		lineSeparators = newLineSeparators;
     	}
-    	return new LocationSupport(lineEndingsArray);
+    	lineSeparators[separatorCount++] = sourceOffset() - 1;
+    }
+
+    /**
+     * The returned location support owns a trimmed copy of the line separator table, which
+     * is shared with JDT as the compilation result's line separator positions.
+     */
+    public LocationSupport getLocationSupport() {
+    	int[] separators = new int[separatorCount];
+    	System.arraycopy(lineSeparators, 0, separators, 0, separatorCount);
+    	return new LocationSupport(separators, sourceOffset()); // last line ends where the data runs out
     }
     // end
 }
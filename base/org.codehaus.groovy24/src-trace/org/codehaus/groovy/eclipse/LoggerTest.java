@@ -104,4 +104,29 @@ public class LoggerTest extends TestCase {
 
     }
 
+    public void testMetricsAreRecordedPerThread() throws Exception {
+        GroovyMetrics.metrics.reset();
+        GroovyMetrics.metrics.setEnabled(true);
+        try {
+            // metrics are not loggers
+            assertFalse(GroovyLogManager.manager.hasLoggers());
+            Thread other = new Thread() {
+                @Override
+                public void run() {
+                    GroovyLogManager.manager.logStart("event");
+                    GroovyLogManager.manager.logEnd("event", TraceCategory.CODESELECT);
+                }
+            };
+            // the same event is timed by two threads at once
+            GroovyLogManager.manager.logStart("event");
+            other.start();
+            other.join();
+            GroovyLogManager.manager.logEnd("event", TraceCategory.CODESELECT);
+            assertEquals(2, GroovyMetrics.metrics.getHistogram(TraceCategory.CODESELECT).getCount());
+            assertTrue(GroovyMetrics.metrics.dump().contains("2 events"));
+        } finally {
+            GroovyMetrics.metrics.setEnabled(false);
+            GroovyMetrics.metrics.reset();
+        }
+    }
 }
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.codehaus.jdt.groovy.integration.internal;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchDocument;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
+import org.eclipse.jdt.internal.compiler.ISourceElementRequestor;
+import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.search.IndexQueryRequestor;
+import org.eclipse.jdt.internal.core.search.PatternSearchJob;
+import org.eclipse.jdt.internal.core.search.indexing.AbstractIndexer;
+import org.eclipse.jdt.internal.core.search.indexing.SourceIndexerRequestor;
+import org.eclipse.jdt.internal.core.search.processing.IJob;
+
+/**
+ * Facts about Groovy types that are recorded in the Java index while Groovy files are indexed, so that they can be answered without
+ * parsing the files: which types are scripts and which types have a static main method. The facts have their own index category,
+ * {@link #FACT}, so that they do not show up as references to types. Each entry is the fact's prefix followed by the name of the
+ * type without its package. Queries only read the index, they return the paths of the documents and the names of their types that
+ * have the fact.
+ * <p>
+ * Files indexed before these facts were recorded have neither fact. Callers can recognize them because they still declare a
+ * <code>main</code> method, see {@link #findDocumentsDeclaringMain(IJavaSearchScope, IProgressMonitor)}.
+ */
+@SuppressWarnings("restriction")
+public class GroovyIndexFacts {
+
+	public static final char[] FACT = "groovyFact".toCharArray();
+
+	public static final String SCRIPT_PREFIX = "script/";
+
+	public static final String STATIC_MAIN_PREFIX = "main/";
+
+	// the indexing requestor does not expose the document that is being indexed
+	private static final FieldAccessor INDEXER = ReflectionUtils.getFieldAccessor(SourceIndexerRequestor.class, "indexer");
+
+	private static final FieldAccessor DOCUMENT = ReflectionUtils.getFieldAccessor(AbstractIndexer.class, "document");
+
+	/**
+	 * An index record of a fact, or a query for all entries of a fact
+	 */
+	static final class FactPattern extends SearchPattern {
+		private final char[] prefix;
+		private char[] key;
+
+		FactPattern(String prefix) {
+			super(R_PREFIX_MATCH | R_CASE_SENSITIVE);
+			this.prefix = prefix == null ? null : prefix.toCharArray();
+		}
+
+		@Override
+		public char[][] getIndexCategories() {
+			return new char[][] { FACT };
+		}
+
+		@Override
+		public char[] getIndexKey() {
+			return prefix;
+		}
+
+		@Override
+		public SearchPattern getBlankPattern() {
+			return new FactPattern(null);
+		}
+
+		@Override
+		public void decodeIndexKey(char[] indexKey) {
+			key = indexKey;
+		}
+
+		@Override
+		public boolean matchesDecodedKey(SearchPattern decodedPattern) {
+			char[] decoded = ((FactPattern) decodedPattern).key;
+			return decoded.length > prefix.length && CharOperation.prefixEquals(prefix, decoded);
+		}
+
+		/**
+		 * @return the name of the type of a decoded record, without the fact's prefix
+		 */
+		String getTypeName(int prefixLength) {
+			return String.valueOf(key, prefixLength, key.length - prefixLength);
+		}
+	}
+
+	private GroovyIndexFacts() {
+		// static only
+	}
+
+	/**
+	 * @return the document that the requestor indexes, or null if it is not an indexing requestor
+	 */
+	static SearchDocument getIndexedDocument(ISourceElementRequestor requestor) {
+		if (!(requestor instanceof SourceIndexerRequestor)) {
+			return null;
+		}
+		Object indexer = INDEXER.get(requestor);
+		return indexer == null ? null : (SearchDocument) DOCUMENT.get(indexer);
+	}
+
+	/**
+	 * Records the facts about the type in the document that is being indexed
+	 */
+	static void record(ClassNode node, SearchDocument document) {
+		if (node.isScript()) {
+			document.addIndexEntry(FACT, (SCRIPT_PREFIX + node.getNameWithoutPackage()).toCharArray());
+		}
+		if (hasStaticMain(node)) {
+			document.addIndexEntry(FACT, (STATIC_MAIN_PREFIX + node.getNameWithoutPackage()).toCharArray());
+		}
+	}
+
+	/**
+	 * @return true if the type declares a static main method that can be launched, with the same rules as Groovy's verifier: a
+	 *         single parameter that is a String array or is untyped, and a void or Object return type
+	 */
+	static boolean hasStaticMain(ClassNode node) {
+		for (MethodNode method : (Iterable<MethodNode>) node.getDeclaredMethods("main")) {
+			if (!method.isStatic()) {
+				continue;
+			}
+			Parameter[] params = method.getParameters();
+			if (params == null || params.length != 1) {
+				continue;
+			}
+			ClassNode paramType = params[0].getType();
+			boolean validParam = paramType == null || paramType.getName().equals(ClassHelper.OBJECT)
+					|| (paramType.isArray() && paramType.getComponentType().getName().equals("java.lang.String"));
+			ClassNode returnType = method.getReturnType();
+			boolean validReturn = returnType == null || returnType.getName().equals("void")
+					|| returnType.getName().equals(ClassHelper.OBJECT);
+			if (validParam && validReturn) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return document path -> names (without package) of the scripts in the document
+	 */
+	public static Map<String, Set<String>> findScripts(IJavaSearchScope scope, IProgressMonitor monitor) {
+		return findFact(SCRIPT_PREFIX, scope, monitor);
+	}
+
+	/**
+	 * @return document path -> names (without package) of the types of the document with a static main method
+	 */
+	public static Map<String, Set<String>> findTypesWithStaticMain(IJavaSearchScope scope, IProgressMonitor monitor) {
+		return findFact(STATIC_MAIN_PREFIX, scope, monitor);
+	}
+
+	/**
+	 * @return the paths of the documents, Java or Groovy, that declare a method named <code>main</code>
+	 */
+	public static Set<String> findDocumentsDeclaringMain(IJavaSearchScope scope, IProgressMonitor monitor) {
+		final Set<String> paths = new TreeSet<String>();
+		SearchPattern pattern = SearchPattern.createPattern("main", IJavaSearchConstants.METHOD, IJavaSearchConstants.DECLARATIONS,
+				SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		query(pattern, scope, new IndexQueryRequestor() {
+			@Override
+			public boolean acceptIndexMatch(String documentPath, SearchPattern indexRecord, SearchParticipant participant,
+					AccessRuleSet access) {
+				paths.add(documentPath);
+				return true;
+			}
+		}, monitor);
+		return paths;
+	}
+
+	private static Map<String, Set<String>> findFact(final String prefix, IJavaSearchScope scope, IProgressMonitor monitor) {
+		final Map<String, Set<String>> facts = new TreeMap<String, Set<String>>();
+		query(new FactPattern(prefix), scope, new IndexQueryRequestor() {
+			@Override
+			public boolean acceptIndexMatch(String documentPath, SearchPattern indexRecord, SearchParticipant participant,
+					AccessRuleSet access) {
+				Set<String> names = facts.get(documentPath);
+				if (names == null) {
+					names = new HashSet<String>();
+					facts.put(documentPath, names);
+				}
+				names.add(((FactPattern) indexRecord).getTypeName(prefix.length()));
+				return true;
+			}
+		}, monitor);
+		return facts;
+	}
+
+	private static void query(SearchPattern pattern, IJavaSearchScope scope, IndexQueryRequestor requestor, IProgressMonitor monitor) {
+		PatternSearchJob job = new PatternSearchJob(pattern, SearchEngine.getDefaultSearchParticipant(), scope, requestor);
+		JavaModelManager.getIndexManager().performConcurrentJob(job, IJob.WaitUntilReady, monitor);
+	}
+}
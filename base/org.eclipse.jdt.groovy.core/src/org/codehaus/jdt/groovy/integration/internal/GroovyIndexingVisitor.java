@@ -37,6 +37,7 @@ import org.codehaus.groovy.ast.stmt.Statement;
 import org.codehaus.groovy.control.SourceUnit;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.search.SearchDocument;
 import org.eclipse.jdt.groovy.core.Activator;
 import org.eclipse.jdt.internal.compiler.ISourceElementRequestor;
 import org.eclipse.jdt.internal.compiler.ast.ImportReference;
@@ -52,11 +53,15 @@ public class GroovyIndexingVisitor extends ClassCodeVisitorSupport {
 
 	private ISourceElementRequestor requestor;
 
+	// where the facts of GroovyIndexFacts go, null if the requestor is not indexing
+	private SearchDocument indexedDocument;
+
 	// used for GRECLIPSE-741, remove when issue is solved
 	private ModuleNode module;
 
 	public GroovyIndexingVisitor(ISourceElementRequestor requestor) {
 		this.requestor = requestor;
+		this.indexedDocument = GroovyIndexFacts.getIndexedDocument(requestor);
 	}
 
 	// not used
@@ -192,6 +197,9 @@ public class GroovyIndexingVisitor extends ClassCodeVisitorSupport {
 	public void visitClass(ClassNode node) {
 		if (!node.isSynthetic()) {
 			handleType(node, false, false);
+			if (indexedDocument != null) {
+				GroovyIndexFacts.record(node, indexedDocument);
+			}
 			handleType(node.getSuperClass(), false, true);
 			for (ClassNode impls : node.getInterfaces()) {
 				handleType(impls, false, true);
@@ -41,7 +41,6 @@ import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.groovy.core.util.ContentTypeUtils;
-import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.groovy.search.ITypeRequestor;
 import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
@@ -150,9 +149,6 @@ public class GroovyLanguageSupport implements LanguageSupport {
 			JDTResolver resolver = new JDTResolver(groovyCU);
 			groovyCU.setResolveVisitor(resolver);
 
-			// TODO groovy get this from the Antlr parser
-			compilationResult.lineSeparatorPositions = GroovyUtils.getSourceLineSeparatorsIn(unit.getContents());
-
 			groovyCU.addSource(groovySourceUnit);
 			GroovyCompilationUnitDeclaration gcuDeclaration = new GroovyCompilationUnitDeclaration(problemReporter,
 					compilationResult, sourceLength, groovyCU, groovySourceUnit, null);
@@ -47,7 +47,10 @@ public class MultiplexingParser extends Parser {
 			if (groovyParser == null) {
 				groovyParser = new GroovyParser(this.requestor, this.compilerOptions, this.problemReporter, true, false);
 			}
-			return groovyParser.dietParse(sourceUnit, compilationResult);
+			// when the compiler reads ahead on other threads, take the contents from there like the Java parser does, otherwise
+			// the read ahead stalls on the Groovy files that are never collected
+			char[] contents = this.readManager != null ? this.readManager.getContents(sourceUnit) : null;
+			return groovyParser.dietParse(contents, sourceUnit, compilationResult);
 		} else {
 			return super.dietParse(sourceUnit, compilationResult);
 		}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.codehaus.jdt.groovy.internal.compiler.ast;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.lookup.ImportBinding;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+
+/**
+ * What the groovy units built with one {@link LookupEnvironment} know about the packages every groovy unit imports: the default
+ * import bindings, which are the same for every unit, and for each default package which simple names were found in it.
+ * <p>
+ * The name environment cannot list the types of a package, so the table is filled as names are resolved: the first unit to look
+ * for <code>List</code> probes each default package and records where it was found, or that it was not, and the units after it
+ * probe the table instead. Only binary types are recorded, source types are still resolved by each unit. The table hangs off
+ * the environment and is dropped when the environment is reset at the end of a compile, so it never outlives the classpath it
+ * was built from.
+ */
+final class DefaultImportsTable {
+
+	/**
+	 * The qualified name a simple name stands for in a default package, and its binding, or null if there is no such type. The
+	 * qualified name is recorded as a reference of every unit that probes it, found or not, so incremental builds still see
+	 * the dependency.
+	 */
+	static final class Entry {
+		final char[][] compoundName;
+		final ReferenceBinding binding;
+
+		Entry(char[][] compoundName, ReferenceBinding binding) {
+			this.compoundName = compoundName;
+			this.binding = binding;
+		}
+	}
+
+	private ImportBinding[] defaultImports;
+
+	// package prefix, like 'java.util.' -> simple name -> entry
+	private final Map<String, Map<String, Entry>> packages = new HashMap<String, Map<String, Entry>>();
+
+	/**
+	 * @return the table of the environment, created on first use
+	 */
+	static DefaultImportsTable getTable(LookupEnvironment environment) {
+		synchronized (environment) {
+			if (!(environment.groovyDefaultImportsTable instanceof DefaultImportsTable)) {
+				environment.groovyDefaultImportsTable = new DefaultImportsTable();
+			}
+			return (DefaultImportsTable) environment.groovyDefaultImportsTable;
+		}
+	}
+
+	/**
+	 * @return the default import bindings of groovy units, or null if they have not been built yet
+	 */
+	synchronized ImportBinding[] getDefaultImports() {
+		return defaultImports;
+	}
+
+	synchronized void setDefaultImports(ImportBinding[] defaultImports) {
+		this.defaultImports = defaultImports;
+	}
+
+	/**
+	 * @return what is known about the simple name in the package, or null if it has not been looked for yet
+	 */
+	synchronized Entry lookup(String packagePrefix, String simpleName) {
+		Map<String, Entry> names = packages.get(packagePrefix);
+		return names == null ? null : names.get(simpleName);
+	}
+
+	/**
+	 * Records that the simple name is the binary type in the package
+	 */
+	synchronized void recordFound(String packagePrefix, String simpleName, ReferenceBinding binding) {
+		record(packagePrefix, simpleName, new Entry(binding.compoundName, binding));
+	}
+
+	/**
+	 * Records that there is no type with the simple name in the package
+	 */
+	synchronized void recordNotFound(String packagePrefix, String simpleName, char[][] compoundName) {
+		record(packagePrefix, simpleName, new Entry(compoundName, null));
+	}
+
+	private void record(String packagePrefix, String simpleName, Entry entry) {
+		Map<String, Entry> names = packages.get(packagePrefix);
+		if (names == null) {
+			names = new HashMap<String, Entry>();
+			packages.put(packagePrefix, names);
+		}
+		names.put(simpleName, entry);
+	}
+}
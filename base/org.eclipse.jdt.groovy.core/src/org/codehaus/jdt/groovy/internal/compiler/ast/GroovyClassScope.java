@@ -22,11 +22,13 @@ import java.util.Set;
 
 import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.ast.PropertyNode;
+import org.codehaus.groovy.control.ResolveVisitor;
 import org.codehaus.groovy.runtime.MetaClassHelper;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.internal.compiler.ast.AbstractMethodDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.Argument;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.lookup.AnnotationBinding;
@@ -192,15 +194,7 @@ public class GroovyClassScope extends ClassScope {
 		Map<String, MethodBinding> methodsMap = new HashMap<String, MethodBinding>();
 		for (ReferenceBinding i : superInterfaces) {
 			if (traitHelper.isTrait(i)) {
-				ReferenceBinding helperBinding = getHelperBinding(i);
-				for (MethodBinding method : i.availableMethods()) {
-					if (method.isPrivate() || method.isStatic()) {
-						continue;
-					}
-					if (isNotActuallyAbstract(method, helperBinding)) {
-						methodsMap.put(getMethodAsString(method), method);
-					}
-				}
+				methodsMap.putAll(getImplementedTraitMethods(i));
 			}
 		}
 		if (!methodsMap.isEmpty()) {
@@ -248,7 +242,58 @@ public class GroovyClassScope extends ClassScope {
 		return key.toString();
 	}
 
+	/**
+	 * The non-private, non-static methods of the trait that have an implementation, keyed by {@link #getMethodAsString}. Worked out
+	 * once per trait for each build.
+	 */
+	private Map<String, MethodBinding> getImplementedTraitMethods(ReferenceBinding trait) {
+		TraitBindingCache cache = getTraitBindingCache();
+		Map<String, MethodBinding> methods = cache == null ? null : cache.getImplementedMethods(trait);
+		if (methods == null) {
+			methods = new HashMap<String, MethodBinding>();
+			ReferenceBinding helperBinding = getHelperBinding(trait);
+			for (MethodBinding method : trait.availableMethods()) {
+				if (method.isPrivate() || method.isStatic()) {
+					continue;
+				}
+				if (isNotActuallyAbstract(method, helperBinding)) {
+					methods.put(getMethodAsString(method), method);
+				}
+			}
+			if (cache != null) {
+				cache.putImplementedMethods(trait, methods);
+			}
+		}
+		return methods;
+	}
+
+	/**
+	 * @return the trait cache of the resolver for this build, or null if not compiling through a {@link JDTResolver}
+	 */
+	private TraitBindingCache getTraitBindingCache() {
+		CompilationUnitDeclaration unit = compilationUnitScope().referenceContext;
+		if (unit instanceof GroovyCompilationUnitDeclaration) {
+			ResolveVisitor resolver = ((GroovyCompilationUnitDeclaration) unit).getCompilationUnit().getResolveVisitor();
+			if (resolver instanceof JDTResolver) {
+				return ((JDTResolver) resolver).getTraitBindingCache();
+			}
+		}
+		return null;
+	}
+
 	private ReferenceBinding getHelperBinding(ReferenceBinding interfaceBinding) {
+		TraitBindingCache cache = getTraitBindingCache();
+		if (cache != null && cache.hasHelper(interfaceBinding)) {
+			return cache.getHelper(interfaceBinding);
+		}
+		ReferenceBinding helperBinding = findHelperBinding(interfaceBinding);
+		if (cache != null) {
+			cache.putHelper(interfaceBinding, helperBinding);
+		}
+		return helperBinding;
+	}
+
+	private ReferenceBinding findHelperBinding(ReferenceBinding interfaceBinding) {
 		if (interfaceBinding instanceof BinaryTypeBinding) {
 			StringBuilder nameBuilder = new StringBuilder();
 			nameBuilder.append(interfaceBinding.sourceName);
@@ -589,7 +634,7 @@ public class GroovyClassScope extends ClassScope {
 						lookForTraitAlias = true;
 					}
 				}
-				toBeInitialized = true;
+				toBeInitialized = false;
 			}
 		}
 
@@ -600,19 +645,32 @@ public class GroovyClassScope extends ClassScope {
 			if (toBeInitialized) {
 				initialize();
 			}
+			TraitBindingCache cache = getTraitBindingCache();
+			Integer kind = cache == null ? null : cache.getTraitKind(referenceBinding);
+			if (kind == null) {
+				kind = getTraitKind(referenceBinding);
+				if (cache != null) {
+					cache.putTraitKind(referenceBinding, kind);
+				}
+			}
+			return kind == TraitBindingCache.TRAIT || (lookForTraitAlias && kind == TraitBindingCache.TRAIT_ALIAS);
+		}
+
+		private int getTraitKind(ReferenceBinding referenceBinding) {
+			int kind = TraitBindingCache.NOT_TRAIT;
 			AnnotationBinding[] annotations = referenceBinding.getAnnotations();
 			if (annotations != null) {
 				for (AnnotationBinding annotation : annotations) {
 					String annotationName = CharOperation.toString(annotation.getAnnotationType().compoundName);
 					if ("groovy.transform.Trait".equals(annotationName)) {
-						return true;
+						return TraitBindingCache.TRAIT;
 					}
-					if (lookForTraitAlias && "Trait".equals(annotationName)) {
-						return true;
+					if ("Trait".equals(annotationName)) {
+						kind = TraitBindingCache.TRAIT_ALIAS;
 					}
 				}
 			}
-			return false;
+			return kind;
 		}
 	}
 }
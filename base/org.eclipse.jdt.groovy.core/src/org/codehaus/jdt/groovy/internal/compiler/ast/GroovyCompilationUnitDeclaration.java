@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.codehaus.groovy.GroovyBugError;
+import org.codehaus.groovy.antlr.LocationSupport;
 import org.codehaus.groovy.ast.AnnotationNode;
 import org.codehaus.groovy.ast.ClassHelper;
 import org.codehaus.groovy.ast.ClassNode;
@@ -65,6 +66,7 @@ import org.codehaus.groovy.tools.GroovyClass;
 import org.codehaus.jdt.groovy.control.EclipseSourceUnit;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.groovy.core.GroovyProblemIds;
 import org.eclipse.jdt.internal.compiler.ASTVisitor;
 import org.eclipse.jdt.internal.compiler.ClassFile;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
@@ -108,6 +110,7 @@ import org.eclipse.jdt.internal.compiler.lookup.MethodScope;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
@@ -151,6 +154,10 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
 		this.groovySourceUnit = groovySourceUnit;
 		this.compilerOptions = compilerOptions;
 		this.checkGenerics = defaultCheckGenerics;
+		if (groovySourceUnit != null && groovySourceUnit.getErrorCollector() instanceof GroovyErrorCollectorForJDT) {
+			// no point keeping more errors than can be reported against this unit
+			((GroovyErrorCollectorForJDT) groovySourceUnit.getErrorCollector()).setErrorLimit(compilationResult.maxProblemPerUnit);
+		}
 	}
 
 	/**
@@ -202,6 +209,7 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
 				groovyCompilationUnit.compile(phase);
 			} finally {
 				Thread.currentThread().setContextClassLoader(cl);
+				recordLineSeparatorPositions();
 			}
 			if (groovySourceUnit.getErrorCollector().hasErrors()) {
 				recordProblems(groovySourceUnit.getErrorCollector().getErrors());
@@ -262,6 +270,24 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
 		return false;
 	}
 
+	/**
+	 * Share the line table built by the groovy parser with JDT so that the source is only scanned once. Only if the parser did not
+	 * read the whole source (eg- a fatal lexing error) is the source scanned here.
+	 */
+	private void recordLineSeparatorPositions() {
+		if (compilationResult.lineSeparatorPositions != null) {
+			return;
+		}
+		LocationSupport locations = groovySourceUnit.getLocationSupport();
+		if (locations != null && locations.isPopulated() && locations.getEnd() == sourceEnd + 1) {
+			compilationResult.lineSeparatorPositions = locations.getLineSeparatorPositions();
+		} else {
+			char[] contents = compilationResult.compilationUnit == null ? null : compilationResult.compilationUnit.getContents();
+			compilationResult.lineSeparatorPositions = LocationSupport.findLineSeparators(contents == null ? CharOperation.NO_CHAR
+					: contents);
+		}
+	}
+
 	private void fixGroovyRuntimeException(MultipleCompilationErrorsException problems) {
 		List<?> errors = problems.getErrorCollector().getErrors();
 		List<ExceptionMessage> toBeFixed = new ArrayList<ExceptionMessage>();
@@ -1867,127 +1893,150 @@ public class GroovyCompilationUnitDeclaration extends CompilationUnitDeclaration
 		// against the wrong type. That is the only case I have seen of it, so I'm not putting in the general mechanism for all
 		// errors yet, I'm just dealing with RuntimeParserExceptions. The general strategy would be to compare the ModuleNode
 		// for each message with the ModuleNode currently being processed - if they differ then this isn't a message for this
-		// unit and so we ignore it. If we do deal with it then we remember that we did (in errorsRecorded) and remove it from
-		// the list of those to process.
-
-		List errorsRecorded = new ArrayList();
+		// unit and so we ignore it. If we do deal with it then we remember that we did (by removing it from the list of those to
+		// process).
+
+		// Messages are converted one at a time and removed as they are recorded. Once JDT has as many errors as it will report
+		// for this unit the remaining messages are discarded without being converted.
+		int maxProblems = compilationResult.maxProblemPerUnit;
+		char[] filename = getFileName();
+		DefaultProblemFactory problemFactory = new DefaultProblemFactory();
 		// FIXASC poor way to get the errors attached to the files
 		// FIXASC does groovy ever produce warnings? How are they treated here?
 		for (Iterator<?> iterator = errors.iterator(); iterator.hasNext();) {
-			SyntaxException syntaxException = null;
 			Message message = (Message) iterator.next();
-			StringWriter sw = new StringWriter();
-			message.write(new PrintWriter(sw));
-			String msg = sw.toString();
-			CategorizedProblem p = null;
-			int line = 0;
-			int sev = 0;
-			int scol = 0;
-			int ecol = 0;
-			// LocatedMessage instances are produced sometimes, e.g. by grails ast transforms, use the context for position
-			if (message instanceof LocatedMessage) {
-				CSTNode context = ((LocatedMessage) message).getContext();
-				if (context instanceof Token) {
-					line = context.getStartLine();
-					scol = context.getStartColumn();
-					String text = ((Token) context).getText();
-					ecol = scol + (text == null ? 1 : (text.length() - 1));
-				}
+			if (maxProblems > 0 && compilationResult.numberOfErrors >= maxProblems) {
+				iterator.remove();
+				continue;
 			}
-			if (message instanceof SimpleMessage) {
-				SimpleMessage simpleMessage = (SimpleMessage) message;
-				sev |= ProblemSeverities.Error;
-				String simpleText = simpleMessage.getMessage();
-				if (simpleText.length() > 1 && simpleText.charAt(0) == '\n') {
-					simpleText = simpleText.substring(1);
-				}
-				msg = "Groovy:" + simpleText;
-				if (msg.indexOf("\n") != -1) {
-					msg = msg.substring(0, msg.indexOf("\n"));
-				}
+			CategorizedProblem p = createProblem(message, filename, problemFactory);
+			if (p != null) {
+				this.problemReporter.record(p, compilationResult, this, false);
+				iterator.remove();
+				System.err.println(new String(compilationResult.getFileName()) + ": " + p.getSourceLineNumber() + " "
+						+ p.getMessage());
 			}
-			if (message instanceof SyntaxErrorMessage) {
-				SyntaxErrorMessage errorMessage = (SyntaxErrorMessage) message;
-				syntaxException = errorMessage.getCause();
-				sev |= ProblemSeverities.Error;
-				// FIXASC in the short term, prefixed groovy to indicate
-				// where it came from
-				String actualMessage = syntaxException.getMessage();
-				if (actualMessage.length() > 1 && actualMessage.charAt(0) == '\n') {
-					actualMessage = actualMessage.substring(1);
-				}
-				msg = "Groovy:" + actualMessage;
-				if (msg.indexOf("\n") != -1) {
-					msg = msg.substring(0, msg.indexOf("\n"));
-				}
-				line = syntaxException.getLine();
-				scol = errorMessage.getCause().getStartColumn();
-				ecol = errorMessage.getCause().getEndColumn() - 1;
-			}
-			int soffset = -1;
-			int eoffset = -1;
-			if (message instanceof ExceptionMessage) {
-				ExceptionMessage em = (ExceptionMessage) message;
-				sev |= ProblemSeverities.Error;
-				if (em.getCause() instanceof RuntimeParserException) {
-					RuntimeParserException rpe = (RuntimeParserException) em.getCause();
-					sev |= ProblemSeverities.Error;
-					msg = "Groovy:" + rpe.getMessage();
-					if (msg.indexOf("\n") != -1) {
-						msg = msg.substring(0, msg.indexOf("\n"));
-					}
-					ModuleNode errorModuleNode = rpe.getModule();
-					ModuleNode thisModuleNode = this.getModuleNode();
-					if (!errorModuleNode.equals(thisModuleNode)) {
-						continue;
-					}
-					soffset = rpe.getNode().getStart();
-					eoffset = rpe.getNode().getEnd() - 1;
-					// need to work out the line again as it may be wrong
-					line = 0;
-					while (compilationResult.lineSeparatorPositions[line] < soffset
-							&& line < compilationResult.lineSeparatorPositions.length) {
-						line++;
-					}
+		}
+	}
 
-					line++; // from an array index to a real 'line number'
+	/**
+	 * Converts a groovy error message into a JDT problem.
+	 *
+	 * @return the problem or null if the message is not for this compilation unit
+	 */
+	private CategorizedProblem createProblem(Message message, char[] filename, DefaultProblemFactory problemFactory) {
+		SyntaxException syntaxException = null;
+		String msg = null;
+		int line = 0;
+		int sev = 0;
+		int scol = 0;
+		int ecol = 0;
+		// LocatedMessage instances are produced sometimes, e.g. by grails ast transforms, use the context for position
+		if (message instanceof LocatedMessage) {
+			CSTNode context = ((LocatedMessage) message).getContext();
+			if (context instanceof Token) {
+				line = context.getStartLine();
+				scol = context.getStartColumn();
+				String text = ((Token) context).getText();
+				ecol = scol + (text == null ? 1 : (text.length() - 1));
+			}
+		}
+		if (message instanceof SimpleMessage) {
+			SimpleMessage simpleMessage = (SimpleMessage) message;
+			sev |= ProblemSeverities.Error;
+			String simpleText = simpleMessage.getMessage();
+			if (simpleText.length() > 1 && simpleText.charAt(0) == '\n') {
+				simpleText = simpleText.substring(1);
+			}
+			msg = firstLine("Groovy:" + simpleText);
+		}
+		if (message instanceof SyntaxErrorMessage) {
+			SyntaxErrorMessage errorMessage = (SyntaxErrorMessage) message;
+			syntaxException = errorMessage.getCause();
+			sev |= ProblemSeverities.Error;
+			// FIXASC in the short term, prefixed groovy to indicate
+			// where it came from
+			String actualMessage = syntaxException.getMessage();
+			if (actualMessage.length() > 1 && actualMessage.charAt(0) == '\n') {
+				actualMessage = actualMessage.substring(1);
+			}
+			msg = firstLine("Groovy:" + actualMessage);
+			line = syntaxException.getLine();
+			scol = errorMessage.getCause().getStartColumn();
+			ecol = errorMessage.getCause().getEndColumn() - 1;
+		}
+		int soffset = -1;
+		int eoffset = -1;
+		if (message instanceof ExceptionMessage) {
+			ExceptionMessage em = (ExceptionMessage) message;
+			sev |= ProblemSeverities.Error;
+			if (em.getCause() instanceof RuntimeParserException) {
+				RuntimeParserException rpe = (RuntimeParserException) em.getCause();
+				msg = firstLine("Groovy:" + rpe.getMessage());
+				ModuleNode errorModuleNode = rpe.getModule();
+				ModuleNode thisModuleNode = this.getModuleNode();
+				if (!errorModuleNode.equals(thisModuleNode)) {
+					return null;
 				}
-			}
-			if (syntaxException instanceof PreciseSyntaxException) {
-				soffset = ((PreciseSyntaxException) syntaxException).getStartOffset();
-				eoffset = ((PreciseSyntaxException) syntaxException).getEndOffset();
+				soffset = rpe.getNode().getStart();
+				eoffset = rpe.getNode().getEnd() - 1;
 				// need to work out the line again as it may be wrong
-				line = 0;
-				while (line < compilationResult.lineSeparatorPositions.length
-						&& compilationResult.lineSeparatorPositions[line] < soffset) {
-					line++;
-				}
-				;
-				line++; // from an array index to a real 'line number'
-			} else {
-				if (soffset == -1) {
-					soffset = getOffset(compilationResult.lineSeparatorPositions, line, scol);
-				}
-				if (eoffset == -1) {
-					eoffset = getOffset(compilationResult.lineSeparatorPositions, line, ecol);
-				}
+				line = getLine(soffset);
 			}
-			if (soffset > eoffset) {
-				eoffset = soffset;
+		}
+		if (syntaxException instanceof PreciseSyntaxException) {
+			soffset = ((PreciseSyntaxException) syntaxException).getStartOffset();
+			eoffset = ((PreciseSyntaxException) syntaxException).getEndOffset();
+			// need to work out the line again as it may be wrong
+			line = getLine(soffset);
+		} else {
+			if (soffset == -1) {
+				soffset = getOffset(compilationResult.lineSeparatorPositions, line, scol);
 			}
-			if (soffset > sourceEnd) {
-				soffset = sourceEnd;
-				eoffset = sourceEnd;
+			if (eoffset == -1) {
+				eoffset = getOffset(compilationResult.lineSeparatorPositions, line, ecol);
 			}
+		}
+		if (soffset > eoffset) {
+			eoffset = soffset;
+		}
+		if (soffset > sourceEnd) {
+			soffset = sourceEnd;
+			eoffset = sourceEnd;
+		}
+		if (msg == null) {
+			// only messages without a more specific text need the (expensive) full rendering
+			StringWriter sw = new StringWriter();
+			message.write(new PrintWriter(sw));
+			msg = sw.toString();
+		}
 
-			char[] filename = getFileName();
-			p = new DefaultProblemFactory().createProblem(filename, 0, new String[] { msg }, 0, new String[] { msg }, sev, soffset,
-					eoffset, line, scol);
-			this.problemReporter.record(p, compilationResult, this, false);
-			errorsRecorded.add(message);
-			System.err.println(new String(compilationResult.getFileName()) + ": " + line + " " + msg);
+		// the factory would look up a message template by id, so format the message as before and only set the id
+		return new DefaultProblem(filename, problemFactory.getLocalizedMessage(GroovyProblemIds.GROOVY_PROBLEM, new String[] { msg }),
+				GroovyProblemIds.getProblemId(msg), new String[] { msg }, sev, soffset, eoffset, line, scol);
+	}
+
+	private static String firstLine(String msg) {
+		int newline = msg.indexOf('\n');
+		return newline != -1 ? msg.substring(0, newline) : msg;
+	}
+
+	/**
+	 * @return the 1 based line containing the offset, found by binary search of the line separator positions
+	 */
+	private int getLine(int offset) {
+		int[] lineSeparatorPositions = compilationResult.lineSeparatorPositions;
+		int low = 0, high = lineSeparatorPositions.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (lineSeparatorPositions[mid] < offset) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
 		}
-		errors.removeAll(errorsRecorded);
+		// the number of separators before the offset is the line index
+		return low + 1;
 	}
 
 	private int getOffset(int[] lineSeparatorPositions, int line, int col) {
@@ -18,6 +18,7 @@ import java.util.Map;
 import java.util.StringTokenizer;
 
 import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.ResolveVisitor;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.ast.ImportReference;
@@ -54,6 +55,8 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
 
 	private Map<String, ClassNode> typenameToClassNodeCache = new HashMap<String, ClassNode>();
 
+	private Boolean inDefaultImportPackage;
+
 	private static final char[][] javaLang;
 	// Matches ResolveVisitor - these are the additional automatic imports for groovy files
 	private static final char[][] javaIo;
@@ -94,8 +97,43 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
 		}
 	}
 
+	/**
+	 * The default imports do not depend on the unit, so they are built once and shared by the groovy units of the environment.
+	 * This includes the extra imports, whose file name suffixes are not checked, see {@link #buildDefaultImports()}.
+	 */
 	@Override
 	protected ImportBinding[] getDefaultImports() {
+		DefaultImportsTable table = getDefaultImportsTable();
+		ImportBinding[] importBindings = table.getDefaultImports();
+		if (importBindings == null) {
+			importBindings = buildDefaultImports();
+			table.setDefaultImports(importBindings);
+		}
+		return importBindings;
+	}
+
+	DefaultImportsTable getDefaultImportsTable() {
+		return DefaultImportsTable.getTable(environment);
+	}
+
+	/**
+	 * @return true if this unit is declared in one of the packages groovy imports by default, so it can see types of that package
+	 *         that units elsewhere cannot
+	 */
+	boolean isInDefaultImportPackage() {
+		if (inDefaultImportPackage == null) {
+			String packagePrefix = CharOperation.toString(currentPackageName) + '.';
+			inDefaultImportPackage = Boolean.FALSE;
+			for (String defaultImport : ResolveVisitor.DEFAULT_IMPORTS) {
+				if (defaultImport.equals(packagePrefix)) {
+					inDefaultImportPackage = Boolean.TRUE;
+				}
+			}
+		}
+		return inDefaultImportPackage.booleanValue();
+	}
+
+	private ImportBinding[] buildDefaultImports() {
 		ImportBinding[] defaultImports = super.getDefaultImports(); // picks up 'java.lang'
 
 		List<ImportBinding> importBindings = new ArrayList<ImportBinding>();
@@ -131,27 +169,16 @@ public class GroovyCompilationUnitScope extends CompilationUnitScope {
 		// TODO need to refactor (code is copied in JDTResolver)
 		if (extraImports != null) {
 			try {
-				String filename = new String(this.referenceContext.getFileName());
 				// may be something to do
 				StringTokenizer st = new StringTokenizer(extraImports, ";");
 				// Form would be 'com.foo.*,com.bar.MyType;.gradle=com.this.*,com.foo.Type"
-				// If there is no qualifying suffix it applies to all types
+				// The qualifying suffix is skipped and the imports apply to all types, as they always have here and in
+				// JDTResolver. That keeps the default imports the same for every unit, so they can be shared.
 
 				while (st.hasMoreTokens()) {
 					String onesuffix = st.nextToken();
 					int equals = onesuffix.indexOf('=');
-					boolean shouldApply = false;
-					String imports = null;
-					if (equals == -1) {
-						// definetly applies
-						shouldApply = true;
-						imports = onesuffix;
-					} else {
-						// need to check the suffix
-						String suffix = onesuffix.substring(0, equals);
-						shouldApply = filename.endsWith(suffix);
-						imports = onesuffix.substring(equals + 1);
-					}
+					String imports = equals == -1 ? onesuffix : onesuffix.substring(equals + 1);
 					StringTokenizer st2 = new StringTokenizer(imports, ",");
 					while (st2.hasMoreTokens()) {
 						String nextElement = st2.nextToken();
@@ -25,12 +25,31 @@ import org.codehaus.groovy.control.messages.SimpleMessage;
  */
 public class GroovyErrorCollectorForJDT extends ErrorCollector {
 
+	/**
+	 * Number of errors kept for conversion into JDT problems, any further errors are dropped
+	 */
+	private int errorLimit = Integer.MAX_VALUE;
+
 	public GroovyErrorCollectorForJDT(CompilerConfiguration configuration) {
 		super(configuration);
 	}
 
+	/**
+	 * Stop keeping errors once this many are pending. JDT only reports <code>maxProblemsPerUnit</code> problems per unit so keeping
+	 * the rest (and the source units they reference) around is a waste when a unit has thousands of unresolved types.
+	 *
+	 * @param errorLimit the maximum number of pending errors, or 0 for no limit
+	 */
+	public void setErrorLimit(int errorLimit) {
+		this.errorLimit = errorLimit > 0 ? errorLimit : Integer.MAX_VALUE;
+	}
+
 	@Override
 	public void addErrorAndContinue(Message message) {
+		if (getErrorCount() >= errorLimit) {
+			// hasErrors() is still true as the errors list is not empty
+			return;
+		}
 		// System.err.println(message);
 		// FIXASC SimpleMessage can be an error, it just isn't a syntax error - should be recorded with appropriate priority.
 		// Look at creators of SimpleMessage - are they all errors?
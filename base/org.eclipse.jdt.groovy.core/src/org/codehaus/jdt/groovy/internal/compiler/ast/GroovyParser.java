@@ -46,7 +46,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.util.CompilerUtils;
-import org.eclipse.jdt.groovy.core.util.GroovyUtils;
 import org.eclipse.jdt.groovy.core.util.ScriptFolderSelector;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
@@ -221,24 +220,27 @@ public class GroovyParser {
 			if (projectName == null) {
 				// throw new IllegalStateException("Cannot build without knowing project name");
 			} else {
-				PathLoaderPair pathAndLoader = projectToLoaderCache.get(projectName);
-				if (pathAndLoader == null) {
-					if (GroovyLogManager.manager.hasLoggers()) {
-						GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM,
-								"Classpath for GroovyClassLoader (used to discover transforms): " + path);
-					}
-					pathAndLoader = new PathLoaderPair(path);
-					projectToLoaderCache.put(projectName, pathAndLoader);
-				} else {
-					if (!path.equals(pathAndLoader.classpath)) {
-						// classpath change detected
-						// System.out.println("Classpath change detected for " + projectName);
+				// parsers for the same project may be created concurrently, eg- when reconciling in parallel
+				synchronized (projectToLoaderCache) {
+					PathLoaderPair pathAndLoader = projectToLoaderCache.get(projectName);
+					if (pathAndLoader == null) {
+						if (GroovyLogManager.manager.hasLoggers()) {
+							GroovyLogManager.manager.log(TraceCategory.AST_TRANSFORM,
+									"Classpath for GroovyClassLoader (used to discover transforms): " + path);
+						}
 						pathAndLoader = new PathLoaderPair(path);
 						projectToLoaderCache.put(projectName, pathAndLoader);
+					} else {
+						if (!path.equals(pathAndLoader.classpath)) {
+							// classpath change detected
+							// System.out.println("Classpath change detected for " + projectName);
+							pathAndLoader = new PathLoaderPair(path);
+							projectToLoaderCache.put(projectName, pathAndLoader);
+						}
 					}
+					// System.out.println("Using loader with path " + pathAndLoader.classpath);
+					gcl = pathAndLoader.groovyClassLoader;
 				}
-				// System.out.println("Using loader with path " + pathAndLoader.classpath);
-				gcl = pathAndLoader.groovyClassLoader;
 			}
 		}
 		return gcl;
@@ -405,7 +407,16 @@ public class GroovyParser {
 	 * Call the groovy parser to drive the first few phases of
 	 */
 	public CompilationUnitDeclaration dietParse(ICompilationUnit sourceUnit, CompilationResult compilationResult) {
-		char[] sourceCode = sourceUnit.getContents();
+		return dietParse(null, sourceUnit, compilationResult);
+	}
+
+	/**
+	 * Like {@link #dietParse(ICompilationUnit, CompilationResult)}, for contents that have already been read
+	 *
+	 * @param contents the contents of the source unit, or null to read them from the source unit
+	 */
+	public CompilationUnitDeclaration dietParse(char[] contents, ICompilationUnit sourceUnit, CompilationResult compilationResult) {
+		char[] sourceCode = contents != null ? contents : sourceUnit.getContents();
 		if (sourceCode == null) {
 			sourceCode = CharOperation.NO_CHAR; // pretend empty from thereon
 		}
@@ -443,8 +454,8 @@ public class GroovyParser {
 		groovySourceUnit.isReconcile = isReconcile;
 		GroovyCompilationUnitDeclaration gcuDeclaration = new GroovyCompilationUnitDeclaration(problemReporter, compilationResult,
 				sourceCode.length, groovyCompilationUnit, groovySourceUnit, compilerOptions);
-		// FIXASC get this from the Antlr parser
-		compilationResult.lineSeparatorPositions = GroovyUtils.getSourceLineSeparatorsIn(sourceCode);
+		// line separator positions are shared from the Antlr parser when the unit is processed
+		compilationResult.lineSeparatorPositions = null;
 		groovyCompilationUnit.addSource(groovySourceUnit);
 
 		// Check if it is worth plugging in a callback listener for parse/generation
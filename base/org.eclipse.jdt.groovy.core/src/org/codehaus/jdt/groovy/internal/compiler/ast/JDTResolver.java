@@ -32,6 +32,7 @@ import org.codehaus.groovy.control.SourceUnit;
 import org.codehaus.jdt.groovy.internal.compiler.ast.GroovyParser.GrapeAwareGroovyClassLoader;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ast.TypeDeclaration;
+import org.eclipse.jdt.internal.compiler.lookup.BinaryTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.Binding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 
@@ -104,33 +105,77 @@ public class JDTResolver extends ResolveVisitor {
 	// Cache from bindings to JDTClassNodes to avoid unnecessary JDTClassNode creation
 	private Map<Binding, JDTClassNode> nodeCache = Collections.synchronizedMap(new WeakHashMap<Binding, JDTClassNode>());
 
+	// What is known about traits referenced from the units being resolved
+	private final TraitBindingCache traitBindingCache = new TraitBindingCache();
+
+	// The default imports table probed by this resolver, only kept when instances are recorded
+	private DefaultImportsTable recordedDefaultImportsTable;
+
 	public JDTResolver(CompilationUnit groovyCompilationUnit) {
 		super(groovyCompilationUnit);
 		if (recordInstances) {
-			if (instances == null) {
-				instances = new ArrayList<JDTResolver>();
+			// resolvers can be created on several threads at once when reconciling in parallel
+			synchronized (JDTResolver.class) {
+				if (instances == null) {
+					instances = new ArrayList<JDTResolver>();
+				}
+				instances.add(this);
 			}
-			instances.add(this);
 		}
 	}
 
 	public static JDTClassNode getCachedNode(JDTResolver instance, String name) {
-		for (Map.Entry<Binding, JDTClassNode> nodeFromCache : instance.nodeCache.entrySet()) {
-			String nodename = new String(nodeFromCache.getKey().readableName());
-			if (nodename.equals(name)) {
-				return nodeFromCache.getValue();
+		// iteration over a synchronized map must hold its lock
+		synchronized (instance.nodeCache) {
+			for (Map.Entry<Binding, JDTClassNode> nodeFromCache : instance.nodeCache.entrySet()) {
+				String nodename = new String(nodeFromCache.getKey().readableName());
+				if (nodename.equals(name)) {
+					return nodeFromCache.getValue();
+				}
 			}
 		}
 		return null;
 	}
 
-	public static JDTClassNode getCachedNode(String name) {
+	/**
+	 * For testing: the number of distinct default imports tables the recorded instances have probed
+	 */
+	public static synchronized int getDefaultImportsTableCount() {
+		Set<DefaultImportsTable> tables = new HashSet<DefaultImportsTable>();
 		for (JDTResolver resolver : instances) {
-			for (Map.Entry<Binding, JDTClassNode> nodeFromCache : resolver.nodeCache.entrySet()) {
-				String nodename = new String(nodeFromCache.getKey().readableName());
-				System.out.println(nodename);
-				if (nodename.equals(name)) {
-					return nodeFromCache.getValue();
+			if (resolver.recordedDefaultImportsTable != null) {
+				tables.add(resolver.recordedDefaultImportsTable);
+			}
+		}
+		return tables.size();
+	}
+
+	/**
+	 * For testing: what the default imports table probed by the recorded instances knows about the simple name in the package
+	 *
+	 * @return the qualified name of the type found there, "" if there is none, or null if the name has not been looked for
+	 */
+	public static synchronized String getDefaultImportsEntry(String packagePrefix, String simpleName) {
+		for (JDTResolver resolver : instances) {
+			if (resolver.recordedDefaultImportsTable != null) {
+				DefaultImportsTable.Entry entry = resolver.recordedDefaultImportsTable.lookup(packagePrefix, simpleName);
+				if (entry == null) {
+					return null;
+				}
+				return entry.binding == null ? "" : CharOperation.toString(entry.binding.compoundName);
+			}
+		}
+		return null;
+	}
+
+	public static synchronized JDTClassNode getCachedNode(String name) {
+		for (JDTResolver resolver : instances) {
+			synchronized (resolver.nodeCache) {
+				for (Map.Entry<Binding, JDTClassNode> nodeFromCache : resolver.nodeCache.entrySet()) {
+					String nodename = new String(nodeFromCache.getKey().readableName());
+					if (nodename.equals(name)) {
+						return nodeFromCache.getValue();
+					}
 				}
 			}
 		}
@@ -184,7 +229,7 @@ public class JDTResolver extends ResolveVisitor {
 
 	@Override
 	protected boolean resolveFromDefaultImports(ClassNode type, boolean testDefaultImports) {
-		boolean foundit = super.resolveFromDefaultImports(type, testDefaultImports);
+		boolean foundit = resolveFromSharedDefaultImports(type, testDefaultImports);
 		if (activeScope != null) {
 			// TODO need to refactor (duplicated in GroovyCompilationUnitScope)
 			boolean b = testDefaultImports & !type.hasPackageName();
@@ -269,6 +314,61 @@ public class JDTResolver extends ResolveVisitor {
 		return foundit;
 	}
 
+	/**
+	 * Probes the default packages through the {@link DefaultImportsTable} of the environment, so that a simple name another unit
+	 * has already looked for costs one map lookup per package rather than a type lookup. Falls back to the probing of
+	 * ResolveVisitor without a scope, once a grab has made types available that the table does not know about, and for units
+	 * declared in a default package, which see types of that package that other units cannot.
+	 */
+	private boolean resolveFromSharedDefaultImports(ClassNode type, boolean testDefaultImports) {
+		if (activeScope == null || hasGrabbed() || activeScope.isInDefaultImportPackage()) {
+			return super.resolveFromDefaultImports(type, testDefaultImports);
+		}
+		if (!testDefaultImports || type.hasPackageName() || type instanceof LowerCaseClass) {
+			return false;
+		}
+		DefaultImportsTable table = activeScope.getDefaultImportsTable();
+		if (recordInstances) {
+			recordedDefaultImportsTable = table;
+		}
+		String name = type.getName();
+		for (String packagePrefix : DEFAULT_IMPORTS) {
+			DefaultImportsTable.Entry entry = table.lookup(packagePrefix, name);
+			if (entry != null) {
+				// the lookup that filled the entry recorded the reference against its own unit only
+				activeScope.recordQualifiedReference(entry.compoundName);
+				if (entry.binding != null) {
+					type.setRedirect(convertToClassNode(entry.binding));
+					return true;
+				}
+				continue;
+			}
+			ConstructedClassWithPackage tmp = new ConstructedClassWithPackage(packagePrefix, name);
+			if (resolve(tmp, false, false, false)) {
+				ClassNode redirect = tmp.redirect();
+				if (redirect instanceof JDTClassNode && ((JDTClassNode) redirect).getJdtBinding() instanceof BinaryTypeBinding) {
+					table.recordFound(packagePrefix, name, ((JDTClassNode) redirect).getJdtBinding());
+				}
+				type.setRedirect(redirect);
+				return true;
+			}
+			table.recordNotFound(packagePrefix, name, CharOperation.splitOn('.', (packagePrefix + name).toCharArray()));
+		}
+		if (name.equals("BigInteger")) {
+			type.setRedirect(ClassHelper.BigInteger_TYPE);
+			return true;
+		} else if (name.equals("BigDecimal")) {
+			type.setRedirect(ClassHelper.BigDecimal_TYPE);
+			return true;
+		}
+		return false;
+	}
+
+	private boolean hasGrabbed() {
+		GroovyClassLoader loader = compilationUnit.getClassLoader();
+		return loader instanceof GrapeAwareGroovyClassLoader && ((GrapeAwareGroovyClassLoader) loader).grabbed;
+	}
+
 	@Override
 	protected boolean resolveFromStaticInnerClasses(ClassNode type, boolean testStaticInnerClasses) {
 		boolean foundit = super.resolveFromStaticInnerClasses(type, testStaticInnerClasses);
@@ -527,6 +627,10 @@ public class JDTResolver extends ResolveVisitor {
 		unresolvables.clear();
 	}
 
+	TraitBindingCache getTraitBindingCache() {
+		return traitBindingCache;
+	}
+
 	public GroovyCompilationUnitScope getScope() {
 		return activeScope;
 	}
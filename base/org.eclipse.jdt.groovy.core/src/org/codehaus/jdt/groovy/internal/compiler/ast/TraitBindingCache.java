@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.codehaus.jdt.groovy.internal.compiler.ast;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
+
+/**
+ * Remembers what has been worked out about traits while the method bindings of the classes implementing them are built: how a type
+ * is annotated, the binding of its <code>$Trait$Helper</code> and which of its methods have an implementation. One cache is held by
+ * each {@link JDTResolver}, so it lives for a single build or reconcile. A trait whose source changes gets a new binding, so entries
+ * keyed by binding never go stale.
+ */
+@SuppressWarnings("restriction")
+class TraitBindingCache {
+
+	static final int NOT_TRAIT = 0;
+	/** annotated with <code>@groovy.transform.Trait</code> */
+	static final int TRAIT = 1;
+	/** annotated with an unresolved <code>@Trait</code>, which is only a trait if the referencing unit imports it */
+	static final int TRAIT_ALIAS = 2;
+
+	private final Map<ReferenceBinding, Integer> traitKinds = new HashMap<ReferenceBinding, Integer>();
+
+	// values may be null when there is no helper
+	private final Map<ReferenceBinding, ReferenceBinding> helpers = new HashMap<ReferenceBinding, ReferenceBinding>();
+
+	private final Map<ReferenceBinding, Map<String, MethodBinding>> implementedMethods = new HashMap<ReferenceBinding, Map<String, MethodBinding>>();
+
+	synchronized Integer getTraitKind(ReferenceBinding binding) {
+		return traitKinds.get(binding);
+	}
+
+	synchronized void putTraitKind(ReferenceBinding binding, int kind) {
+		traitKinds.put(binding, kind);
+	}
+
+	synchronized boolean hasHelper(ReferenceBinding trait) {
+		return helpers.containsKey(trait);
+	}
+
+	synchronized ReferenceBinding getHelper(ReferenceBinding trait) {
+		return helpers.get(trait);
+	}
+
+	synchronized void putHelper(ReferenceBinding trait, ReferenceBinding helper) {
+		helpers.put(trait, helper);
+	}
+
+	synchronized Map<String, MethodBinding> getImplementedMethods(ReferenceBinding trait) {
+		return implementedMethods.get(trait);
+	}
+
+	synchronized void putImplementedMethods(ReferenceBinding trait, Map<String, MethodBinding> methods) {
+		implementedMethods.put(trait, methods);
+	}
+}
@@ -43,6 +43,7 @@ import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.util.CompilerUtils;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.compiler.IErrorHandlingPolicy;
 import org.eclipse.jdt.internal.compiler.IProblemFactory;
 import org.eclipse.jdt.internal.compiler.SourceElementParser;
@@ -69,6 +70,18 @@ import org.eclipse.jdt.internal.core.util.Util;
  */
 public class GroovyCompilationUnit extends CompilationUnit {
 
+	// private JDT fields read or written on every reconcile
+	private static final FieldAccessor USE_COUNT = ReflectionUtils.getFieldAccessor(PerWorkingCopyInfo.class, "useCount"); //$NON-NLS-1$
+	private static final FieldAccessor AST_LEVEL = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "astLevel"); //$NON-NLS-1$
+	private static final FieldAccessor RESOLVE_BINDINGS = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class,
+			"resolveBindings"); //$NON-NLS-1$
+	private static final FieldAccessor RECONCILE_FLAGS = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class,
+			"reconcileFlags"); //$NON-NLS-1$
+	private static final FieldAccessor PROBLEMS = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "problems"); //$NON-NLS-1$
+	private static final FieldAccessor AST_FIELD = ReflectionUtils.getFieldAccessor(ASTHolderCUInfo.class, "ast"); //$NON-NLS-1$
+	private static final FieldAccessor TIMESTAMP = ReflectionUtils.getFieldAccessor(CompilationUnitElementInfo.class,
+			"timestamp"); //$NON-NLS-1$
+
 	private class GroovyErrorHandlingPolicy implements IErrorHandlingPolicy {
 
 		final boolean stopOnFirst;
@@ -183,8 +196,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
 	 * working copy info is about to be discared if useCount <= 1
 	 */
 	private boolean workingCopyInfoWillBeDiscarded(PerWorkingCopyInfo info) {
-		return info != null
-				&& ((Integer) ReflectionUtils.getPrivateField(PerWorkingCopyInfo.class, "useCount", info)).intValue() <= 1; //$NON-NLS-1$
+		return info != null && USE_COUNT.getInt(info) <= 1;
 	}
 
 	/**
@@ -237,12 +249,10 @@ public class GroovyCompilationUnit extends CompilationUnit {
 			HashMap problems;
 			if (info instanceof ASTHolderCUInfo) {
 				ASTHolderCUInfo astHolder = (ASTHolderCUInfo) info;
-				createAST = ((Integer) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "astLevel", astHolder)).intValue() != NO_AST; //$NON-NLS-1$
-				resolveBindings = ((Boolean) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "resolveBindings", astHolder))
-						.booleanValue();
-				reconcileFlags = ((Integer) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "reconcileFlags", astHolder)) //$NON-NLS-1$
-						.intValue();
-				problems = (HashMap) ReflectionUtils.getPrivateField(ASTHolderCUInfo.class, "problems", astHolder);
+				createAST = AST_LEVEL.getInt(astHolder) != NO_AST;
+				resolveBindings = RESOLVE_BINDINGS.getBoolean(astHolder);
+				reconcileFlags = RECONCILE_FLAGS.getInt(astHolder);
+				problems = (HashMap) PROBLEMS.get(astHolder);
 			} else {
 				createAST = false;
 				resolveBindings = false;
@@ -302,8 +312,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
 			// underlying resource is null in the case of a working copy on a class
 			// file in a jar
 			if (underlyingResource != null) {
-				ReflectionUtils.setPrivateField(CompilationUnitElementInfo.class, "timestamp", unitInfo, underlyingResource //$NON-NLS-1$
-						.getModificationStamp());
+				TIMESTAMP.set(unitInfo, underlyingResource.getModificationStamp());
 			}
 
 			GroovyCompilationUnitDeclaration compilationUnitDeclaration = null;
@@ -364,7 +373,7 @@ public class GroovyCompilationUnit extends CompilationUnit {
 					try {
 						ast = AST.convertCompilationUnit(AST.JLS3, compilationUnitDeclaration, options, computeProblems, source,
 								reconcileFlags, pm);
-						ReflectionUtils.setPrivateField(ASTHolderCUInfo.class, "ast", info, ast); //$NON-NLS-1$
+						AST_FIELD.set(info, ast);
 					} catch (OperationCanceledException e) {
 						// catch this exception so as to not enter the catch(RuntimeException e) below
 						// might need to do the same for AbortCompilation
@@ -422,6 +431,18 @@ public class GroovyCompilationUnit extends CompilationUnit {
 	@Override
 	public org.eclipse.jdt.core.dom.CompilationUnit reconcile(int astLevel, int reconcileFlags, WorkingCopyOwner workingCopyOwner,
 			IProgressMonitor monitor) throws JavaModelException {
+		if (GroovyParallelReconciler.reconcileWithOthers(this, astLevel, reconcileFlags, workingCopyOwner, monitor)) {
+			return null;
+		}
+		return reconcile(astLevel, reconcileFlags, workingCopyOwner, monitor, null);
+	}
+
+	/**
+	 * @param turn if not null, problems and deltas are only reported once it is this working copy's turn
+	 * @see GroovyParallelReconciler
+	 */
+	org.eclipse.jdt.core.dom.CompilationUnit reconcile(int astLevel, int reconcileFlags, WorkingCopyOwner workingCopyOwner,
+			IProgressMonitor monitor, GroovyParallelReconciler.ReportingTurn turn) throws JavaModelException {
 		if (!isWorkingCopy())
 			return null; // Reconciling is not supported on non working copies
 		if (workingCopyOwner == null)
@@ -432,7 +453,8 @@ public class GroovyCompilationUnit extends CompilationUnit {
 			stats = PerformanceStats.getStats(JavaModelManager.RECONCILE_PERF, this);
 			stats.startRun(new String(this.getFileName()));
 		}
-		ReconcileWorkingCopyOperation op = new GroovyReconcileWorkingCopyOperation(this, astLevel, reconcileFlags, workingCopyOwner);
+		ReconcileWorkingCopyOperation op = new GroovyReconcileWorkingCopyOperation(this, astLevel, reconcileFlags, workingCopyOwner,
+				turn);
 		JavaModelManager manager = JavaModelManager.getJavaModelManager();
 		try {
 			manager.cacheZipFiles(this); // cache zip files for performance (see
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2015 SpringSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+
+package org.codehaus.jdt.groovy.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Reconciles several dirty Groovy working copies concurrently on a small bounded pool of threads. Parsing, resolving and problem
+ * detection for each working copy run in parallel, but the problems and deltas of each working copy are reported in the same order
+ * as a sequential reconcile would report them, so nothing visible in the editors changes.
+ * <p>
+ * Only enabled when the system property <code>greclipse.parallelReconcile</code> is <code>true</code>, otherwise working copies are
+ * reconciled one after the other on the calling thread.
+ */
+public class GroovyParallelReconciler {
+
+	private static boolean enabled = Boolean.valueOf(System.getProperty("greclipse.parallelReconcile", "false"));
+
+	/**
+	 * Upper bound on the number of reconciles that run at once. Each reconcile holds a full Groovy compilation unit in memory.
+	 */
+	private static final int MAX_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static ExecutorService pool;
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		GroovyParallelReconciler.enabled = enabled;
+	}
+
+	/**
+	 * Reconciles all dirty Groovy working copies of the primary owner, forcing problem detection.
+	 */
+	public static void reconcileWorkingCopies(IProgressMonitor monitor) {
+		ICompilationUnit[] workingCopies = JavaCore.getWorkingCopies(null);
+		List<GroovyCompilationUnit> dirty = new ArrayList<GroovyCompilationUnit>(workingCopies.length);
+		for (ICompilationUnit workingCopy : workingCopies) {
+			if (workingCopy instanceof GroovyCompilationUnit) {
+				try {
+					if (workingCopy.hasUnsavedChanges() || !workingCopy.isConsistent()) {
+						dirty.add((GroovyCompilationUnit) workingCopy);
+					}
+				} catch (JavaModelException e) {
+					Util.log(e, "Problem checking state of working copy " + workingCopy.getElementName()); //$NON-NLS-1$
+				}
+			}
+		}
+		reconcile(dirty, ICompilationUnit.NO_AST, ICompilationUnit.FORCE_PROBLEM_DETECTION, null, monitor);
+	}
+
+	/**
+	 * Refactorings make each working copy they changed consistent in turn, without an AST and without forcing problem detection.
+	 * When the first of them is reconciled like that, the other inconsistent Groovy working copies of the same owner are made
+	 * consistent along with it, so that the following calls find them consistent already.
+	 * 
+	 * @return true if the unit has been reconciled together with the others
+	 */
+	static boolean reconcileWithOthers(GroovyCompilationUnit unit, int astLevel, int reconcileFlags, WorkingCopyOwner owner,
+			IProgressMonitor monitor) throws JavaModelException {
+		if (!enabled || astLevel != ICompilationUnit.NO_AST || (reconcileFlags & ICompilationUnit.FORCE_PROBLEM_DETECTION) != 0
+				|| !unit.isWorkingCopy() || unit.isConsistent()) {
+			return false;
+		}
+		List<GroovyCompilationUnit> units = new ArrayList<GroovyCompilationUnit>();
+		units.add(unit);
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(unit.getOwner())) {
+			if (workingCopy != unit && workingCopy instanceof GroovyCompilationUnit && !workingCopy.isConsistent()) {
+				units.add((GroovyCompilationUnit) workingCopy);
+			}
+		}
+		if (units.size() < 2) {
+			return false;
+		}
+		reconcile(units, astLevel, reconcileFlags, owner, monitor);
+		return true;
+	}
+
+	/**
+	 * Reconciles those of the given units that are working copies, consistent ones too when problem detection is forced. Problems
+	 * and deltas are reported in the order of the list.
+	 */
+	public static void reconcile(List<GroovyCompilationUnit> units, final int astLevel, final int reconcileFlags,
+			final WorkingCopyOwner owner, IProgressMonitor monitor) {
+		final IProgressMonitor pm = monitor == null ? new NullProgressMonitor() : monitor;
+		List<GroovyCompilationUnit> workingCopies = new ArrayList<GroovyCompilationUnit>(units.size());
+		for (GroovyCompilationUnit unit : units) {
+			if (unit.isWorkingCopy()) {
+				workingCopies.add(unit);
+			}
+		}
+
+		if (!enabled || workingCopies.size() < 2) {
+			for (GroovyCompilationUnit unit : workingCopies) {
+				if (pm.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				reconcile(unit, astLevel, reconcileFlags, owner, pm, null);
+			}
+			return;
+		}
+
+		final ReportingOrder order = new ReportingOrder(workingCopies.size());
+		List<Future<?>> futures = new ArrayList<Future<?>>(workingCopies.size());
+		// tasks are queued in order, so a task only ever waits for the turn of tasks that were started before it
+		for (int i = 0, max = workingCopies.size(); i < max; i++) {
+			final GroovyCompilationUnit unit = workingCopies.get(i);
+			final int index = i;
+			futures.add(getPool().submit(new Runnable() {
+				public void run() {
+					try {
+						if (!pm.isCanceled()) {
+							reconcile(unit, astLevel, reconcileFlags, owner, pm, order.turn(index));
+						}
+					} finally {
+						order.done(index);
+					}
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				Util.log(e, "Problem during parallel reconcile"); //$NON-NLS-1$
+			}
+		}
+		if (pm.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	private static void reconcile(GroovyCompilationUnit unit, int astLevel, int reconcileFlags, WorkingCopyOwner owner,
+			IProgressMonitor monitor, ReportingTurn turn) {
+		try {
+			unit.reconcile(astLevel, reconcileFlags, owner, monitor, turn);
+		} catch (JavaModelException e) {
+			Util.log(e, "Problem reconciling " + unit.getElementName()); //$NON-NLS-1$
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(MAX_THREADS, new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "Groovy parallel reconcile " + count.incrementAndGet()); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return pool;
+	}
+
+	/**
+	 * A working copy's place in the reporting order. The reconcile operation waits for its turn after making the working copy
+	 * consistent and before reporting problems and deltas.
+	 */
+	static class ReportingTurn {
+		private final ReportingOrder order;
+		private final int index;
+
+		ReportingTurn(ReportingOrder order, int index) {
+			this.order = order;
+			this.index = index;
+		}
+
+		void await() {
+			order.await(index);
+		}
+	}
+
+	static class ReportingOrder {
+		private final boolean[] finished;
+
+		// index of the first working copy that has not finished reporting
+		private int next = 0;
+
+		ReportingOrder(int size) {
+			finished = new boolean[size];
+		}
+
+		ReportingTurn turn(int index) {
+			return new ReportingTurn(this, index);
+		}
+
+		synchronized void await(int index) {
+			while (next < index) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+
+		synchronized void done(int index) {
+			finished[index] = true;
+			while (next < finished.length && finished[next]) {
+				next++;
+			}
+			notifyAll();
+		}
+	}
+}
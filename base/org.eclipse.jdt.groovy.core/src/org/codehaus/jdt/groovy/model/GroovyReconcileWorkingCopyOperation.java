@@ -41,17 +41,40 @@ public class GroovyReconcileWorkingCopyOperation extends ReconcileWorkingCopyOpe
 
 	WorkingCopyOwner workingCopyOwner;
 
+	/**
+	 * Place in the reporting order when several working copies are reconciled in parallel, otherwise null
+	 */
+	private final GroovyParallelReconciler.ReportingTurn turn;
+
 	public GroovyReconcileWorkingCopyOperation(IJavaElement workingCopy, int astLevel, int reconcileFlags,
 			WorkingCopyOwner workingCopyOwner) {
+		this(workingCopy, astLevel, reconcileFlags, workingCopyOwner, null);
+	}
+
+	GroovyReconcileWorkingCopyOperation(IJavaElement workingCopy, int astLevel, int reconcileFlags,
+			WorkingCopyOwner workingCopyOwner, GroovyParallelReconciler.ReportingTurn turn) {
 		super(workingCopy, astLevel, reconcileFlags, workingCopyOwner);
 		this.workingCopyOwner = workingCopyOwner;
+		this.turn = turn;
+	}
+
+	/*
+	 * Problems and deltas are reported by the super class once the working copy is consistent, so when reconciling in parallel
+	 * this is where we wait for our turn.
+	 */
+	public org.eclipse.jdt.core.dom.CompilationUnit makeConsistent(CompilationUnit workingCopy) throws JavaModelException {
+		org.eclipse.jdt.core.dom.CompilationUnit result = doMakeConsistent(workingCopy);
+		if (turn != null) {
+			turn.await();
+		}
+		return result;
 	}
 
 	// Copied from Super
 	/*
 	 * Makes the given working copy consistent, computes the delta and computes an AST if needed. Returns the AST.
 	 */
-	public org.eclipse.jdt.core.dom.CompilationUnit makeConsistent(CompilationUnit workingCopy) throws JavaModelException {
+	private org.eclipse.jdt.core.dom.CompilationUnit doMakeConsistent(CompilationUnit workingCopy) throws JavaModelException {
 		if (!workingCopy.isConsistent()) {
 			// make working copy consistent
 			if (this.problems == null)
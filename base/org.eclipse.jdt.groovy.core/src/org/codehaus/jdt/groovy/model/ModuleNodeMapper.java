@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaModelManager.PerWorkingCopyInfo;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -52,6 +53,8 @@ public class ModuleNodeMapper {
 
 	private static final ModuleNodeMapper INSTANCE = new ModuleNodeMapper();
 
+	private static final FieldAccessor USE_COUNT = ReflectionUtils.getFieldAccessor(PerWorkingCopyInfo.class, "useCount");
+
 	static ModuleNodeMapper getInstance() {
 		return INSTANCE;
 	}
@@ -185,7 +188,7 @@ public class ModuleNodeMapper {
 
 			List<PerWorkingCopyInfo> toPurge = new ArrayList<PerWorkingCopyInfo>();
 			for (PerWorkingCopyInfo info : infoToModuleMap.keySet()) {
-				int useCount = ((Integer) ReflectionUtils.getPrivateField(PerWorkingCopyInfo.class, "useCount", info)).intValue();
+				int useCount = USE_COUNT.getInt(info);
 				if (useCount <= 0) {
 					String message = "Bad module node map entry: " + info.getWorkingCopy().getElementName();
 					System.out.println(message);
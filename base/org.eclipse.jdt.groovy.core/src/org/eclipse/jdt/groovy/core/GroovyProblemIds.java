@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.groovy.core;
+
+import org.eclipse.jdt.core.compiler.IProblem;
+
+/**
+ * Ids of the problems reported by the Groovy compiler. The groovy compiler only produces messages, so a message is classified
+ * by its text once, when it is recorded as a problem, and clients such as quick fixes can then check
+ * {@link IProblem#getID()} or the <code>id</code> attribute of the problem marker rather than the message.
+ * <p>
+ * All ids are {@link IProblem#Internal} and carry no other category bits, so the problems keep the internal category that
+ * groovy problems always had. Messages that are not classified get {@link #GROOVY_PROBLEM}, which is also the id of every
+ * groovy problem recorded before these ids existed.
+ */
+public final class GroovyProblemIds {
+
+	private GroovyProblemIds() {
+		// constants only
+	}
+
+	/** Any groovy problem without a more specific id */
+	public static final int GROOVY_PROBLEM = 0;
+
+	private static final int BASE = IProblem.Internal + 0xF00000;
+
+	/** <code>unable to resolve class Foo</code> */
+	public static final int UNRESOLVED_CLASS = BASE + 1;
+
+	/** <code>[Static type checking] - The variable [foo] is undeclared.</code> */
+	public static final int STC_UNDECLARED_VARIABLE = BASE + 2;
+
+	/** <code>[Static type checking] - Cannot assign value of type Foo to variable of type Bar</code> */
+	public static final int STC_CANNOT_ASSIGN = BASE + 3;
+
+	/** <code>[Static type checking] - Cannot return value of type Foo on method returning type Bar</code> */
+	public static final int STC_CANNOT_RETURN = BASE + 4;
+
+	/** <code>[Static type checking] - Cannot find matching method Foo#bar()</code> */
+	public static final int STC_NO_MATCHING_METHOD = BASE + 5;
+
+	/** Any other static type checking problem */
+	public static final int STC_OTHER = BASE + 6;
+
+	/** <code>Can't have an abstract method in a non-abstract class.</code> */
+	public static final int ABSTRACT_METHOD_IN_CONCRETE_CLASS = BASE + 7;
+
+	private static final String GROOVY_PREFIX = "Groovy:";
+
+	private static final String STC_PREFIX = "[Static type checking] - ";
+
+	/**
+	 * @param message the message of a groovy problem, with or without the <code>Groovy:</code> prefix
+	 * @return the id of the problem, or {@link #GROOVY_PROBLEM} if the message is not one of the classified ones
+	 */
+	public static int getProblemId(String message) {
+		if (message == null) {
+			return GROOVY_PROBLEM;
+		}
+		int start = message.startsWith(GROOVY_PREFIX) ? GROOVY_PREFIX.length() : 0;
+		if (message.startsWith("unable to resolve class", start)) {
+			return UNRESOLVED_CLASS;
+		}
+		if (message.startsWith(STC_PREFIX, start)) {
+			start += STC_PREFIX.length();
+			if (message.startsWith("The variable", start)) {
+				return STC_UNDECLARED_VARIABLE;
+			}
+			if (message.startsWith("Cannot assign value of type", start)) {
+				return STC_CANNOT_ASSIGN;
+			}
+			if (message.startsWith("Cannot return value of type", start)) {
+				return STC_CANNOT_RETURN;
+			}
+			if (message.startsWith("Cannot find matching method", start)) {
+				return STC_NO_MATCHING_METHOD;
+			}
+			return STC_OTHER;
+		}
+		if (message.startsWith("Can't have an abstract method in a non-abstract class.", start)) {
+			return ABSTRACT_METHOD_IN_CONCRETE_CLASS;
+		}
+		return GROOVY_PROBLEM;
+	}
+}
@@ -11,8 +11,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.groovy.core.util;
 
-import java.util.ArrayList;
-import java.util.List;
+import org.codehaus.groovy.antlr.LocationSupport;
 
 /**
  * Helper methods - can be made more eclipse friendly or replaced if the groovy infrastructure provides the information (eg.
@@ -22,25 +21,10 @@ import java.util.List;
  */
 public class GroovyUtils {
 
-	// FIXASC don't use this any more?
+	/**
+	 * Prefer the line table recorded by the parser (see SourceUnit.getLocationSupport()), this rescans the source.
+	 */
 	public static int[] getSourceLineSeparatorsIn(char[] code) {
-		List<Integer> lineSeparatorsCollection = new ArrayList<Integer>();
-		for (int i = 0, max = code.length; i < max; i++) {
-			if (code[i] == '\r') {
-				if ((i + 1) < max && code[i + 1] == '\n') {// \r\n
-					lineSeparatorsCollection.add(i + 1); // add the position of the \n
-					i++;
-				} else {
-					lineSeparatorsCollection.add(i); // add the position of the \r
-				}
-			} else if (code[i] == '\n') {
-				lineSeparatorsCollection.add(i);
-			}
-		}
-		int[] lineSepPositions = new int[lineSeparatorsCollection.size()];
-		for (int i = 0; i < lineSeparatorsCollection.size(); i++) {
-			lineSepPositions[i] = lineSeparatorsCollection.get(i);
-		}
-		return lineSepPositions;
+		return LocationSupport.findLineSeparators(code);
 	}
 }
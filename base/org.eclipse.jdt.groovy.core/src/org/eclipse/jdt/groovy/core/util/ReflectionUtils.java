@@ -14,8 +14,7 @@ package org.eclipse.jdt.groovy.core.util;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -35,41 +34,148 @@ public class ReflectionUtils {
 
 	private static final Class[] NO_TYPES = new Class[0];
 	private static final Object[] NO_ARGS = new Object[0];
-	private static Map<String, Field> fieldMap = new HashMap<String, Field>();
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, FieldAccessor>> accessors =
+			new ConcurrentHashMap<Class<?>, ConcurrentHashMap<String, FieldAccessor>>();
 
-	public static <T> Object getPrivateField(Class<T> clazz, String fieldName, Object target) {
-		String key = clazz.getCanonicalName() + fieldName;
-		Field field = fieldMap.get(key);
-		try {
+	/**
+	 * A private field that has been looked up and made accessible once. Code on hot paths (reconcile, content assist) should keep
+	 * the accessor in a constant rather than going through {@link ReflectionUtils#getPrivateField(Class, String, Object)} each time.
+	 * Errors are logged and the default value for the field type is returned. A field that could not be found is only logged the
+	 * first time it is used.
+	 */
+	public static final class FieldAccessor {
+		private final Class<?> clazz;
+		private final String fieldName;
+		private final Field field;
+		private final Exception failure;
+		private volatile boolean failureLogged;
+
+		FieldAccessor(Class<?> clazz, String fieldName) {
+			this.clazz = clazz;
+			this.fieldName = fieldName;
+			Field f = null;
+			Exception e = null;
+			try {
+				f = clazz.getDeclaredField(fieldName);
+				f.setAccessible(true);
+			} catch (Exception x) {
+				f = null;
+				e = x;
+			}
+			this.field = f;
+			this.failure = e;
+		}
+
+		public Object get(Object target) {
+			if (field == null) {
+				logFailureOnce();
+				return null;
+			}
+			try {
+				return throwableGet(target);
+			} catch (Exception e) {
+				logGetError(e);
+				return null;
+			}
+		}
+
+		public int getInt(Object target) {
+			try {
+				if (field == null) {
+					logFailureOnce();
+					return 0;
+				}
+				return field.getInt(target);
+			} catch (Exception e) {
+				logGetError(e);
+				return 0;
+			}
+		}
+
+		public boolean getBoolean(Object target) {
+			try {
+				if (field == null) {
+					logFailureOnce();
+					return false;
+				}
+				return field.getBoolean(target);
+			} catch (Exception e) {
+				logGetError(e);
+				return false;
+			}
+		}
+
+		public void set(Object target, Object newValue) {
+			try {
+				if (field == null) {
+					logFailureOnce();
+					return;
+				}
+				field.set(target, newValue);
+			} catch (Exception e) {
+				Activator.getDefault().getLog()
+						.log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error setting private field '" + fieldName //$NON-NLS-1$
+								+ "' on class " + clazz, e)); //$NON-NLS-1$
+			}
+		}
+
+		Object throwableGet(Object target) throws Exception {
 			if (field == null) {
-				field = clazz.getDeclaredField(fieldName);
-				field.setAccessible(true);
-				fieldMap.put(key, field);
+				throw failure;
 			}
 			return field.get(target);
-		} catch (Exception e) {
+		}
+
+		boolean isValid() {
+			return field != null;
+		}
+
+		private void logFailureOnce() {
+			if (!failureLogged) {
+				failureLogged = true;
+				Activator.getDefault().getLog()
+						.log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error looking up private field '" + fieldName //$NON-NLS-1$
+								+ "' on class " + clazz, failure)); //$NON-NLS-1$
+			}
+		}
+
+		private void logGetError(Exception e) {
 			Activator.getDefault().getLog()
 					.log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error getting private field '" + fieldName //$NON-NLS-1$
 							+ "' on class " + clazz, e)); //$NON-NLS-1$
 		}
-		return null;
 	}
 
-	public static <T> void setPrivateField(Class<T> clazz, String fieldName, Object target, Object newValue) {
-		String key = clazz.getCanonicalName() + fieldName;
-		Field field = fieldMap.get(key);
-		try {
-			if (field == null) {
-				field = clazz.getDeclaredField(fieldName);
-				field.setAccessible(true);
-				fieldMap.put(key, field);
+	/**
+	 * Looks up the declared field of the given class once and caches the result, so that later calls only cost a map lookup.
+	 * Failed lookups are not cached, so they are tried again on the next call. Safe to call from several threads.
+	 */
+	public static FieldAccessor getFieldAccessor(Class<?> clazz, String fieldName) {
+		ConcurrentHashMap<String, FieldAccessor> byName = accessors.get(clazz);
+		if (byName == null) {
+			ConcurrentHashMap<String, FieldAccessor> existing = accessors.putIfAbsent(clazz,
+					byName = new ConcurrentHashMap<String, FieldAccessor>());
+			if (existing != null) {
+				byName = existing;
+			}
+		}
+		FieldAccessor accessor = byName.get(fieldName);
+		if (accessor == null) {
+			// lookups are idempotent, so losing a race only costs a redundant lookup
+			accessor = new FieldAccessor(clazz, fieldName);
+			if (accessor.isValid()) {
+				byName.put(fieldName, accessor);
 			}
-			field.set(target, newValue);
-		} catch (Exception e) {
-			Activator.getDefault().getLog()
-					.log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error setting private field '" + fieldName //$NON-NLS-1$
-							+ "' on class " + clazz, e)); //$NON-NLS-1$
 		}
+		return accessor;
+	}
+
+	public static <T> Object getPrivateField(Class<T> clazz, String fieldName, Object target) {
+		return getFieldAccessor(clazz, fieldName).get(target);
+	}
+
+	public static <T> void setPrivateField(Class<T> clazz, String fieldName, Object target, Object newValue) {
+		getFieldAccessor(clazz, fieldName).set(target, newValue);
 	}
 
 	public static <T> Object executeNoArgPrivateMethod(Class<T> clazz, String methodName, Object target) {
@@ -99,14 +205,7 @@ public class ReflectionUtils {
 	}
 
 	public static <T> Object throwableGetPrivateField(Class<T> clazz, String fieldName, T target) throws Exception {
-		String key = clazz.getCanonicalName() + fieldName;
-		Field field = fieldMap.get(key);
-		if (field == null) {
-			field = clazz.getDeclaredField(fieldName);
-			field.setAccessible(true);
-			fieldMap.put(key, field);
-		}
-		return field.get(target);
+		return getFieldAccessor(clazz, fieldName).throwableGet(target);
 	}
 
 	/**
@@ -35,7 +35,7 @@ import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
  * @created Nov 20, 2009 A simplified type lookup that targets the general case where a provider wants to add initialization to a
  *          class and add new methods/fields to certain types of objects
  */
-public abstract class AbstractSimplifiedTypeLookup implements ITypeLookupExtension {
+public abstract class AbstractSimplifiedTypeLookup implements ITypeLookupExtension, ISelectiveTypeLookup {
 
 	public static class TypeAndDeclaration {
 		public TypeAndDeclaration(ClassNode type, ASTNode declaration) {
@@ -103,6 +103,14 @@ public abstract class AbstractSimplifiedTypeLookup implements ITypeLookupExtensi
 				|| currentExpression.getText().length() != currentExpression.getLength();
 	}
 
+	/**
+	 * Only constants, GStrings and variables are looked up by name, subclasses can narrow this further
+	 */
+	public boolean mayAnswer(Class<? extends Expression> expressionClass) {
+		return ConstantExpression.class.isAssignableFrom(expressionClass) || GStringExpression.class.isAssignableFrom(expressionClass)
+				|| VariableExpression.class.isAssignableFrom(expressionClass);
+	}
+
 	// not called, but must be implemented
 	public final TypeLookupResult lookupType(Expression node, VariableScope scope, ClassNode objectExpressionType) {
 		return lookupType(node, scope, objectExpressionType, false);
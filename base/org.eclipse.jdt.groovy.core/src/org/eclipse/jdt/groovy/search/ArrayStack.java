@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.groovy.search;
+
+import java.util.EmptyStackException;
+
+/**
+ * An unsynchronized stack backed by an array. Unlike {@link java.util.ArrayDeque} it accepts null elements, which the
+ * inferencing visitor pushes for expressions without a type. Like {@link java.util.Stack}, popping or peeking an empty stack
+ * throws {@link EmptyStackException}.
+ */
+final class ArrayStack<E> {
+
+	private Object[] elements = new Object[16];
+	private int size;
+
+	public void push(E element) {
+		if (size == elements.length) {
+			Object[] grown = new Object[size * 2];
+			System.arraycopy(elements, 0, grown, 0, size);
+			elements = grown;
+		}
+		elements[size++] = element;
+	}
+
+	@SuppressWarnings("unchecked")
+	public E pop() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		E element = (E) elements[--size];
+		elements[size] = null;
+		return element;
+	}
+
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		return (E) elements[size - 1];
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+}
@@ -40,7 +40,11 @@ import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
  *          Looks up the type of an expression in the currently applicable categories. Note that DefaultGroovyMethods are always
  *          considered to be an applicable category. This lookup is not being used yet
  */
-public class CategoryTypeLookup implements ITypeLookup {
+public class CategoryTypeLookup implements ISelectiveTypeLookup {
+
+	public boolean mayAnswer(Class<? extends Expression> expressionClass) {
+		return ConstantExpression.class.isAssignableFrom(expressionClass) || VariableExpression.class.isAssignableFrom(expressionClass);
+	}
 
 	/**
 	 * Looks up method calls to see if they are declared in any current categories
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.groovy.search;
+
+import org.codehaus.groovy.ast.expr.Expression;
+
+/**
+ * A type lookup that can tell, once it has been initialized for a unit, that it never answers for some classes of expression in
+ * that unit. With adaptive lookups the inferencing visitor does not ask it about those expressions at all, see
+ * {@link TypeInferencingVisitorWithRequestor#setAdaptiveLookups(boolean)}.
+ * <p>
+ * The answer must be certain, not a guess from what the lookup has answered so far: a lookup that might answer for some
+ * expression of the class, depending on its name, its type or where it is, must return true.
+ */
+public interface ISelectiveTypeLookup extends ITypeLookup {
+
+	/**
+	 * Called after {@link #initialize(org.codehaus.jdt.groovy.model.GroovyCompilationUnit, VariableScope)}, the answer holds until
+	 * the lookup is initialized for another unit.
+	 *
+	 * @return false if {@link #lookupType(Expression, VariableScope, org.codehaus.groovy.ast.ClassNode)} returns null for every
+	 *         expression of the class in the current unit
+	 */
+	boolean mayAnswer(Class<? extends Expression> expressionClass);
+}
@@ -14,14 +14,11 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.AnnotatedNode;
@@ -128,22 +125,27 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
 	}
 
-	class Tuple {
-		ClassNode declaringType;
-		ASTNode declaration;
-
-		Tuple(ClassNode declaringType, ASTNode declaration) {
-			this.declaringType = declaringType;
-			this.declaration = declaration;
-		}
-	}
-
 	/**
 	 * Set to true if debug mode is desired. Any exceptions will be spit to syserr. Also, after a visit, there will be a sanity
 	 * check to ensure that all stacks are empty Only set to true if using a visitor that always visits the entire file
 	 */
 	public boolean DEBUG = false;
 
+	/**
+	 * When set, an {@link ISelectiveTypeLookup} is not asked about a class of expression it has said it never answers for in the
+	 * current unit. The last lookup is always asked. Off unless <code>-Dgreclipse.inference.adaptiveLookups=true</code> is set or
+	 * {@link #setAdaptiveLookups(boolean)} is called.
+	 */
+	private static boolean adaptiveLookups = Boolean.valueOf(System.getProperty("greclipse.inference.adaptiveLookups", "false"));
+
+	public static boolean isAdaptiveLookups() {
+		return adaptiveLookups;
+	}
+
+	public static void setAdaptiveLookups(boolean adaptive) {
+		adaptiveLookups = adaptive;
+	}
+
 	/**
 	 * We hard code the list of methods that take a closure and expect to iterate over that closure
 	 */
@@ -253,7 +255,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 
 	private final GroovyCompilationUnit unit;
 
-	private final Stack<VariableScope> scopes;
+	private final ArrayStack<VariableScope> scopes = new ArrayStack<VariableScope>();
 
 	// we are going to have to be very careful about the ordering of lookups
 	// Simple type lookup must be last because it always returns an answer
@@ -271,29 +273,35 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 	 * The head of the stack is the current property/attribute/methodcall/binary expression being visited. This stack is used so we
 	 * can keep track of the type of the object expressions in these property expressions
 	 */
-	private Stack<ASTNode> completeExpressionStack;
+	private final ArrayStack<ASTNode> completeExpressionStack = new ArrayStack<ASTNode>();
 
 	/**
 	 * Keeps track of the type of the object expression corresponding to each frame of the property expression.
 	 */
-	private Stack<ClassNode> primaryTypeStack;
+	private final ArrayStack<ClassNode> primaryTypeStack = new ArrayStack<ClassNode>();
 
 	/**
 	 * Keeps track of the declaring type of the current dependent expression. Dependent expressions are dependent on a primary
 	 * expression to find type information. this field is only applicable for {@link PropertyExpression}s and
 	 * {@link MethodCallExpression}s.
 	 */
-	private Stack<Tuple> dependentDeclarationStack;
+	private final ArrayStack<ClassNode> dependentDeclaringTypeStack = new ArrayStack<ClassNode>();
+
+	/**
+	 * Keeps track of the declaration of the current dependent expression, pushed and popped together with
+	 * {@link #dependentDeclaringTypeStack}
+	 */
+	private final ArrayStack<ASTNode> dependentDeclarationStack = new ArrayStack<ASTNode>();
 
 	/**
 	 * Keeps track of the type of the type of the property field corresponding to each frame of the property expression.
 	 */
-	private Stack<ClassNode> dependentTypeStack;
+	private final ArrayStack<ClassNode> dependentTypeStack = new ArrayStack<ClassNode>();
 
 	/**
 	 * Keeps track of closures types.
 	 */
-	private Deque<Map<ClosureExpression, ClassNode>> closureTypes = new LinkedList<Map<ClosureExpression, ClassNode>>();
+	private final ArrayStack<Map<ClosureExpression, ClassNode>> closureTypes = new ArrayStack<Map<ClosureExpression, ClassNode>>();
 
 	private final JDTResolver resolver;
 
@@ -305,9 +313,14 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 	/**
 	 * Keeps track of local map variables contexts.
 	 */
-	private Map<Variable, Map<String, ClassNode>> localMapProperties = new HashMap<Variable, Map<String, ClassNode>>();
+	private final Map<Variable, Map<String, ClassNode>> localMapProperties = new HashMap<Variable, Map<String, ClassNode>>();
 	private Variable currentMapVariable;
 
+	/**
+	 * Only used with adaptive lookups: expression class -> whether each lookup is skipped for it in this unit
+	 */
+	private final Map<Class<?>, boolean[]> skippedLookups;
+
 	/**
 	 * Use factory to instantiate
 	 */
@@ -318,11 +331,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 		this.enclosingDeclarationNode = info != null ? info.module : null;
 		this.resolver = info != null ? info.resolver : null;
 		this.lookups = lookups;
-		scopes = new Stack<VariableScope>();
-		completeExpressionStack = new Stack<ASTNode>();
-		primaryTypeStack = new Stack<ClassNode>();
-		dependentTypeStack = new Stack<ClassNode>();
-		dependentDeclarationStack = new Stack<Tuple>();
+		this.skippedLookups = adaptiveLookups ? new HashMap<Class<?>, boolean[]>() : null;
 	}
 
 	public void visitCompilationUnit(ITypeRequestor requestor) {
@@ -342,6 +351,10 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 			}
 			lookup.initialize(unit, topLevelScope);
 		}
+		if (skippedLookups != null) {
+			// what the lookups can answer for may have changed with their initialization
+			skippedLookups.clear();
+		}
 
 		try {
 			visitPackage(((ModuleNode) enclosingDeclarationNode).getPackage());
@@ -907,6 +920,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 								if (imp.getFieldNameExpr() != null) {
 									primaryTypeStack.push(type);
 									imp.getFieldNameExpr().visit(this);
+									dependentDeclaringTypeStack.pop();
 									dependentDeclarationStack.pop();
 									dependentTypeStack.pop();
 								}
@@ -1652,8 +1666,9 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 		ClassNode exprType = dependentTypeStack.pop();
 
 		// this is the inferred declaring type of this method
-		Tuple t = dependentDeclarationStack.pop();
-		CallAndType call = new CallAndType(node, t.declaringType, t.declaration);
+		ClassNode declaringType = dependentDeclaringTypeStack.pop();
+		ASTNode declaration = dependentDeclarationStack.pop();
+		CallAndType call = new CallAndType(node, declaringType, declaration);
 
 		completeExpressionStack.pop();
 
@@ -1675,8 +1690,8 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 			exprType = createParameterizedList(exprType);
 		}
 		// Check if it is generic method
-		if (t.declaration instanceof MethodNode) {
-			MethodNode methodNode = (MethodNode) t.declaration;
+		if (declaration instanceof MethodNode) {
+			MethodNode methodNode = (MethodNode) declaration;
 			boolean generic = methodNode.getReturnType().isGenericsPlaceHolder();
 			GenericsType[] genericsTypes = methodNode.getGenericsTypes();
 			if (generic && genericsTypes != null && genericsTypes.length > 0) {
@@ -1686,7 +1701,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 				}
 			}
 		}
-		handleCompleteExpression(node, exprType, t.declaringType);
+		handleCompleteExpression(node, exprType, declaringType);
 		scopes.peek().forgetCurrentNode();
 	}
 
@@ -1793,6 +1808,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 		ClassNode exprType = dependentTypeStack.pop();
 
 		// don't care about either of these
+		dependentDeclaringTypeStack.pop();
 		dependentDeclarationStack.pop();
 		completeExpressionStack.pop();
 
@@ -2033,28 +2049,48 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 			primaryTypeStack.push(type);
 		} else if (isDependentExpression(node)) {
 			dependentTypeStack.push(type);
-			dependentDeclarationStack.push(new Tuple(declaringType, declaration));
+			dependentDeclaringTypeStack.push(declaringType);
+			dependentDeclarationStack.push(declaration);
 		}
 	}
 
 	private TypeLookupResult lookupExpressionType(Expression node, ClassNode objectExprType, boolean isStatic, VariableScope scope) {
+		TypeLookupStatistics statistics = TypeLookupStatistics.isEnabled() ? TypeLookupStatistics.getInstance() : null;
+		boolean[] skipped = getSkippedLookups(node);
 		TypeLookupResult result = null;
-		for (ITypeLookup lookup : lookups) {
+		int winner = -1;
+		for (int i = 0; i < lookups.length; i++) {
+			ITypeLookup lookup = lookups[i];
+			if (skipped != null && skipped[i]) {
+				// said it never answers for this class of expression in this unit
+				if (statistics != null) {
+					statistics.recordSkip(lookup);
+				}
+				continue;
+			}
+			long start = statistics != null ? System.nanoTime() : 0;
 			TypeLookupResult candidate;
 			if (lookup instanceof ITypeLookupExtension) {
 				candidate = ((ITypeLookupExtension) lookup).lookupType(node, scope, objectExprType, isStatic);
 			} else {
 				candidate = lookup.lookupType(node, scope, objectExprType);
 			}
+			if (statistics != null) {
+				statistics.recordCall(lookup, System.nanoTime() - start, candidate);
+			}
 			if (candidate != null) {
 				if (result == null || result.confidence.isLessPreciseThan(candidate.confidence)) {
 					result = candidate;
+					winner = i;
 				}
 				if (TypeConfidence.LOOSELY_INFERRED.isLessPreciseThan(result.confidence)) {
 					break;
 				}
 			}
 		}
+		if (winner >= 0 && statistics != null) {
+			statistics.recordWin(lookups[winner]);
+		}
 		if (result.confidence == TypeConfidence.UNKNOWN && VariableScope.MAP_CLASS_NODE.equals(result.declaringType)) {
 			ClassNode inferredType = VariableScope.OBJECT_CLASS_NODE;
 			if (currentMapVariable != null && node instanceof ConstantExpression) {
@@ -2066,6 +2102,23 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 		return result;
 	}
 
+	private boolean[] getSkippedLookups(Expression node) {
+		if (skippedLookups == null) {
+			return null;
+		}
+		boolean[] skipped = skippedLookups.get(node.getClass());
+		if (skipped == null) {
+			skipped = new boolean[lookups.length];
+			// the last lookup is always asked, so that there is an answer
+			for (int i = 0; i < lookups.length - 1; i++) {
+				skipped[i] = lookups[i] instanceof ISelectiveTypeLookup
+						&& !((ISelectiveTypeLookup) lookups[i]).mayAnswer(node.getClass());
+			}
+			skippedLookups.put(node.getClass(), skipped);
+		}
+		return skipped;
+	}
+
 	/**
 	 * Finds the number of arguments of the current method call. Returns -1 if not a method call. Returns 0 if no arguments else
 	 * returns the number of arguments.
@@ -2631,7 +2684,7 @@ public class TypeInferencingVisitorWithRequestor extends ClassCodeVisitorSupport
 				"Inferencing engine in invalid state after visitor completed.  All stacks should be empty after visit completed.");
 		Assert.isTrue(primaryTypeStack.isEmpty(),
 				"Inferencing engine in invalid state after visitor completed.  All stacks should be empty after visit completed.");
-		Assert.isTrue(dependentDeclarationStack.isEmpty(),
+		Assert.isTrue(dependentDeclarationStack.isEmpty() && dependentDeclaringTypeStack.isEmpty(),
 				"Inferencing engine in invalid state after visitor completed.  All stacks should be empty after visit completed.");
 		Assert.isTrue(dependentTypeStack.isEmpty(),
 				"Inferencing engine in invalid state after visitor completed.  All stacks should be empty after visit completed.");
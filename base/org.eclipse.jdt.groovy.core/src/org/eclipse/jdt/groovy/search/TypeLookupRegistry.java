@@ -17,13 +17,20 @@
 package org.eclipse.jdt.groovy.search;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExecutableExtension;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.Platform;
@@ -31,6 +38,10 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * Manages type lookups
+ * <p>
+ * The lookups that apply to a project are worked out once from the project's natures and kept until the natures of the project
+ * change or the project is closed or deleted. Projects with the same natures share the same {@link LookupFactory}s, which
+ * only go through the extension registry for the first lookup of each kind.
  * 
  * @author Andrew Eisenberg
  * @created Nov 17, 2009
@@ -50,28 +61,127 @@ public class TypeLookupRegistry {
 		return DEFAULT;
 	}
 
+	/**
+	 * Creates the lookups of one contribution. A lookup class that can simply be instantiated is loaded once and then created with
+	 * its default constructor, other lookups are created by the extension registry every time.
+	 */
+	static final class LookupFactory {
+		private final IConfigurationElement config;
+		private volatile Class<? extends ITypeLookup> lookupClass;
+
+		LookupFactory(IConfigurationElement config) {
+			this.config = config;
+		}
+
+		ITypeLookup create() throws CoreException {
+			Class<? extends ITypeLookup> clazz = lookupClass;
+			if (clazz != null) {
+				try {
+					return clazz.newInstance();
+				} catch (InstantiationException e) {
+					Util.log(e, "Problem instantiating lookup " + clazz.getName()); //$NON-NLS-1$
+				} catch (IllegalAccessException e) {
+					Util.log(e, "Problem instantiating lookup " + clazz.getName()); //$NON-NLS-1$
+				}
+				lookupClass = null;
+			}
+			ITypeLookup lookup = (ITypeLookup) config.createExecutableExtension(LOOKUP);
+			if (!(lookup instanceof IExecutableExtension)) {
+				// no initialization data to pass on, so the class is all that is needed next time
+				lookupClass = lookup.getClass();
+			}
+			return lookup;
+		}
+
+		String getLookupName() {
+			return config.getAttribute(LOOKUP);
+		}
+	}
+
 	// maps from project nature to lists of type lookup classes
 	private Map<String, List<IConfigurationElement>> natureLookupMap = new HashMap<String, List<IConfigurationElement>>();
 
+	// project name -> factories for the lookups of the project, in the order of its natures
+	private final Map<String, List<LookupFactory>> projectFactories = new ConcurrentHashMap<String, List<LookupFactory>>();
+
+	// natures of a project, joined in order -> factories for the lookups of those natures
+	private final Map<String, List<LookupFactory>> natureSetFactories = new HashMap<String, List<LookupFactory>>();
+
+	private volatile boolean listening;
+
 	List<ITypeLookup> getLookupsFor(IProject project) throws CoreException {
 		if (!project.exists()) {
 			return new ArrayList<ITypeLookup>(3);
 		}
-		String[] natures = project.getDescription().getNatureIds();
-		List<ITypeLookup> lookups = new ArrayList<ITypeLookup>();
-		for (String nature : natures) {
-			List<IConfigurationElement> configs = natureLookupMap.get(nature);
-			if (configs != null) {
-				for (IConfigurationElement config : configs) {
-					try {
-						lookups.add((ITypeLookup) config.createExecutableExtension(LOOKUP));
-					} catch (CoreException e) {
-						Util.log(e, "Problem creating lookup for type " + config.getAttribute(LOOKUP)); //$NON-NLS-1$
+		List<LookupFactory> factories = getFactories(project);
+		List<ITypeLookup> lookups = new ArrayList<ITypeLookup>(factories.size() + 2);
+		for (LookupFactory factory : factories) {
+			try {
+				lookups.add(factory.create());
+			} catch (CoreException e) {
+				Util.log(e, "Problem creating lookup for type " + factory.getLookupName()); //$NON-NLS-1$
+			}
+		}
+		return lookups;
+	}
+
+	private List<LookupFactory> getFactories(IProject project) throws CoreException {
+		List<LookupFactory> factories = projectFactories.get(project.getName());
+		if (factories == null) {
+			startListening();
+			String[] natures = project.getDescription().getNatureIds();
+			StringBuilder natureSet = new StringBuilder();
+			for (String nature : natures) {
+				natureSet.append(nature).append(',');
+			}
+			synchronized (natureSetFactories) {
+				factories = natureSetFactories.get(natureSet.toString());
+				if (factories == null) {
+					factories = new ArrayList<LookupFactory>();
+					for (String nature : natures) {
+						List<IConfigurationElement> configs = natureLookupMap.get(nature);
+						if (configs != null) {
+							for (IConfigurationElement config : configs) {
+								factories.add(new LookupFactory(config));
+							}
+						}
 					}
+					factories = Collections.unmodifiableList(factories);
+					natureSetFactories.put(natureSet.toString(), factories);
 				}
 			}
+			projectFactories.put(project.getName(), factories);
+		}
+		return factories;
+	}
+
+	/**
+	 * Forgets the lookups of projects whose natures change and of projects that are closed, deleted or renamed
+	 */
+	private void startListening() {
+		if (listening) {
+			return;
+		}
+		synchronized (this) {
+			if (listening) {
+				return;
+			}
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(new IResourceChangeListener() {
+				public void resourceChanged(IResourceChangeEvent event) {
+					IResourceDelta delta = event.getDelta();
+					if (delta == null) {
+						return;
+					}
+					for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+						if (projectDelta.getKind() != IResourceDelta.CHANGED
+								|| (projectDelta.getFlags() & (IResourceDelta.DESCRIPTION | IResourceDelta.OPEN)) != 0) {
+							projectFactories.remove(projectDelta.getResource().getName());
+						}
+					}
+				}
+			}, IResourceChangeEvent.POST_CHANGE);
+			listening = true;
 		}
-		return lookups;
 	}
 
 	private TypeLookupRegistry() {
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     SpringSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.groovy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
+
+/**
+ * Counts what each {@link ITypeLookup} does while expressions are inferred: how often it is asked, how long it takes, how
+ * confident its answers are and how often its answer is the one that is used. Lookups are identified by their class, so the
+ * numbers of all projects and all inferencing visitors are added up.
+ * <p>
+ * Only expressions are counted, not parameters and declarations. Counting is off unless
+ * <code>-Dgreclipse.inference.statistics=true</code> is set or {@link #setEnabled(boolean)} is called.
+ */
+public class TypeLookupStatistics {
+
+	private static boolean enabled = Boolean.valueOf(System.getProperty("greclipse.inference.statistics", "false"));
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		TypeLookupStatistics.enabled = enabled;
+	}
+
+	private static final TypeLookupStatistics instance = new TypeLookupStatistics();
+
+	public static TypeLookupStatistics getInstance() {
+		return instance;
+	}
+
+	/**
+	 * The numbers of one kind of lookup. All counters can be read while they are being updated.
+	 */
+	public static final class LookupStatistics {
+		private final String lookupName;
+		private final AtomicLong calls = new AtomicLong();
+		private final AtomicLong wins = new AtomicLong();
+		private final AtomicLong skips = new AtomicLong();
+		private final AtomicLong nanos = new AtomicLong();
+		// one slot for each confidence, the last slot for no answer
+		private final AtomicLongArray answers = new AtomicLongArray(TypeConfidence.values().length + 1);
+
+		LookupStatistics(String lookupName) {
+			this.lookupName = lookupName;
+		}
+
+		public String getLookupName() {
+			return lookupName;
+		}
+
+		/**
+		 * @return how often the lookup was asked for the type of an expression
+		 */
+		public long getCalls() {
+			return calls.get();
+		}
+
+		/**
+		 * @return how often the answer of the lookup was the one used for an expression
+		 */
+		public long getWins() {
+			return wins.get();
+		}
+
+		/**
+		 * @return how often the lookup was not asked because it had not been useful for that kind of expression
+		 */
+		public long getSkips() {
+			return skips.get();
+		}
+
+		public long getTotalNanos() {
+			return nanos.get();
+		}
+
+		/**
+		 * @return how often the lookup answered with the given confidence
+		 */
+		public long getAnswers(TypeConfidence confidence) {
+			return answers.get(confidence.ordinal());
+		}
+
+		/**
+		 * @return how often the lookup had no answer at all
+		 */
+		public long getNoAnswers() {
+			return answers.get(answers.length() - 1);
+		}
+	}
+
+	private final ConcurrentHashMap<String, LookupStatistics> statistics = new ConcurrentHashMap<String, LookupStatistics>();
+
+	private TypeLookupStatistics() {
+		// singleton
+	}
+
+	public LookupStatistics getStatistics(ITypeLookup lookup) {
+		String name = lookup.getClass().getName();
+		LookupStatistics stats = statistics.get(name);
+		if (stats == null) {
+			stats = new LookupStatistics(name);
+			LookupStatistics existing = statistics.putIfAbsent(name, stats);
+			if (existing != null) {
+				stats = existing;
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * @return the numbers of all lookups that have been counted so far
+	 */
+	public List<LookupStatistics> getAllStatistics() {
+		return new ArrayList<LookupStatistics>(statistics.values());
+	}
+
+	void recordCall(ITypeLookup lookup, long nanos, TypeLookupResult answer) {
+		LookupStatistics stats = getStatistics(lookup);
+		stats.calls.incrementAndGet();
+		stats.nanos.addAndGet(nanos);
+		stats.answers.incrementAndGet(answer == null ? stats.answers.length() - 1 : answer.confidence.ordinal());
+	}
+
+	void recordWin(ITypeLookup lookup) {
+		getStatistics(lookup).wins.incrementAndGet();
+	}
+
+	void recordSkip(ITypeLookup lookup) {
+		getStatistics(lookup).skips.incrementAndGet();
+	}
+
+	public void reset() {
+		statistics.clear();
+	}
+
+	/**
+	 * @return one line per lookup with its calls, wins, skips, time and answers by confidence
+	 */
+	public String dump() {
+		StringBuilder sb = new StringBuilder();
+		for (LookupStatistics stats : getAllStatistics()) {
+			long calls = stats.getCalls();
+			sb.append(stats.getLookupName()).append(": ").append(calls).append(" calls, ").append(stats.getWins())
+					.append(" wins, ").append(stats.getSkips()).append(" skips, ")
+					.append(String.format("%.3fms", stats.getTotalNanos() / 1000000.0)); //$NON-NLS-1$
+			if (calls > 0) {
+				sb.append(String.format(" (%.1fus per call)", stats.getTotalNanos() / 1000.0 / calls)); //$NON-NLS-1$
+			}
+			sb.append(", answers:");
+			for (TypeConfidence confidence : TypeConfidence.values()) {
+				sb.append(' ').append(confidence).append('=').append(stats.getAnswers(confidence));
+			}
+			sb.append(" NONE=").append(stats.getNoAnswers()).append('\n');
+		}
+		return sb.toString();
+	}
+}
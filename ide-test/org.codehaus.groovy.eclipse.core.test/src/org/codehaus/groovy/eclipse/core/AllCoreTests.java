@@ -18,6 +18,7 @@ package org.codehaus.groovy.eclipse.core;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
+import org.codehaus.groovy.eclipse.core.model.RunnableTypesTests;
 import org.codehaus.groovy.eclipse.core.search.SyntheticMemberSearchTests;
 
 public class AllCoreTests {
@@ -28,6 +29,7 @@ public class AllCoreTests {
         suite.addTest(org.codehaus.groovy.eclipse.core.impl.AllTests.suite());
         suite.addTest(org.codehaus.groovy.eclipse.core.util.AllTests.suite());
         suite.addTestSuite(SyntheticMemberSearchTests.class);
+        suite.addTestSuite(RunnableTypesTests.class);
         return suite;
     }
 }
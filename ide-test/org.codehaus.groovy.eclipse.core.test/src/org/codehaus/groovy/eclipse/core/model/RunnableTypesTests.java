@@ -0,0 +1,77 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.core.model;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.codehaus.groovy.eclipse.test.EclipseTestCase;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IType;
+
+/**
+ * Tests that runnable types and scripts are found from the facts recorded in the index, without opening, and so parsing, the
+ * Groovy units
+ */
+public class RunnableTypesTests extends EclipseTestCase {
+
+    private ICompilationUnit script;
+    private ICompilationUnit withMain;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        GroovyRuntime.addGroovyNature(testProject.getProject());
+        GroovyRuntime.addGroovyClasspathContainer(testProject.getJavaProject());
+        script = testProject.createUnit("p", "Script1.groovy", "package p\nprintln 'hello'");
+        withMain = testProject.createUnit("p", "WithMain.groovy", "package p\nclass WithMain {\n  static main(args) { }\n}");
+        testProject.createUnit("p", "InstanceMain.groovy", "package p\nclass InstanceMain {\n  def main(args) { }\n}");
+        testProject.createUnit("p", "Plain.groovy", "package p\nclass Plain {\n  def foo() { }\n}");
+        testProject.createUnit("p", "JavaMain.java", "package p;\npublic class JavaMain {\n  public static void main(String[] args) { }\n}");
+        testProject.waitForIndexer();
+        script.close();
+        withMain.close();
+    }
+
+    public void testFindAllScripts() throws Exception {
+        List<IType> types = testProject.getGroovyProjectFacade().findAllScripts();
+        assertNotParsed(script);
+        assertNotParsed(withMain);
+        assertEquals("[p.Script1]", names(types));
+    }
+
+    public void testFindAllRunnableTypes() throws Exception {
+        List<IType> types = testProject.getGroovyProjectFacade().findAllRunnableTypes();
+        assertNotParsed(script);
+        assertNotParsed(withMain);
+        assertEquals("[p.JavaMain, p.Script1, p.WithMain]", names(types));
+    }
+
+    private static void assertNotParsed(ICompilationUnit unit) {
+        assertFalse(unit.getElementName() + " should have been answered from the index without being opened", unit.isOpen());
+    }
+
+    private static String names(List<IType> types) {
+        Set<String> names = new TreeSet<String>();
+        for (IType type : types) {
+            assertTrue(type + " should exist", type.exists());
+            names.add(type.getFullyQualifiedName());
+        }
+        assertEquals("Duplicate types in " + types, types.size(), names.size());
+        return names.toString();
+    }
+}
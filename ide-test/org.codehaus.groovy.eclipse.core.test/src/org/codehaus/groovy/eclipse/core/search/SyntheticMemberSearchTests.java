@@ -17,6 +17,7 @@ package org.codehaus.groovy.eclipse.core.search;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -125,6 +126,26 @@ public class SyntheticMemberSearchTests extends EclipseTestCase {
         assertNoMatch("run", "isExplicitIsser", contents, matches);
     }
 
+    // several elements searched with one combined pattern
+    public void testSearchInGroovyCombined() throws Exception {
+        String contents =
+                "new p.G().getProp()\n" +
+                        "new p.G().setProp()\n" +
+                        "new p.G().explicitGetter\n" +
+                        "new p.G().getExplicitGetter()\n";
+        testProject.createUnit("", "Script.groovy", contents);
+        SyntheticAccessorSearchRequestor synthRequestor = new SyntheticAccessorSearchRequestor();
+        TestSearchRequestor requestor = new TestSearchRequestor();
+        synthRequestor.findSyntheticMatches(Arrays.asList(findSearchTarget("prop"), findSearchTarget("getExplicitGetter")),
+                requestor, null);
+        List<SearchMatch> matches = requestor.matches;
+        assertNumMatch(3, matches);
+        assertMatch("run", "getProp", contents, matches);
+        assertMatch("run", "setProp", contents, matches);
+        assertMatch("run", "explicitGetter", contents, matches);
+        assertNoMatch("run", "getExplicitGetter", contents, matches);
+    }
+
     public void testSearchInJava1() throws Exception {
         String contents =
                 "class AClass {\n" +
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      SpringSource - Initial implemenation
+ *******************************************************************************/
+package org.codehaus.groovy.eclipse.dsl.tests;
+
+import groovy.lang.Closure;
+import groovy.lang.GroovyShell;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.eclipse.dsl.contributions.DSLContributionGroup;
+import org.codehaus.groovy.eclipse.dsl.contributions.IContributionElement;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.BindingSet;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
+import org.eclipse.jdt.groovy.search.VariableScope;
+
+/**
+ * Evaluates contribution groups directly, without a DSLD script or a project, to check what is memoized
+ */
+public class DSLContributionGroupTests extends TestCase {
+
+    private boolean wasMemoizing;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        wasMemoizing = DSLContributionGroup.isMemoizing();
+        DSLContributionGroup.setMemoizing(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        DSLContributionGroup.setMemoizing(wasMemoizing);
+        super.tearDown();
+    }
+
+    public void testSameKeyIsMemoized() throws Exception {
+        DSLContributionGroup group = createGroup("method name: 'foo', type: 'java.lang.String'");
+        ClassNode bound = ClassHelper.make(List.class);
+
+        List<IContributionElement> first = group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(bound));
+        assertEquals(1, first.size());
+        assertEquals("foo", first.get(0).contributionName());
+        assertSame("Same type, static flag and bindings should give the remembered contributions", first,
+                group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(bound)));
+
+        assertNotSame("Another type", first, group.getContributions(createContext(ClassHelper.Integer_TYPE, false), bind(bound)));
+        assertNotSame("Static", first, group.getContributions(createContext(ClassHelper.STRING_TYPE, true), bind(bound)));
+        assertNotSame("Another bound node", first,
+                group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(ClassHelper.make(List.class))));
+    }
+
+    public void testNotMemoizedWhenMemoizingIsOff() throws Exception {
+        DSLContributionGroup.setMemoizing(false);
+        DSLContributionGroup group = createGroup("method name: 'foo', type: 'java.lang.String'");
+        ClassNode bound = ClassHelper.make(List.class);
+        assertNotSame(group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(bound)),
+                group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(bound)));
+    }
+
+    public void testWormholeIsNeverMemoized() throws Exception {
+        assertNotMemoized("wormhole.put('seen', true); method name: 'foo'", 1);
+    }
+
+    public void testCurrentNodeIsNeverMemoized() throws Exception {
+        assertNotMemoized("if (currentNode == null) method name: 'foo'", 1);
+    }
+
+    public void testEnclosingNodeIsNeverMemoized() throws Exception {
+        assertNotMemoized("if (enclosingNode == null) method name: 'foo'", 1);
+    }
+
+    public void testSetDelegateTypeIsNeverMemoized() throws Exception {
+        assertNotMemoized("setDelegateType(currentType); method name: 'foo'", 2);
+    }
+
+    public void testEvaluatedByTwoThreads() throws Exception {
+        final DSLContributionGroup group = createGroup("method name: currentType.nameWithoutPackage, type: 'java.lang.String'");
+        for (boolean memoizing : new boolean[] { true, false }) {
+            DSLContributionGroup.setMemoizing(memoizing);
+            final AtomicReference<String> failure = new AtomicReference<String>();
+            Thread[] threads = new Thread[2];
+            final ClassNode[] types = { ClassHelper.STRING_TYPE, ClassHelper.Integer_TYPE };
+            for (int i = 0; i < threads.length; i++) {
+                final ClassNode type = types[i];
+                threads[i] = new Thread() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < 500 && failure.get() == null; j++) {
+                            GroovyDSLDContext context = createContext(type, false);
+                            List<IContributionElement> result = group.getContributions(context, new BindingSet());
+                            if (result.size() != 1 || !type.getNameWithoutPackage().equals(result.get(0).contributionName())
+                                    || !type.getName().equals(result.get(0).getDeclaringTypeName())) {
+                                failure.set("Wrong contributions for " + type.getName() + ": " + result);
+                            } else if (context.getCurrentType() != type) {
+                                failure.set("Current type changed for " + type.getName() + ": " + context.getCurrentType());
+                            }
+                        }
+                    }
+                };
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertNull("Memoizing " + memoizing + ": " + failure.get(), failure.get());
+        }
+    }
+
+    private void assertNotMemoized(String closureText, int expectedSize) {
+        DSLContributionGroup group = createGroup(closureText);
+        ClassNode bound = ClassHelper.make(List.class);
+        List<IContributionElement> first = group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(bound));
+        List<IContributionElement> second = group.getContributions(createContext(ClassHelper.STRING_TYPE, false), bind(bound));
+        assertEquals(expectedSize, first.size());
+        assertEquals(expectedSize, second.size());
+        assertNotSame("Contributions that depend on the scope should be evaluated each time", first, second);
+    }
+
+    private static DSLContributionGroup createGroup(String closureText) {
+        Closure<?> closure = (Closure<?>) new GroovyShell().evaluate("return { " + closureText + " }");
+        return new DSLContributionGroup(closure);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static GroovyDSLDContext createContext(ClassNode type, boolean isStatic) {
+        GroovyDSLDContext context = new GroovyDSLDContext(new String[0], "src/p/Foo.groovy", "src");
+        context.setCurrentScope(new VariableScope(null, type, isStatic));
+        context.setTargetType(type);
+        context.setStatic(isStatic);
+        context.resetBinding();
+        return context;
+    }
+
+    private static BindingSet bind(ClassNode bound) {
+        return new BindingSet().addToBinding("b", Collections.singleton(bound));
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      SpringSource - Initial implemenation
+ *******************************************************************************/
+package org.codehaus.groovy.eclipse.dsl.tests;
+
+import groovy.lang.Script;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.eclipse.dsl.DSLDLibraryCache;
+import org.codehaus.groovy.eclipse.dsl.DSLDLibraryCache.ArchiveState;
+import org.eclipse.jdt.core.IJavaProject;
+
+public class DSLDLibraryCacheTests extends TestCase {
+
+    public static class FirstScript extends Script {
+        @Override
+        public Object run() {
+            return null;
+        }
+    }
+
+    public static class SecondScript extends Script {
+        @Override
+        public Object run() {
+            return null;
+        }
+    }
+
+    private final DSLDLibraryCache cache = new DSLDLibraryCache();
+
+    private File archive;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        archive = File.createTempFile("dsld", ".jar");
+        write(archive, 10);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        archive.delete();
+        super.tearDown();
+    }
+
+    public void testHit() throws Exception {
+        ArchiveState state = DSLDLibraryCache.getArchiveState(archive);
+        cache.setHasDSLDs(state, true);
+        cache.putScript(state, "dsld/first.dsld", scriptClass(FirstScript.class));
+
+        // the same version of the archive, looked at again
+        ArchiveState again = DSLDLibraryCache.getArchiveState(archive);
+        assertEquals(Boolean.TRUE, cache.hasDSLDs(again));
+        assertSame(FirstScript.class, cache.getScript(again, "dsld/first.dsld"));
+    }
+
+    public void testMiss() throws Exception {
+        ArchiveState state = DSLDLibraryCache.getArchiveState(archive);
+        assertNull("Nothing is known about a new archive", cache.hasDSLDs(state));
+        assertNull(cache.getScript(state, "dsld/first.dsld"));
+
+        cache.putScript(state, "dsld/first.dsld", scriptClass(FirstScript.class));
+        assertNull("Only the compiled script is known", cache.getScript(state, "dsld/second.dsld"));
+        assertNull(cache.hasDSLDs(state));
+    }
+
+    public void testEvictionOfOldVersion() throws Exception {
+        ArchiveState oldState = DSLDLibraryCache.getArchiveState(archive);
+        cache.setHasDSLDs(oldState, true);
+        cache.putScript(oldState, "dsld/first.dsld", scriptClass(FirstScript.class));
+
+        // a new version of the archive, with another size and time stamp
+        write(archive, 20);
+        archive.setLastModified(archive.lastModified() + 10000);
+        ArchiveState newState = DSLDLibraryCache.getArchiveState(archive);
+        assertFalse(oldState.equals(newState));
+
+        assertNull(cache.hasDSLDs(newState));
+        assertNull(cache.getScript(newState, "dsld/first.dsld"));
+        assertNull("The old version should have been evicted", cache.getScript(oldState, "dsld/first.dsld"));
+
+        cache.putScript(newState, "dsld/first.dsld", scriptClass(SecondScript.class));
+        assertSame(SecondScript.class, cache.getScript(newState, "dsld/first.dsld"));
+    }
+
+    public void testClear() throws Exception {
+        ArchiveState state = DSLDLibraryCache.getArchiveState(archive);
+        cache.setHasDSLDs(state, false);
+        cache.clear();
+        assertNull(cache.hasDSLDs(state));
+    }
+
+    public void testRetainArchivesOfNoProject() throws Exception {
+        ArchiveState state = DSLDLibraryCache.getArchiveState(archive);
+        cache.setHasDSLDs(state, true);
+        cache.retainArchivesOf(Collections.<IJavaProject>emptyList());
+        assertNull("An archive no project uses should have been dropped", cache.hasDSLDs(state));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Script> scriptClass(Class<? extends Script> clazz) {
+        return (Class<Script>) (Class<?>) clazz;
+    }
+
+    private static void write(File file, int length) throws Exception {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[length]);
+        } finally {
+            out.close();
+        }
+    }
+}
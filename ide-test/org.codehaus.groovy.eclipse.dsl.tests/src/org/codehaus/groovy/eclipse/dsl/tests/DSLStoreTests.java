@@ -10,18 +10,40 @@
  *******************************************************************************/
 package org.codehaus.groovy.eclipse.dsl.tests;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
 import org.codehaus.groovy.eclipse.dsl.DSLDStore;
+import org.codehaus.groovy.eclipse.dsl.DSLDStoreManager;
+import org.codehaus.groovy.eclipse.dsl.DSLDStoreSnapshots;
 import org.codehaus.groovy.eclipse.dsl.DSLPreferences;
+import org.codehaus.groovy.eclipse.dsl.GroovyDSLCoreActivator;
+import org.codehaus.groovy.eclipse.dsl.RefreshDSLDJob;
+import org.codehaus.groovy.eclipse.dsl.lookup.DSLDTypeLookup;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.IPointcut;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.CurrentTypePointcut;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.FindFieldPointcut;
+import org.codehaus.groovy.eclipse.dsl.script.DSLDScriptExecutor;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 
 /**
  * 
@@ -241,6 +263,106 @@ public class DSLStoreTests extends AbstractDSLInferencingTest {
 
     }
     
+    // a changed script is re-registered without touching the pointcuts of the other scripts
+    @SuppressWarnings("deprecation")
+    public void testChangeOnlyUpdatesChangedScript() throws Exception {
+        new RefreshDSLDJob(project).run(null);
+        createDsls("currentType().accept { }", "fields().accept { }");
+        DSLDStore store = GroovyDSLCoreActivator.getDefault().getContextStoreManager().getDSLDStore(project);
+        IFile dsl0 = project.getFile("dsl0.dsld");
+        IFile dsl1 = project.getFile("dsl1.dsld");
+        assertTrue(store.hasIdentifier(dsl0));
+        assertTrue(store.hasIdentifier(dsl1));
+        Set<IPointcut> unchanged = new HashSet<IPointcut>(getPointcuts(store, dsl0));
+
+        // overwrite the second script only
+        createDsls(1, "fields().accept { }\nmethods().accept { }");
+        assertEquals(unchanged.size(), getPointcuts(store, dsl0).size());
+        for (IPointcut pointcut : getPointcuts(store, dsl0)) {
+            assertTrue("Pointcut of unchanged script was recreated: " + pointcut, containsSame(unchanged, pointcut));
+        }
+        assertEquals(2, getPointcuts(store, dsl1).size());
+
+        // and removed without touching the first one
+        deleteDslFile(1);
+        assertFalse(store.hasIdentifier(dsl1));
+        assertEquals(unchanged.size(), getPointcuts(store, dsl0).size());
+    }
+
+    public void testSnapshotRestoresUnchangedScript() throws Exception {
+        createDsls("currentType().accept { }");
+        new RefreshDSLDJob(project).run(null);
+        IFile dsl0 = project.getFile("dsl0.dsld");
+        String identity = DSLDStoreSnapshots.getIdentity(dsl0);
+        String contents = new DSLDScriptExecutor(JavaCore.create(project)).getContents(dsl0);
+
+        // forget what is in memory, so that the snapshot is read from disk again
+        DSLDStoreSnapshots snapshots = GroovyDSLCoreActivator.getDefault().getStoreSnapshots();
+        snapshots.clear();
+        assertNotNull("Script should be restored from the snapshot", snapshots.getScript(project, identity, DSLDStoreSnapshots.hash(contents)));
+        assertNull("Changed script should not be restored", snapshots.getScript(project, identity, DSLDStoreSnapshots.hash(contents + "\n")));
+
+        // restored scripts register the same pointcuts
+        new RefreshDSLDJob(project).run(null);
+        DSLDStore store = GroovyDSLCoreActivator.getDefault().getContextStoreManager().getDSLDStore(project);
+        assertEquals(1, getPointcuts(store, dsl0).size());
+    }
+
+    public void testSnapshotDeletedWhenProjectCloses() throws Exception {
+        createDsls("currentType().accept { }");
+        new RefreshDSLDJob(project).run(null);
+        assertTrue("Snapshot should have been written", getSnapshotFile(project.getName()).isFile());
+
+        project.close(null);
+        try {
+            assertFalse("Snapshot of a closed project should be deleted", getSnapshotFile(project.getName()).exists());
+        } finally {
+            project.open(null);
+        }
+    }
+
+    public void testSnapshotOfOtherProjectIgnored() throws Exception {
+        createDsls("currentType().accept { }");
+        new RefreshDSLDJob(project).run(null);
+        IFile dsl0 = project.getFile("dsl0.dsld");
+        String identity = DSLDStoreSnapshots.getIdentity(dsl0);
+        String hash = DSLDStoreSnapshots.hash(new DSLDScriptExecutor(JavaCore.create(project)).getContents(dsl0));
+
+        // a project elsewhere that finds the snapshot of this one under its name, as if it took over the name
+        IProject other = ResourcesPlugin.getWorkspace().getRoot().getProject("SnapshotOther");
+        other.create(null);
+        other.open(null);
+        try {
+            EFS.getLocalFileSystem().fromLocalFile(getSnapshotFile(project.getName())).copy(
+                    EFS.getLocalFileSystem().fromLocalFile(getSnapshotFile(other.getName())), EFS.OVERWRITE, null);
+            DSLDStoreSnapshots snapshots = GroovyDSLCoreActivator.getDefault().getStoreSnapshots();
+            snapshots.clear();
+            assertNull("Snapshot of another project should be ignored", snapshots.getScript(other, identity, hash));
+            assertNotNull("Snapshot of the project itself should still be used", snapshots.getScript(project, identity, hash));
+        } finally {
+            other.delete(true, null);
+        }
+        assertFalse("Snapshot of a deleted project should be deleted", getSnapshotFile(other.getName()).exists());
+    }
+
+    private File getSnapshotFile(String projectName) {
+        return GroovyDSLCoreActivator.getDefault().getStateLocation().append("snapshots").append(projectName + ".dsldsnapshot").toFile();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<IPointcut> getPointcuts(DSLDStore store, IStorage key) {
+        return ((Map<IStorage, Set<IPointcut>>) ReflectionUtils.getPrivateField(DSLDStore.class, "keyContextMap", store)).get(key);
+    }
+
+    private boolean containsSame(Set<IPointcut> pointcuts, IPointcut pointcut) {
+        for (IPointcut p : pointcuts) {
+            if (p == pointcut) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void testDisabledOfFile() throws Exception {
         createDsls("currentType().accept { }", "fields().accept { }");
         assertDSLStore(2, 
@@ -331,4 +453,55 @@ public class DSLStoreTests extends AbstractDSLInferencingTest {
                         new Integer[] { }));
 
     }
+
+    public void testReconcileAfterInferringBeforeStoreIsReady() throws Exception {
+        createDsls("contribute(currentType('java.lang.String')) { property name: 'tooEarly', type: 'java.lang.Integer' }");
+        final DSLDStoreManager manager = GroovyDSLCoreActivator.getDefault().getContextStoreManager();
+        // forget the store, so that the next inference has to initialize it
+        manager.clearDSLDStore(project);
+
+        String contents = "'abc'.tooEarly";
+        final int start = contents.indexOf("tooEarly");
+        final int end = start + "tooEarly".length();
+        final GroovyCompilationUnit unit = createUnit("Search", contents);
+        unit.becomeWorkingCopy(null);
+
+        // what inference finds each time the working copy is reconciled
+        final List<String> reconciled = Collections.synchronizedList(new ArrayList<String>());
+        IElementChangedListener listener = new IElementChangedListener() {
+            public void elementChanged(ElementChangedEvent event) {
+                if (event.getDelta().getElement().equals(unit)) {
+                    String problem = checkType(unit, start, end, "java.lang.Integer", null, false, false);
+                    reconciled.add(problem == null ? "ok" : problem);
+                }
+            }
+        };
+        boolean wasInBackground = DSLDTypeLookup.isInitializingInBackground();
+        JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_RECONCILE);
+        try {
+            DSLDTypeLookup.setInitializeInBackground(true);
+            // keep the refresh job from running until the file has been inferred
+            Job.getJobManager().suspend();
+            try {
+                assertNotNull("Should have been inferred without the DSLD contributions",
+                        checkType(unit, start, end, "java.lang.Integer", null, false, false));
+                // the editor has unsaved changes
+                unit.getBuffer().append("\n");
+            } finally {
+                Job.getJobManager().resume();
+            }
+
+            long timeout = System.currentTimeMillis() + 30000;
+            while (reconciled.isEmpty() && System.currentTimeMillis() < timeout) {
+                Thread.sleep(50);
+            }
+            assertFalse("Working copy should have been reconciled again", reconciled.isEmpty());
+            assertEquals("Reconcile should have seen the DSLD contributions", "ok", reconciled.get(reconciled.size() - 1));
+            assertTrue(manager.hasDSLDStoreFor(project));
+        } finally {
+            JavaCore.removeElementChangedListener(listener);
+            DSLDTypeLookup.setInitializeInBackground(wasInBackground);
+            unit.discardWorkingCopy();
+        }
+    }
 }
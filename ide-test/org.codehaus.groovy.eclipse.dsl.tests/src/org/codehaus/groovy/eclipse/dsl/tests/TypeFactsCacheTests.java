@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      SpringSource - Initial implemenation
+ *******************************************************************************/
+package org.codehaus.groovy.eclipse.dsl.tests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.eclipse.dsl.lookup.TypeFactsCache;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.impl.FindMethodPointcut;
+
+public class TypeFactsCacheTests extends TestCase {
+
+    private final TypeFactsCache cache = new TypeFactsCache();
+
+    public void testSupertypes() throws Exception {
+        ClassNode type = ClassHelper.make(ArrayList.class);
+        Set<String> names = supertypeNames(type);
+        assertTrue(names.contains("java.util.ArrayList"));
+        assertTrue(names.contains("java.util.AbstractList"));
+        assertTrue(names.contains("java.util.List"));
+        assertTrue(names.contains("java.util.Collection"));
+        assertTrue(names.contains("java.lang.Object"));
+        assertFalse(names.contains("java.util.Map"));
+        assertSame(cache.getSupertypes(type), cache.getSupertypes(type));
+
+        // each context has its own cache
+        assertNotSame(cache.getSupertypes(type), new TypeFactsCache().getSupertypes(type));
+    }
+
+    public void testMethodsByName() throws Exception {
+        ClassNode type = ClassHelper.make(ArrayList.class);
+        int count = 0;
+        for (MethodNode method : type.getMethods()) {
+            if (method.getName().equals("add")) {
+                count++;
+            }
+        }
+        assertTrue(count > 0);
+        assertEquals(count, cache.getMethods(type, "add").size());
+        assertEquals(0, cache.getMethods(type, "nothing").size());
+        assertEquals(type.getMethods().size(), cache.getMethods(type).size());
+    }
+
+    @SuppressWarnings({ "unchecked", "deprecation" })
+    public void testFindMethodReturnsCopy() throws Exception {
+        GroovyDSLDContext context = new GroovyDSLDContext(new String[0], null, null);
+        FindMethodPointcut pointcut = new FindMethodPointcut(null, "methods");
+        pointcut.addArgument("add");
+        ClassNode type = ClassHelper.make(ArrayList.class);
+        int count = context.getTypeFacts().getMethods(type, "add").size();
+
+        Collection<MethodNode> matches = (Collection<MethodNode>) pointcut.matches(context, type);
+        assertEquals(count, matches.size());
+        // callers may change what they get without changing the cached facts
+        matches.clear();
+        assertEquals(count, context.getTypeFacts().getMethods(type, "add").size());
+        assertEquals(count, pointcut.matches(context, type).size());
+    }
+
+    public void testSameNameDifferentNodes() throws Exception {
+        // nodes with the same name are equal, but may be different versions of a type
+        ClassNode first = ClassHelper.makeWithoutCaching("p.Foo");
+        ClassNode second = ClassHelper.makeWithoutCaching("p.Foo");
+        second.setSuperClass(ClassHelper.make(ArrayList.class));
+        assertFalse(supertypeNames(first).contains("java.util.ArrayList"));
+        assertTrue(supertypeNames(second).contains("java.util.ArrayList"));
+    }
+
+    private Set<String> supertypeNames(ClassNode type) {
+        Set<String> names = new HashSet<String>();
+        for (ClassNode supertype : cache.getSupertypes(type)) {
+            names.add(supertype.getName());
+        }
+        return names;
+    }
+}
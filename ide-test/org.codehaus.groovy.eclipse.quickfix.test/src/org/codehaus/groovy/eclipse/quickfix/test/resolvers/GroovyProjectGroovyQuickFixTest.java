@@ -16,23 +16,30 @@
 
 package org.codehaus.groovy.eclipse.quickfix.test.resolvers;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.codehaus.groovy.eclipse.core.model.GroovyRuntime;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddClassCastResolver;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddGroovyRuntimeResolver;
+import org.codehaus.groovy.eclipse.quickfix.proposals.AddMissingGroovyImportsInProject;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddMissingGroovyImportsResolver;
 import org.codehaus.groovy.eclipse.quickfix.proposals.IQuickFixResolver;
 import org.codehaus.groovy.eclipse.quickfix.proposals.ProblemType;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddClassCastResolver.AddClassCastProposal;
 import org.codehaus.groovy.eclipse.quickfix.proposals.AddMissingGroovyImportsResolver.AddMissingImportProposal;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.groovy.core.GroovyProblemIds;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
 
 /**
@@ -466,4 +473,52 @@ public class GroovyProjectGroovyQuickFixTest extends
 				+ expectedQuickFixDisplay, expectedQuickFixDisplay,
 				proposal.getDisplayString());
 	}
+
+	public void testMissingImportProblemId() throws Exception {
+		ICompilationUnit unit = createGroovyTypeInTestPackage(
+				"BarProblemId.groovy",
+				"class BarProblemId { DoesNotExistTopLevelType field }");
+
+		boolean found = false;
+		for (IMarker marker : getCompilationUnitJDTFailureMarkers(unit)) {
+			if (((Integer) marker.getAttribute("id")).intValue() == GroovyProblemIds.UNRESOLVED_CLASS) {
+				found = true;
+			}
+		}
+		assertTrue("Expected a problem with the unresolved class id", found);
+	}
+
+	/**
+	 * Tests that the missing imports of several units are added at once, and
+	 * that names with more than one candidate type are left alone.
+	 * 
+	 * @throws Exception
+	 */
+	public void testAddMissingImportsInProject() throws Exception {
+		createGroovyType(testProject.createPackage("com.test.other"),
+				"UniqueType.groovy", "class UniqueType { }");
+		ICompilationUnit first = createGroovyTypeInTestPackage(
+				"BarInProject1.groovy",
+				"class BarInProject1 { UniqueType field }");
+		ICompilationUnit second = createGroovyTypeInTestPackage(
+				"BarInProject2.groovy",
+				"class BarInProject2 extends UniqueType { TopLevelType ambiguous }");
+
+		AddMissingGroovyImportsInProject operation = new AddMissingGroovyImportsInProject(
+				testProject.getJavaProject());
+		Map<GroovyCompilationUnit, Set<String>> names = operation
+				.findUnresolvedNames();
+		assertEquals("Unresolved names of " + first.getElementName(),
+				Collections.singleton("UniqueType"), names.get(first));
+		assertEquals("Unresolved names of " + second.getElementName(),
+				new HashSet<String>(Arrays.asList("UniqueType", "TopLevelType")),
+				names.get(second));
+
+		assertEquals("Imports added", 2, operation.run(null));
+
+		String import_ = "import com.test.other.UniqueType";
+		assertTrue(first.getSource(), first.getSource().contains(import_));
+		assertTrue(second.getSource(), second.getSource().contains(import_));
+		assertFalse(second.getSource(), second.getSource().contains("TopLevelType;"));
+	}
 }
@@ -139,7 +139,10 @@ public class GroovyProjectQuickFixHarness extends GroovyProjectTestCase {
 		List<IJavaCompletionProposal> proposals = resolver.getQuickFixProposals();
 		Map<String, IJavaCompletionProposal> proposalsMap = new HashMap<String, IJavaCompletionProposal>();
 		for (IJavaCompletionProposal proposal : proposals) {
-			proposalsMap.put(proposal.getDisplayString(), proposal);
+			// leave out the proposal to fix the whole project
+			if (proposal instanceof AddMissingImportProposal) {
+				proposalsMap.put(proposal.getDisplayString(), proposal);
+			}
 		}
 
 		// The number of expected quick fixes must match the number of proposals
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.refactoring.test.formatter;
+
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.eclipse.refactoring.formatter.DefaultGroovyFormatter;
+import org.codehaus.groovy.eclipse.refactoring.formatter.FormatterPreferencesOnStore;
+import org.codehaus.groovy.eclipse.refactoring.formatter.MinimalTextEdits;
+import org.codehaus.groovy.eclipse.refactoring.test.TestPrefInitializer;
+import org.eclipse.jdt.core.groovy.tests.benchmarks.Benchmark;
+import org.eclipse.jdt.core.groovy.tests.benchmarks.BenchmarkRunner;
+import org.eclipse.jdt.core.groovy.tests.benchmarks.Corpora;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.TextSelection;
+
+/**
+ * Throughput of formatting a large class, and of {@link MinimalTextEdits} alone on a large formatted result. The class is
+ * generated without indentation, so that most of its lines change. Not part of any suite, run it by hand.
+ */
+public class FormatterBenchmarks extends TestCase {
+
+    private static final int LINES = 5000;
+
+    private final BenchmarkRunner runner = new BenchmarkRunner();
+
+    private String original;
+    private IPreferenceStore pref;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        original = Corpora.largeClass("Formatted", LINES).replaceAll("(?m)^ +", "");
+        pref = TestPrefInitializer.initializePreferences(new HashMap<String, String>(), null);
+    }
+
+    private String format(String contents, boolean indentOnly) throws Exception {
+        Document document = new Document(contents);
+        new DefaultGroovyFormatter(new TextSelection(0, 0), document, new FormatterPreferencesOnStore(pref), indentOnly).format()
+                .apply(document);
+        return document.get();
+    }
+
+    public void testFormat() throws Exception {
+        runner.run(new Benchmark("format a class of " + LINES + " lines") {
+            @Override
+            protected Object runOnce() throws Exception {
+                return format(original, false);
+            }
+        });
+    }
+
+    public void testIndent() throws Exception {
+        runner.run(new Benchmark("indent a class of " + LINES + " lines") {
+            @Override
+            protected Object runOnce() throws Exception {
+                return format(original, true);
+            }
+        });
+    }
+
+    public void testMinimalTextEdits() throws Exception {
+        final String formatted = format(original, false);
+        runner.run(new Benchmark("minimal edits of a class of " + LINES + " lines") {
+            @Override
+            protected Object runOnce() throws Exception {
+                return MinimalTextEdits.compute(original, formatted);
+            }
+        });
+    }
+}
@@ -28,6 +28,8 @@ import org.codehaus.groovy.eclipse.refactoring.test.BaseTestCase;
 import org.codehaus.groovy.eclipse.refactoring.test.TestPrefInitializer;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.text.edits.MalformedTreeException;
 
 
@@ -67,16 +69,23 @@ public class FormatterTestCase extends BaseTestCase {
             }
         }
 
+        // the same source, formatted with a new parse after the beautifier instead of moving the nodes it parsed before
+        IDocument reparsed = new Document(getDocument().get());
         DefaultGroovyFormatter formatter = new DefaultGroovyFormatter(selection, getDocument(), new FormatterPreferencesOnStore(
                 pref), indentendOnly);
+        DefaultGroovyFormatter reparsingFormatter = new DefaultGroovyFormatter(selection, reparsed, new FormatterPreferencesOnStore(
+                pref), indentendOnly);
+        reparsingFormatter.setReuseAST(false);
         try {
             formatter.format().apply(getDocument());
+            reparsingFormatter.format().apply(reparsed);
         } catch (MalformedTreeException e) {
             e.printStackTrace();
         } catch (BadLocationException e) {
             e.printStackTrace();
         }
         finalAssert();
+        assertEquals("Moving the nodes should format like parsing again in File: " + file + " ", reparsed.get(), getDocument().get());
     }
 
     @Override
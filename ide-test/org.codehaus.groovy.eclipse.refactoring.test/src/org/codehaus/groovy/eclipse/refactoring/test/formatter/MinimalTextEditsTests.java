@@ -0,0 +1,71 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.groovy.eclipse.refactoring.test.formatter;
+
+import junit.framework.TestCase;
+
+import org.codehaus.groovy.eclipse.refactoring.formatter.MinimalTextEdits;
+import org.eclipse.jface.text.Document;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Tests that the edits returned by the formatter only touch what changed
+ */
+public class MinimalTextEditsTests extends TestCase {
+
+    private MultiTextEdit assertEdits(String original, String modified) throws Exception {
+        MultiTextEdit edits = MinimalTextEdits.compute(original, modified);
+        Document doc = new Document(original);
+        edits.apply(doc);
+        assertEquals(modified, doc.get());
+        return edits;
+    }
+
+    public void testSame() throws Exception {
+        assertFalse(assertEdits("class A {\n  def x\n}\n", "class A {\n  def x\n}\n").hasChildren());
+    }
+
+    public void testIndentation() throws Exception {
+        MultiTextEdit edits = assertEdits("class A {\ndef x\ndef y\n}\n", "class A {\n    def x\n    def y\n}\n");
+        assertEquals(2, edits.getChildrenSize());
+        for (TextEdit edit : edits.getChildren()) {
+            assertEquals(0, edit.getLength());
+        }
+    }
+
+    public void testSemicolonsAndBraces() throws Exception {
+        MultiTextEdit edits = assertEdits("def foo(){\n  bar();\n  baz();\n}\n", "def foo() {\n    bar()\n    baz()\n}\n");
+        assertEquals(4, edits.getChildrenSize());
+    }
+
+    public void testWhitespaceOnly() throws Exception {
+        String original = "def foo()\n{\nbar()\n}\n";
+        assertTrue(MinimalTextEdits.isWhitespaceOnly(original, assertEdits(original, "def foo() {\n    bar()\n}\n")));
+        assertTrue(MinimalTextEdits.isWhitespaceOnly(original, assertEdits(original, original)));
+    }
+
+    public void testNotWhitespaceOnly() throws Exception {
+        String original = "def foo() {\n  bar();\n}\n";
+        assertFalse(MinimalTextEdits.isWhitespaceOnly(original, assertEdits(original, "def foo() {\n    bar()\n}\n")));
+        assertFalse(MinimalTextEdits.isWhitespaceOnly(original, assertEdits(original, "def foo() {\n  baz();\n}\n")));
+    }
+
+    public void testCompletelyDifferent() throws Exception {
+        assertEdits("abc def", "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16 17 18 19 20 21 22 23 24 25 26 27 28 29 30 31 32 33 34 35");
+    }
+}
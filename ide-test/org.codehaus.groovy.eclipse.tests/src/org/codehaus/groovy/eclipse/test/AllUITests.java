@@ -37,6 +37,7 @@ import org.codehaus.groovy.eclipse.test.ui.GroovyAutoIndenterTests;
 import org.codehaus.groovy.eclipse.test.ui.GroovyAutoIndenterTests2;
 import org.codehaus.groovy.eclipse.test.ui.GroovyTagScannerTests;
 import org.codehaus.groovy.eclipse.test.ui.HighlightingExtenderTests;
+import org.codehaus.groovy.eclipse.test.ui.TypeLookupExtenderTests;
 import org.codehaus.groovy.eclipse.test.wizards.NewGroovyTestCaseWizardTest;
 import org.codehaus.groovy.eclipse.test.wizards.NewGroovyTypeWizardTest;
 import org.codehaus.groovy.eclipse.ui.search.FindOccurrencesTests;
@@ -65,6 +66,7 @@ public class AllUITests {
 		suite.addTestSuite(ConvertToJavaOrGroovyActionTest.class);
 		suite.addTestSuite(ConsoleLineTrackerTests.class);
 		suite.addTestSuite(HighlightingExtenderTests.class);
+		suite.addTestSuite(TypeLookupExtenderTests.class);
 		suite.addTestSuite(BracketInserterTests.class);
 		suite.addTestSuite(NewGroovyTypeWizardTest.class);
         suite.addTestSuite(NewGroovyTestCaseWizardTest.class);
@@ -21,6 +21,7 @@ import java.util.Map;
 
 import org.codehaus.groovy.eclipse.launchers.GroovyConsoleLineTracker;
 import org.codehaus.groovy.eclipse.launchers.GroovyConsoleLineTracker.AmbiguousFileLink;
+import org.codehaus.groovy.eclipse.launchers.GroovyConsoleLineTracker.LazyFileLink;
 import org.codehaus.groovy.eclipse.test.EclipseTestCase;
 import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IFile;
@@ -59,6 +60,12 @@ public class ConsoleLineTrackerTests extends EclipseTestCase {
         lineTracker.init(console);
         testProject.addNature(GroovyNature.GROOVY_NATURE);
     }
+
+    @Override
+    protected void tearDown() throws Exception {
+        lineTracker.dispose();
+        super.tearDown();
+    }
     
     public void testNoLink() throws Exception {
         testProject.createGroovyTypeAndPackage("f", "Bar.groovy", "");
@@ -73,11 +80,35 @@ public class ConsoleLineTrackerTests extends EclipseTestCase {
         doc.set(contents);
         lineTracker.lineAppended(new Region(0, contents.length()));
         assertNotNull("Should have found a hyperlink", console.getLastLink());
-        FileLink link = (FileLink) console.getLastLink();
+        FileLink link = (FileLink) ((LazyFileLink) console.getLastLink()).getFileLink();
         IFile file = (IFile) ReflectionUtils.getPrivateField(FileLink.class, "fFile", link);
         assertTrue("File should exist", file.isAccessible());
         assertEquals("File name is wrong", "Bar.groovy", file.getName());
     }
+    public void testLinkToMissingFile() throws Exception {
+        String contents = "at f.Baz.run(Baz.groovy:2)";
+        doc.set(contents);
+        lineTracker.lineAppended(new Region(0, contents.length()));
+        assertNotNull("Should have added a hyperlink", console.getLastLink());
+        assertNull("Should not have found the file", ((LazyFileLink) console.getLastLink()).getFileLink());
+    }
+    public void testLinkToAddedFile() throws Exception {
+        testProject.createGroovyTypeAndPackage("f", "Bar.groovy", "");
+        String contents = "at f.Bar.run(Bar.groovy:2)";
+        doc.set(contents);
+        lineTracker.lineAppended(new Region(0, contents.length()));
+        assertNotNull("Should have found the file", ((LazyFileLink) console.getLastLink()).getFileLink());
+
+        // the index is built now and must see the new file
+        testProject.createGroovyTypeAndPackage("g", "Baz.groovy", "");
+        contents = "at g.Baz.run(Baz.groovy:3)";
+        doc.set(contents);
+        lineTracker.lineAppended(new Region(0, contents.length()));
+        FileLink link = (FileLink) ((LazyFileLink) console.getLastLink()).getFileLink();
+        assertNotNull("Should have found the added file", link);
+        IFile file = (IFile) ReflectionUtils.getPrivateField(FileLink.class, "fFile", link);
+        assertEquals("File path is wrong", "g/Baz.groovy", file.getProjectRelativePath().removeFirstSegments(1).toPortableString());
+    }
     public void testAmbiguousLink() throws Exception {
         testProject.createGroovyTypeAndPackage("f", "Bar.groovy", "");
         testProject.createOtherSourceFolder();
@@ -88,7 +119,7 @@ public class ConsoleLineTrackerTests extends EclipseTestCase {
         doc.set(contents);
         lineTracker.lineAppended(new Region(0, contents.length()));
         assertNotNull("Should have found a hyperlink", console.getLastLink());
-        FileLink link = (FileLink) console.getLastLink();
+        FileLink link = (FileLink) ((LazyFileLink) console.getLastLink()).getFileLink();
         Object file = ReflectionUtils.getPrivateField(FileLink.class, "fFile", link);
         assertNull("File should be null since the selection is ambiguous", file);
         
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.groovy.eclipse.test.ui;
+
+import javax.swing.text.html.HTML;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.eclipse.test.EclipseTestCase;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.groovy.search.ITypeRequestor;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorFactory;
+import org.eclipse.jdt.groovy.search.TypeInferencingVisitorWithRequestor;
+import org.eclipse.jdt.groovy.search.TypeLookupResult;
+
+/**
+ * The type lookups of a project are remembered until its natures change. The test lookup,
+ * {@link org.codehaus.groovy.eclipse.tests.TestTypeLookup}, applies to the test natures and says that every expression is
+ * an {@link HTML}.
+ */
+public class TypeLookupExtenderTests extends EclipseTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        testProject.addNature(GroovyNature.GROOVY_NATURE);
+    }
+
+    public void testLookupsFollowAddedNature() throws Exception {
+        GroovyCompilationUnit unit = createUnit();
+        assertFalse("No test nature yet", HTML.class.getName().equals(inferTypeOfXxx(unit)));
+
+        testProject.addNature(Extender1.NATURE1);
+        assertEquals("The lookups of the added nature should be used", HTML.class.getName(), inferTypeOfXxx(unit));
+    }
+
+    public void testLookupsFollowRemovedNature() throws Exception {
+        testProject.addNature(Extender1.NATURE1);
+        GroovyCompilationUnit unit = createUnit();
+        assertEquals(HTML.class.getName(), inferTypeOfXxx(unit));
+
+        testProject.removeNature(Extender1.NATURE1);
+        assertFalse("The lookups of the removed nature should no longer be used", HTML.class.getName().equals(inferTypeOfXxx(unit)));
+    }
+
+    private GroovyCompilationUnit createUnit() throws Exception {
+        IFile file = testProject.createGroovyTypeAndPackage("", "Script.groovy", "xxx");
+        return (GroovyCompilationUnit) JavaCore.createCompilationUnitFrom(file);
+    }
+
+    private String inferTypeOfXxx(GroovyCompilationUnit unit) {
+        return inferTypeOfXxx(new TypeInferencingVisitorFactory().createVisitor(unit));
+    }
+
+    private String inferTypeOfXxx(TypeInferencingVisitorWithRequestor visitor) {
+        final String[] type = new String[1];
+        visitor.visitCompilationUnit(new ITypeRequestor() {
+            public VisitStatus acceptASTNode(ASTNode node, TypeLookupResult result, IJavaElement enclosingElement) {
+                if (node instanceof VariableExpression && ((VariableExpression) node).getName().equals("xxx")) {
+                    type[0] = result.type.getName();
+                    return VisitStatus.STOP_VISIT;
+                }
+                return VisitStatus.CONTINUE;
+            }
+        });
+        assertNotNull("Should have found xxx", type[0]);
+        return type[0];
+    }
+}
@@ -53,6 +53,7 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.codeassist.CompletionEngine;
 import org.eclipse.jdt.internal.codeassist.ISearchRequestor;
 import org.eclipse.jdt.internal.codeassist.RelevanceConstants;
@@ -82,6 +83,8 @@ import org.eclipse.jface.text.contentassist.ICompletionProposal;
 public class GroovyProposalTypeSearchRequestor implements ISearchRequestor,
         RelevanceConstants {
 
+    private static final FieldAccessor IMPORT_REWRITE = ReflectionUtils.getFieldAccessor(LazyJavaTypeCompletionProposal.class, "fImportRewrite");
+
     private static final char[][] DEFAULT_GROOVY_IMPORTS = { "java.math.BigDecimal".toCharArray(), "java.math.BigInteger".toCharArray() };
     private static final char[][] DEFAULT_GROOVY_IMPORTS_SIMPLE_NAMES = { "BigDecimal".toCharArray(), "BigInteger".toCharArray() };
     private static final char[][] DEFAULT_GROOVY_ON_DEMAND_IMPORTS = { "java.io".toCharArray(), "java.net".toCharArray(), "java.util".toCharArray(), "groovy.lang".toCharArray(), "groovy.util".toCharArray() };
@@ -569,9 +572,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor,
         javaCompletionProposal.setRelevance(proposal.getRelevance());
 		ImportRewrite r = groovyRewriter.getImportRewrite(monitor);
         if (r != null) {
-            ReflectionUtils.setPrivateField(
-                    LazyJavaTypeCompletionProposal.class, "fImportRewrite",
-                    javaCompletionProposal, r);
+            IMPORT_REWRITE.set(javaCompletionProposal, r);
         }
         return javaCompletionProposal;
     }
@@ -872,7 +873,7 @@ public class GroovyProposalTypeSearchRequestor implements ISearchRequestor,
         }
 		ImportRewrite r = groovyRewriter.getImportRewrite(monitor);
         if (r != null) {
-            ReflectionUtils.setPrivateField(LazyJavaTypeCompletionProposal.class, "fImportRewrite", lazyProposal, r);
+            IMPORT_REWRITE.set(lazyProposal, r);
         }
         if (contextOnly) {
             ((GroovyJavaMethodCompletionProposal) lazyProposal).contextOnly();
@@ -26,6 +26,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
+import org.eclipse.jdt.groovy.core.util.ReflectionUtils.FieldAccessor;
 import org.eclipse.jdt.internal.core.ClassFile;
 import org.eclipse.jdt.internal.core.IJavaElementRequestor;
 import org.eclipse.jdt.internal.core.NameLookup;
@@ -40,13 +41,17 @@ import org.eclipse.jdt.internal.core.util.Util;
  */
 public class GroovyNameLookup extends NameLookup {
 
+    private static final FieldAccessor PACKAGE_FRAGMENT_ROOTS = ReflectionUtils.getFieldAccessor(NameLookup.class, "packageFragmentRoots");
+    private static final FieldAccessor PACKAGE_FRAGMENTS = ReflectionUtils.getFieldAccessor(NameLookup.class, "packageFragments");
+    private static final FieldAccessor TYPES_IN_WORKING_COPIES = ReflectionUtils.getFieldAccessor(NameLookup.class, "typesInWorkingCopies");
+    private static final FieldAccessor ROOT_TO_RESOLVED_ENTRIES = ReflectionUtils.getFieldAccessor(NameLookup.class, "rootToResolvedEntries");
 
     public GroovyNameLookup(NameLookup other) {
         this(new IPackageFragmentRoot[0], new HashtableOfArrayToObject(), new ICompilationUnit[0], new HashMap());
-        this.packageFragmentRoots = (IPackageFragmentRoot[]) ReflectionUtils.getPrivateField(NameLookup.class, "packageFragmentRoots", other);
-        this.packageFragments = (HashtableOfArrayToObject) ReflectionUtils.getPrivateField(NameLookup.class, "packageFragments", other);
-        this.typesInWorkingCopies = (HashMap) ReflectionUtils.getPrivateField(NameLookup.class, "typesInWorkingCopies", other);
-        this.rootToResolvedEntries = (Map) ReflectionUtils.getPrivateField(NameLookup.class, "rootToResolvedEntries", other);
+        this.packageFragmentRoots = (IPackageFragmentRoot[]) PACKAGE_FRAGMENT_ROOTS.get(other);
+        this.packageFragments = (HashtableOfArrayToObject) PACKAGE_FRAGMENTS.get(other);
+        this.typesInWorkingCopies = (HashMap) TYPES_IN_WORKING_COPIES.get(other);
+        this.rootToResolvedEntries = (Map) ROOT_TO_RESOLVED_ENTRIES.get(other);
     }
 
     public GroovyNameLookup(IPackageFragmentRoot[] packageFragmentRoots,
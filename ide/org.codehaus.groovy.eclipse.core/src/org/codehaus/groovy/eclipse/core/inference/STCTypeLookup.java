@@ -33,7 +33,7 @@ import org.codehaus.groovy.ast.expr.VariableExpression;
 import org.codehaus.groovy.eclipse.core.compiler.CompilerUtils;
 import org.codehaus.groovy.transform.stc.StaticTypesMarker;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
-import org.eclipse.jdt.groovy.search.ITypeLookup;
+import org.eclipse.jdt.groovy.search.ISelectiveTypeLookup;
 import org.eclipse.jdt.groovy.search.TypeLookupResult;
 import org.eclipse.jdt.groovy.search.TypeLookupResult.TypeConfidence;
 import org.eclipse.jdt.groovy.search.VariableScope;
@@ -43,7 +43,7 @@ import org.eclipse.jdt.groovy.search.VariableScope;
  * @author Andrew Eisenberg
  * @created 2013-02-25
  */
-public class STCTypeLookup implements ITypeLookup {
+public class STCTypeLookup implements ISelectiveTypeLookup {
 
     // only enabled for Groovy 2.1 or greater
     private static final boolean isEnabled = CompilerUtils.getActiveGroovyBundle().getVersion().getMajor() >= 2
@@ -51,6 +51,13 @@ public class STCTypeLookup implements ITypeLookup {
 
     public void initialize(GroovyCompilationUnit unit, VariableScope topLevelScope) {}
 
+    /**
+     * Without static type checking there is nothing to answer from, otherwise any expression may have an inferred type
+     */
+    public boolean mayAnswer(Class<? extends Expression> expressionClass) {
+        return isEnabled;
+    }
+
     public TypeLookupResult lookupType(Expression node, VariableScope scope, ClassNode objectExpressionType) {
         if (!isEnabled) {
             return null;
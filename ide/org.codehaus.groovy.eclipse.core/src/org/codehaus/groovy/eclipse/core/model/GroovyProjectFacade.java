@@ -19,6 +19,9 @@ import static org.codehaus.groovy.eclipse.core.util.ListUtil.newList;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.codehaus.groovy.ast.ASTNode;
 import org.codehaus.groovy.ast.ClassNode;
@@ -28,23 +31,27 @@ import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.ast.Parameter;
 import org.codehaus.groovy.ast.expr.DeclarationExpression;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
+import org.codehaus.jdt.groovy.integration.internal.GroovyIndexFacts;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
 import org.eclipse.jdt.internal.core.SourceType;
 /**
@@ -236,25 +243,62 @@ public class GroovyProjectFacade {
     }
 
 
+    /**
+     * Finds the types with a main method in the source folders of the project. Only files that declare a <code>main</code> method
+     * are looked at, and Groovy files are answered from the index without parsing them if they were indexed with
+     * {@link GroovyIndexFacts}.
+     */
     public List<IType> findAllRunnableTypes() throws JavaModelException {
         final List<IType> results = newList();
-        IPackageFragmentRoot[] roots = project.getAllPackageFragmentRoots();
-        for (IPackageFragmentRoot root : roots) {
-            if (!root.isReadOnly()) {
-                IJavaElement[] children = root.getChildren();
-                for (IJavaElement child : children) {
-                    if (child.getElementType() == IJavaElement.PACKAGE_FRAGMENT) {
-                        ICompilationUnit[] units = ((IPackageFragment) child).getCompilationUnits();
-                        for (ICompilationUnit unit : units) {
-                            results.addAll(findAllRunnableTypes(unit));
-                        }
-                    }
-                }
+        IJavaSearchScope scope = createSourceScope();
+        Map<String, Set<String>> withMain = GroovyIndexFacts.findTypesWithStaticMain(scope, null);
+        for (String path : GroovyIndexFacts.findDocumentsDeclaringMain(scope, null)) {
+            ICompilationUnit unit = getCompilationUnit(path);
+            if (unit == null) {
+                continue;
+            }
+            Set<String> names = withMain.get(path);
+            if (names != null && unit instanceof GroovyCompilationUnit) {
+                addTypes(unit, names, results);
+            } else {
+                // a Java file, a main method that is not static, or a file indexed without the Groovy facts
+                results.addAll(findAllRunnableTypes(unit));
             }
         }
         return results;
     }
 
+    private IJavaSearchScope createSourceScope() throws JavaModelException {
+        List<IJavaElement> roots = newList();
+        for (IPackageFragmentRoot root : project.getAllPackageFragmentRoots()) {
+            if (!root.isReadOnly()) {
+                roots.add(root);
+            }
+        }
+        return SearchEngine.createJavaSearchScope(roots.toArray(new IJavaElement[roots.size()]));
+    }
+
+    private static ICompilationUnit getCompilationUnit(String documentPath) {
+        IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(documentPath));
+        IJavaElement element = JavaCore.create(file);
+        return element instanceof ICompilationUnit ? (ICompilationUnit) element : null;
+    }
+
+    /**
+     * Adds the types of the unit with the given names, where member types are separated by '$'. Only handles are created, the
+     * unit is not opened.
+     */
+    private static void addTypes(ICompilationUnit unit, Set<String> names, List<IType> results) {
+        for (String name : new TreeSet<String>(names)) {
+            String[] segments = name.split("\\$");
+            IType type = unit.getType(segments[0]);
+            for (int i = 1; i < segments.length; i++) {
+                type = type.getType(segments[i]);
+            }
+            results.add(type);
+        }
+    }
+
     public static List<IType> findAllRunnableTypes(ICompilationUnit unit) throws JavaModelException {
         List<IType> results = new LinkedList<IType>();
         IType[] types = unit.getAllTypes();
@@ -319,24 +363,29 @@ public class GroovyProjectFacade {
         return false;
     }
 
+    /**
+     * Finds the scripts in the source folders of the project. Every script has a generated main method, so only Groovy files
+     * that declare a <code>main</code> method are looked at, and they are answered from the index without parsing them if they
+     * were indexed with {@link GroovyIndexFacts}.
+     */
     public List<IType> findAllScripts() throws JavaModelException {
         final List<IType> results = newList();
-        IPackageFragmentRoot[] roots = project.getAllPackageFragmentRoots();
-        for (IPackageFragmentRoot root : roots) {
-            if (!root.isReadOnly()) {
-                IJavaElement[] children = root.getChildren();
-                for (IJavaElement child : children) {
-                    if (child.getElementType() == IJavaElement.PACKAGE_FRAGMENT) {
-                        ICompilationUnit[] units = ((IPackageFragment) child).getCompilationUnits();
-                        for (ICompilationUnit unit : units) {
-                            if (unit instanceof GroovyCompilationUnit) {
-                                for (IType type : unit.getTypes()) {
-                                    if (isGroovyScript(type)) {
-                                        results.add(type);
-                                    }
-                                }
-                            }
-                        }
+        IJavaSearchScope scope = createSourceScope();
+        Map<String, Set<String>> scripts = GroovyIndexFacts.findScripts(scope, null);
+        Map<String, Set<String>> withMain = GroovyIndexFacts.findTypesWithStaticMain(scope, null);
+        for (String path : GroovyIndexFacts.findDocumentsDeclaringMain(scope, null)) {
+            ICompilationUnit unit = getCompilationUnit(path);
+            if (!(unit instanceof GroovyCompilationUnit)) {
+                continue;
+            }
+            Set<String> names = scripts.get(path);
+            if (names != null) {
+                addTypes(unit, names, results);
+            } else if (!withMain.containsKey(path)) {
+                // indexed without the Groovy facts, or only a main method that is not static
+                for (IType type : unit.getTypes()) {
+                    if (isGroovyScript(type)) {
+                        results.add(type);
                     }
                 }
             }
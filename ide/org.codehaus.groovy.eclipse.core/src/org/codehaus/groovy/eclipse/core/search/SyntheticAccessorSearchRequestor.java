@@ -16,6 +16,7 @@
 package org.codehaus.groovy.eclipse.core.search;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.codehaus.jdt.groovy.model.GroovyNature;
@@ -351,18 +352,35 @@ public class SyntheticAccessorSearchRequestor {
                 SearchEngine.createWorkspaceScope(), uiRequestor, monitor);
     }
 
+    /**
+     * Finds the synthetic matches of several elements at once, for example a field and its accessors that are renamed together.
+     * The patterns of all elements are combined, so the workspace is only searched once and each Groovy file is only inferred
+     * once for all of them.
+     */
+    public void findSyntheticMatches(List<? extends IJavaElement> elements, ISearchRequestor uiRequestor, IProgressMonitor monitor)
+            throws CoreException {
+        findSyntheticMatches(elements, IJavaSearchConstants.REFERENCES, new SearchParticipant[] { new JavaSearchParticipant() },
+                SearchEngine.createWorkspaceScope(), uiRequestor, monitor);
+    }
+
     public void findSyntheticMatches(IJavaElement element, int limitTo, SearchParticipant[] participants,
             IJavaSearchScope scope, ISearchRequestor uiRequestor, IProgressMonitor monitor) throws CoreException {
-        if (!isInteresting(element)) {
-            return;
-        }
+        findSyntheticMatches(Collections.singletonList(element), limitTo, participants, scope, uiRequestor, monitor);
+    }
 
+    public void findSyntheticMatches(List<? extends IJavaElement> elements, int limitTo, SearchParticipant[] participants,
+            IJavaSearchScope scope, ISearchRequestor uiRequestor, IProgressMonitor monitor) throws CoreException {
         // the declaration is synthetic, so OK to ignore
         if (limitTo == IJavaSearchConstants.DECLARATIONS) {
             return;
         }
 
-        SearchPattern pattern = createPattern(element);
+        SearchPattern pattern = null;
+        for (IJavaElement element : elements) {
+            if (isInteresting(element)) {
+                pattern = createPattern(element, pattern);
+            }
+        }
         if (pattern == null) {
             return;
         }
@@ -372,13 +390,16 @@ public class SyntheticAccessorSearchRequestor {
         engine.search(pattern, participants, scope, requestor, monitor);
     }
 
-    private SearchPattern createPattern(IJavaElement element) throws JavaModelException {
+    /**
+     * @param pattern the pattern so far, or null
+     * @return the pattern so far or-ed with the patterns for the synthetic members of the element
+     */
+    private SearchPattern createPattern(IJavaElement element, SearchPattern pattern) throws JavaModelException {
         List<IJavaElement> toSearch = new ArrayList<IJavaElement>(4);
         toSearch.add(findSyntheticMember(element, "is"));
         toSearch.add(findSyntheticMember(element, "get"));
         toSearch.add(findSyntheticMember(element, "set"));
         toSearch.add(findSyntheticProperty(element));
-        SearchPattern pattern = null;
         for (IJavaElement searchElt : toSearch) {
             if (searchElt != null) {
                 SearchPattern newPattern = SearchPattern.createPattern(searchElt, IJavaSearchConstants.ALL_OCCURRENCES
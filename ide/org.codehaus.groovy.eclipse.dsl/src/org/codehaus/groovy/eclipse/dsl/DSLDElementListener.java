@@ -20,10 +20,12 @@ import java.util.List;
 
 import org.codehaus.jdt.groovy.model.GroovyNature;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IElementChangedListener;
 import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
 
 /**
  * Listens for classpath changes and refreshes DSLDs accordingly.  Only look for raw classpath changes
@@ -37,7 +39,9 @@ public class DSLDElementListener implements IElementChangedListener {
         // the root delta is always the JavaModel
         if (event.getType() == ElementChangedEvent.POST_CHANGE && event.getDelta() != null) {
             List<IProject> projectsToRefresh = new ArrayList<IProject>();
+            boolean classpathChanged = false;
             for (IJavaElementDelta delta : event.getDelta().getChangedChildren()) {
+                classpathChanged |= (delta.getFlags() & IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED) != 0;
                 // Look for resolved classpath changes for Groovy projects
                 if (delta.getElement() instanceof IJavaProject && 
                         isResolvedClasspathChangeNotRawClasspath(delta) && 
@@ -45,12 +49,26 @@ public class DSLDElementListener implements IElementChangedListener {
                     projectsToRefresh.add(((IJavaProject) delta.getElement()).getProject());
                 }
             }
+            if (classpathChanged) {
+                // archives may have been dropped from the classpath, don't keep their compiled scripts around
+                GroovyDSLCoreActivator.getDefault().getLibraryCache().retainArchivesOf(getGroovyProjects());
+            }
             if (!projectsToRefresh.isEmpty()) {
                 GroovyDSLCoreActivator.getDefault().getContextStoreManager().initialize(projectsToRefresh, false);
             }
         }
     }
 
+    private List<IJavaProject> getGroovyProjects() {
+        List<IJavaProject> groovyProjects = new ArrayList<IJavaProject>();
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+            if (project.isAccessible() && GroovyNature.hasGroovyNature(project)) {
+                groovyProjects.add(JavaCore.create(project));
+            }
+        }
+        return groovyProjects;
+    }
+
     // returns true if there is a change to a classpath container, or something else that does not
     // show up in the .classpath file.
     private boolean isResolvedClasspathChangeNotRawClasspath(IJavaElementDelta delta) {
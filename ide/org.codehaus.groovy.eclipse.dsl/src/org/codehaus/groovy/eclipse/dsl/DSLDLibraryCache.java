@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      SpringSource - Initial implemenation
+ *******************************************************************************/
+package org.codehaus.groovy.eclipse.dsl;
+
+import groovy.lang.Script;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJarEntryResource;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Workspace-wide cache of what has been found in library archives while refreshing DSLD scripts. Many projects usually share the
+ * same jars, so whether a jar contains DSLD scripts and the compiled classes of those scripts are only worked out once per version
+ * of the jar, where a version is identified by the path, size and modification time of the jar file.
+ * <p>
+ * Compiled scripts are still run once for each project, since the pointcuts they register belong to the project's
+ * {@link DSLDStore}.
+ * <p>
+ * Only the last seen version of each archive is kept: as soon as a different size or modification time is seen for a path, what
+ * was known about the old version, including its compiled scripts and their class loaders, is dropped. When a resolved classpath
+ * changes, the archives that are no longer on the classpath of any Groovy project are dropped as well.
+ */
+public class DSLDLibraryCache {
+
+    /**
+     * The path, size and modification time of an archive at the time it was looked at
+     */
+    public static final class ArchiveState {
+        private final String path;
+        private final long length;
+        private final long lastModified;
+
+        ArchiveState(File file) {
+            this.path = file.getAbsolutePath();
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        @Override
+        public int hashCode() {
+            return path.hashCode() ^ (int) (length ^ lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ArchiveState)) {
+                return false;
+            }
+            ArchiveState other = (ArchiveState) obj;
+            return length == other.length && lastModified == other.lastModified && path.equals(other.path);
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+    }
+
+    private static class ArchiveInfo {
+        final ArchiveState state;
+        // null if not known yet
+        Boolean hasDSLDs;
+        final Map<String, Class<Script>> scripts = new HashMap<String, Class<Script>>();
+
+        ArchiveInfo(ArchiveState state) {
+            this.state = state;
+        }
+    }
+
+    // archive path -> what is known about the last seen version of the archive
+    private final Map<String, ArchiveInfo> archives = new HashMap<String, ArchiveInfo>();
+
+    /**
+     * @return the current state of the archive file of the root, or null if the root is not an archive on the local file system
+     */
+    public static ArchiveState getArchiveState(IPackageFragmentRoot root) {
+        File file = getArchiveFile(root);
+        return file == null ? null : getArchiveState(file);
+    }
+
+    private static File getArchiveFile(IPackageFragmentRoot root) {
+        if (!root.isArchive()) {
+            return null;
+        }
+        IResource resource = root.getResource();
+        IPath path = resource != null ? resource.getLocation() : root.getPath();
+        return path == null ? null : path.toFile();
+    }
+
+    /**
+     * @return the current state of the archive file, or null if there is no such file
+     */
+    public static ArchiveState getArchiveState(File file) {
+        return file.isFile() ? new ArchiveState(file) : null;
+    }
+
+    /**
+     * @return the current state of the archive containing the script, or null if the script is not in an archive
+     */
+    public static ArchiveState getArchiveState(IStorage script) {
+        if (script instanceof IJarEntryResource) {
+            IPackageFragmentRoot root = ((IJarEntryResource) script).getPackageFragmentRoot();
+            if (root != null) {
+                return getArchiveState(root);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether this version of the archive has a <code>dsld</code> package, or null if that is not known
+     */
+    public synchronized Boolean hasDSLDs(ArchiveState archive) {
+        ArchiveInfo info = getInfo(archive, false);
+        return info == null ? null : info.hasDSLDs;
+    }
+
+    public synchronized void setHasDSLDs(ArchiveState archive, boolean hasDSLDs) {
+        getInfo(archive, true).hasDSLDs = hasDSLDs;
+    }
+
+    /**
+     * @param entry the path of the script inside of the archive
+     * @return the compiled script, or null if this version of the script has not been compiled yet
+     */
+    public synchronized Class<Script> getScript(ArchiveState archive, String entry) {
+        ArchiveInfo info = getInfo(archive, false);
+        return info == null ? null : info.scripts.get(entry);
+    }
+
+    public synchronized void putScript(ArchiveState archive, String entry, Class<Script> script) {
+        getInfo(archive, true).scripts.put(entry, script);
+    }
+
+    public synchronized void clear() {
+        archives.clear();
+    }
+
+    /**
+     * Drops the archives that are not on the classpath of any of the projects, whatever their version
+     */
+    public void retainArchivesOf(List<IJavaProject> projects) {
+        Set<String> inUse = new HashSet<String>();
+        for (IJavaProject project : projects) {
+            try {
+                for (IPackageFragmentRoot root : project.getAllPackageFragmentRoots()) {
+                    File file = getArchiveFile(root);
+                    if (file != null) {
+                        inUse.add(file.getAbsolutePath());
+                    }
+                }
+            } catch (JavaModelException e) {
+                // can't tell what the project uses, keep everything
+                GroovyDSLCoreActivator.logException(e);
+                return;
+            }
+        }
+        synchronized (this) {
+            archives.keySet().retainAll(inUse);
+        }
+    }
+
+    private ArchiveInfo getInfo(ArchiveState archive, boolean create) {
+        ArchiveInfo info = archives.get(archive.path);
+        if (info != null && !info.state.equals(archive)) {
+            // the archive has changed since it was last looked at, forget the old version even if only asked
+            archives.remove(archive.path);
+            info = null;
+        }
+        if (info == null && create) {
+            info = new ArchiveInfo(archive);
+            archives.put(archive.path, info);
+        }
+        return info;
+    }
+}
@@ -23,6 +23,7 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.jobs.Job;
@@ -32,7 +33,8 @@ import org.eclipse.jdt.core.JavaCore;
  * Handles updates and changes of DSLD files
  * Things that need to get handled:
  * 
- * Project deletion or close: flush the context
+ * Project deletion or close: flush the context and delete the snapshot of the compiled scripts
+ * Project rename: delete the snapshot under the old name
  * Project creation, or groovy nature added: refresh DSLDs for project
  * DSLD script added: update that script from context
  * DSLD script deleted: remove that script from context
@@ -73,6 +75,10 @@ public class DSLDResourceListener implements IResourceChangeListener {
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Deleting DSL context for: " + project.getName());
                     }
                     contextStoreManager.clearDSLDStore(project);
+                    if (delta.getKind() == IResourceDelta.REMOVED) {
+                        // deleted or renamed, the snapshot under this name is of no use to a later project of the name
+                        GroovyDSLCoreActivator.getDefault().getStoreSnapshots().delete(project);
+                    }
                     return false;
                 } else if (!contextStoreManager.hasDSLDStoreFor(project) && GroovyNature.hasGroovyNature(project)) {
                     // could be that this project has just been opened
@@ -97,21 +103,31 @@ public class DSLDResourceListener implements IResourceChangeListener {
                     if (GroovyLogManager.manager.hasLoggers()) {
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Processing " + file.getName());
                     }
-                    // this file has been changed or deleted. Either way, must
-                    // start by purging
-                    // if this file diden't exist in the past, then this is a
-                    // no-op
-                    store.purgeIdentifier(file);
-
-                    if (file.isAccessible() && eventType == IResourceChangeEvent.POST_CHANGE) {
-                        // also refresh the file
-                        if (isDSLDFile(file)) {
-                            DSLDScriptExecutor executor = new DSLDScriptExecutor(JavaCore.create(project));
-                            executor.executeScript(file);
-                        } else if (isXDSL(file)) {
-                            // At this point the suggestions should already be in the manager. only contribution groups
-                            // and point cuts need to be created
-                            new SuggestionsLoader(file).addSuggestionsContributionGroup();
+                    boolean refresh = file.isAccessible() && eventType == IResourceChangeEvent.POST_CHANGE;
+                    if (isDSLDFile(file)) {
+                        // only the changed script is updated, in this project and in the projects that
+                        // found it in a source folder of this project
+                        updateScript(file, project, store, refresh);
+                        for (String other : contextStoreManager.getAllStores()) {
+                            if (!other.equals(project.getName())) {
+                                DSLDStore otherStore = contextStoreManager.getDSLDStore(other);
+                                if (otherStore.hasIdentifier(file)) {
+                                    updateScript(file, ResourcesPlugin.getWorkspace().getRoot().getProject(other), otherStore, refresh);
+                                }
+                            }
+                        }
+                    } else {
+                        // this file has been changed or deleted. Either way, must
+                        // start by purging
+                        // if this file diden't exist in the past, then this is a
+                        // no-op
+                        synchronized (store) {
+                            store.purgeIdentifier(file);
+                            if (refresh) {
+                                // At this point the suggestions should already be in the manager. only contribution groups
+                                // and point cuts need to be created
+                                new SuggestionsLoader(file).addSuggestionsContributionGroup();
+                            }
                         }
                     }
                 }
@@ -125,10 +141,36 @@ public class DSLDResourceListener implements IResourceChangeListener {
 
     private static final DSLDStoreManager contextStoreManager = GroovyDSLCoreActivator.getDefault().getContextStoreManager();
 
+    /**
+     * Replaces the pointcuts of a changed script in the store, or removes them if the script is gone. Contribution groups of the
+     * old version of the script, along with anything they have memoized, are dropped from the store. Nothing else in the store is
+     * touched, so inference using the other scripts of the project carries on.
+     */
+    private static void updateScript(IFile file, IProject project, DSLDStore store, boolean refresh) {
+        if (refresh) {
+            new DSLDScriptExecutor(JavaCore.create(project)).executeScript(file, store);
+        } else {
+            store.purgeIdentifier(file);
+        }
+    }
+
+    private static void projectGone(IProject project) {
+        if (GroovyLogManager.manager.hasLoggers()) {
+            GroovyLogManager.manager.log(TraceCategory.DSL, "Deleting DSL context for: " + project.getName());
+        }
+        contextStoreManager.clearDSLDStore(project);
+        GroovyDSLCoreActivator.getDefault().getStoreSnapshots().delete(project);
+    }
+
     public void resourceChanged(IResourceChangeEvent event) {
         switch (event.getType()) {
             case IResourceChangeEvent.PRE_DELETE:
             case IResourceChangeEvent.PRE_CLOSE:
+                // these come without a delta, only with the project
+                if (event.getResource() instanceof IProject) {
+                    projectGone((IProject) event.getResource());
+                }
+                break;
             case IResourceChangeEvent.POST_CHANGE:
                 try {
                     if (event.getDelta() != null) {
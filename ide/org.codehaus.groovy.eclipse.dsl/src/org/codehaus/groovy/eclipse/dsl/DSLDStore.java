@@ -31,7 +31,8 @@ import org.eclipse.core.resources.IStorage;
 import org.eclipse.jdt.internal.core.NonJavaResource;
 
 /**
- * Stores the pointcuts for a single project
+ * Stores the pointcuts for a single project.  A store is updated while inference reads it
+ * when a single script changes, so all access is synchronized.
  * @author andrew
  * @created Nov 17, 2010
  */
@@ -45,7 +46,7 @@ public class DSLDStore {
         keyContextMap = new HashMap<IStorage, Set<IPointcut>>();
     }
     
-    public void addContributionGroup(IPointcut pointcut, IContributionGroup contribution) {
+    public synchronized void addContributionGroup(IPointcut pointcut, IContributionGroup contribution) {
         List<IContributionGroup> contributions = pointcutContributionMap.get(pointcut);
         if (contributions == null) {
             contributions = new ArrayList<IContributionGroup>();
@@ -63,7 +64,7 @@ public class DSLDStore {
     }
     
     
-    public void purgeIdentifier(IStorage identifier) {
+    public synchronized void purgeIdentifier(IStorage identifier) {
         if (GroovyLogManager.manager.hasLoggers()) {
             GroovyLogManager.manager.log(TraceCategory.DSL, "Purging pointcut for DSL file " + identifier);
         }
@@ -75,7 +76,18 @@ public class DSLDStore {
         }
     }
     
-    public void purgeAll() {
+    public synchronized boolean hasIdentifier(IStorage identifier) {
+        return keyContextMap.containsKey(identifier);
+    }
+
+    /**
+     * @return true if the store has no pointcuts, so nothing can be contributed from it
+     */
+    public synchronized boolean isEmpty() {
+        return pointcutContributionMap.isEmpty();
+    }
+
+    public synchronized void purgeAll() {
         keyContextMap.clear();
         pointcutContributionMap.clear();
     }
@@ -89,7 +101,7 @@ public class DSLDStore {
      * @param patern the pattern to match against
      * @return a new {@link DSLDStore} containing only matches against the pattern
      */
-    public DSLDStore createSubStore(GroovyDSLDContext pattern) {
+    public synchronized DSLDStore createSubStore(GroovyDSLDContext pattern) {
         DSLDStore subStore = new DSLDStore();
         for (Entry<IPointcut, List<IContributionGroup>> entry : pointcutContributionMap.entrySet()) {
             if (entry.getKey().fastMatch(pattern)) {
@@ -99,7 +111,7 @@ public class DSLDStore {
         return subStore;
     }
 
-    public void addAllContributions(IPointcut pointcut, List<IContributionGroup> contributions) {
+    public synchronized void addAllContributions(IPointcut pointcut, List<IContributionGroup> contributions) {
         List<IContributionGroup> existing = pointcutContributionMap.get(pointcut);
         if (existing == null) {
             pointcutContributionMap.put(pointcut, contributions);
@@ -107,7 +119,7 @@ public class DSLDStore {
             existing.addAll(contributions);
         }
     }
-    public void addAllContexts(List<IPointcut> pointcuts, IContributionGroup contribution) {
+    public synchronized void addAllContexts(List<IPointcut> pointcuts, IContributionGroup contribution) {
         for (IPointcut pointcut : pointcuts) {
             addContributionGroup(pointcut, contribution);
         }
@@ -120,7 +132,7 @@ public class DSLDStore {
      * @param disabledScripts The set of scripts that are disabled and should be ignored
      * @return The set of contributions applicable for the pattern
      */
-    public List<IContributionElement> findContributions(GroovyDSLDContext pattern, Set<String> disabledScripts) {
+    public synchronized List<IContributionElement> findContributions(GroovyDSLDContext pattern, Set<String> disabledScripts) {
         List<IContributionElement> elts = new ArrayList<IContributionElement>();
         for (Entry<IPointcut, List<IContributionGroup>> entry : pointcutContributionMap.entrySet()) {
             IPointcut pointcut = entry.getKey();
@@ -137,7 +149,7 @@ public class DSLDStore {
         return elts;
     }
     
-    public IStorage[] getAllContextKeys() {
+    public synchronized IStorage[] getAllContextKeys() {
         return keyContextMap.keySet().toArray(new IStorage[0]);
     }
     
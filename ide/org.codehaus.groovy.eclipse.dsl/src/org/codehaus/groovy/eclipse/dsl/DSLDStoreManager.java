@@ -19,11 +19,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.codehaus.jdt.groovy.model.GroovyParallelReconciler;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
 
 /**
  * Singleton class that holds the {@link DSLDStore}s for all Groovy projects
@@ -35,6 +43,9 @@ public class DSLDStoreManager {
     private final Map<String, DSLDStore> projectDSLDMap;
     
     private final Set<String> inProgress = new HashSet<String>();
+
+    // projects that were inferred while their store was still being initialized
+    private final Set<String> inferredTooEarly = new HashSet<String>();
     
     public DSLDStoreManager() {
         projectDSLDMap = new HashMap<String, DSLDStore>();
@@ -47,7 +58,7 @@ public class DSLDStoreManager {
         return getDSLDStore(project.getName());
     }
     
-    public DSLDStore getDSLDStore(String projectName) {
+    public synchronized DSLDStore getDSLDStore(String projectName) {
         DSLDStore contextStore = projectDSLDMap.get(projectName);
         if (contextStore == null) {
             contextStore = new DSLDStore();
@@ -56,23 +67,23 @@ public class DSLDStoreManager {
         return contextStore;
     }
     
-    public void clearDSLDStore(IProject project) {
+    public synchronized void clearDSLDStore(IProject project) {
         projectDSLDMap.remove(project.getName());
     }
     
-    public void clearDSLDStore(IJavaProject project) {
+    public synchronized void clearDSLDStore(IJavaProject project) {
         projectDSLDMap.remove(project.getElementName());
     }
     
-    public void reset() {
+    public synchronized void reset() {
         projectDSLDMap.clear();
     }
 
-    public boolean hasDSLDStoreFor(IProject project) {
+    public synchronized boolean hasDSLDStoreFor(IProject project) {
         return projectDSLDMap.containsKey(project.getName());
     }
 
-    public List<String> getAllStores() {
+    public synchronized List<String> getAllStores() {
         return new ArrayList<String>(projectDSLDMap.keySet());
     }
     
@@ -113,6 +124,51 @@ public class DSLDStoreManager {
             initialize(project, synchronous);
         }
     }
+
+    /**
+     * Starts initializing the store of the project in the background if it has not been initialized yet, but does not wait for it.
+     *
+     * @return true if the store is ready. Otherwise the store is still being initialized, and the open Groovy working copies of the
+     *         project are reconciled again once it is ready.
+     */
+    public synchronized boolean ensureInitializedInBackground(IProject project) {
+        ensureInitialized(project, false);
+        if (inProgress.contains(project.getName())) {
+            inferredTooEarly.add(project.getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reconciles the open Groovy working copies of the projects, so that they are inferred again with the now initialized stores.
+     * They are reconciled in parallel when {@link GroovyParallelReconciler} is enabled.
+     *
+     * @return the scheduled job
+     */
+    Job reconcileOpenWorkingCopies(final List<IProject> projects) {
+        Job job = new Job("Reconcile Groovy files after DSLD refresh") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                List<GroovyCompilationUnit> units = new ArrayList<GroovyCompilationUnit>();
+                for (ICompilationUnit unit : JavaCore.getWorkingCopies(null)) {
+                    if (unit instanceof GroovyCompilationUnit && projects.contains(unit.getJavaProject().getProject())) {
+                        units.add((GroovyCompilationUnit) unit);
+                    }
+                }
+                try {
+                    GroovyParallelReconciler.reconcile(units, ICompilationUnit.NO_AST, ICompilationUnit.FORCE_PROBLEM_DETECTION, null,
+                            monitor);
+                } catch (OperationCanceledException e) {
+                    return Status.CANCEL_STATUS;
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+        return job;
+    }
     
     private final static int TIME_LIMIT = 30000;
     synchronized void waitForFinish() {
@@ -145,8 +201,12 @@ public class DSLDStoreManager {
         }
         return addedProjects;
     }
-    synchronized void removeInProgress(IProject project) {
+    /**
+     * @return true if the project was inferred while its store was being initialized
+     */
+    synchronized boolean removeInProgress(IProject project) {
         inProgress.remove(project.getName());
         notifyAll();
+        return inferredTooEarly.remove(project.getName());
     }
 }
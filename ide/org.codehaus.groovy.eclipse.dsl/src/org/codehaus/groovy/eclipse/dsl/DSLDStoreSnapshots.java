@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      SpringSource - Initial implemenation
+ *******************************************************************************/
+package org.codehaus.groovy.eclipse.dsl;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.eclipse.dsl.DSLDLibraryCache.ArchiveState;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Snapshots of the compiled DSLD scripts of each project, kept on disk so that the stores can be filled at startup without compiling
+ * every script again. For each script the snapshot holds its identity, a hash of its contents and the byte code of the classes it
+ * compiled to. The snapshot of a project is read the first time one of its scripts is executed, and a script is only taken from it
+ * if the hash of its current contents is still the same. The pointcuts themselves are not saved, they are closures of the scripts
+ * and are recreated by running the restored classes.
+ * <p>
+ * A snapshot is ignored if it was written by another version of Groovy-Eclipse or Groovy, or for another project that had the
+ * same name, which is told apart by the location of the project. The snapshot of a project is deleted when the project is
+ * deleted, closed or renamed.
+ */
+public class DSLDStoreSnapshots {
+
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Snapshots are on by default, -Dgreclipse.dsld.snapshots=false always compiles the scripts
+     */
+    private static boolean enabled = Boolean.valueOf(System.getProperty("greclipse.dsld.snapshots", "true"));
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * The byte code of a compiled script and of the closures and other classes defined in it
+     */
+    static final class CompiledScript {
+        final String hash;
+        final String scriptClass;
+        // class name -> byte code, in the order the classes were compiled
+        final Map<String, byte[]> classes;
+
+        CompiledScript(String hash, String scriptClass, Map<String, byte[]> classes) {
+            this.hash = hash;
+            this.scriptClass = scriptClass;
+            this.classes = classes;
+        }
+    }
+
+    private static final class ProjectSnapshot {
+        // location of the project, or null if it has none and nothing is read or written
+        final String owner;
+        // script identity -> compiled script
+        final Map<String, CompiledScript> scripts = new HashMap<String, CompiledScript>();
+        boolean dirty;
+
+        ProjectSnapshot(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * A class loader that keeps the byte code of the classes it compiles, so that they can be added to a snapshot
+     */
+    public static class RecordingClassLoader extends GroovyClassLoader {
+        private final Map<String, byte[]> compiled = new LinkedHashMap<String, byte[]>();
+
+        public RecordingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected ClassCollector createCollector(CompilationUnit unit, SourceUnit su) {
+            return new ClassCollector(new InnerLoader(this), unit, su) {
+                @Override
+                protected Class createClass(byte[] code, ClassNode classNode) {
+                    compiled.put(classNode.getName(), code);
+                    return super.createClass(code, classNode);
+                }
+            };
+        }
+
+        /**
+         * @return the classes compiled since the last call
+         */
+        public Map<String, byte[]> takeCompiled() {
+            Map<String, byte[]> result = new LinkedHashMap<String, byte[]>(compiled);
+            compiled.clear();
+            return result;
+        }
+    }
+
+    private static final class SnapshotClassLoader extends ClassLoader {
+        SnapshotClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] code) {
+            return defineClass(name, code, 0, code.length);
+        }
+    }
+
+    private final Map<String, ProjectSnapshot> snapshots = new HashMap<String, ProjectSnapshot>();
+
+    /**
+     * @return a name for the script that is unique in the workspace and stays the same across sessions
+     */
+    public static String getIdentity(IStorage script) {
+        ArchiveState archive = DSLDLibraryCache.getArchiveState(script);
+        String path = script.getFullPath().toPortableString();
+        return archive == null ? path : archive + "!" + path;
+    }
+
+    /**
+     * @return a hash of the contents of a script
+     */
+    public static String hash(String contents) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(contents.getBytes("UTF-8"));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the script class restored from the snapshot of the project, or null if the snapshot has no script of this identity
+     *         and hash
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Class<Script> getScript(IProject project, String identity, String hash) {
+        CompiledScript script = getSnapshot(project).scripts.get(identity);
+        if (script == null || !script.hash.equals(hash)) {
+            return null;
+        }
+        try {
+            SnapshotClassLoader loader = new SnapshotClassLoader(GroovyDSLCoreActivator.class.getClassLoader());
+            Class<?> scriptClass = null;
+            for (Map.Entry<String, byte[]> entry : script.classes.entrySet()) {
+                Class<?> clazz = loader.define(entry.getKey(), entry.getValue());
+                if (entry.getKey().equals(script.scriptClass)) {
+                    scriptClass = clazz;
+                }
+            }
+            if (scriptClass != null && Script.class.isAssignableFrom(scriptClass)) {
+                return (Class<Script>) scriptClass;
+            }
+        } catch (LinkageError e) {
+            GroovyDSLCoreActivator.logException("Could not restore " + identity + " from the DSLD snapshot of " + project.getName(), e);
+        }
+        // unusable, compile again
+        remove(project, identity);
+        return null;
+    }
+
+    public synchronized void putScript(IProject project, String identity, String hash, String scriptClass, Map<String, byte[]> classes) {
+        if (classes.isEmpty() || !classes.containsKey(scriptClass)) {
+            return;
+        }
+        ProjectSnapshot snapshot = getSnapshot(project);
+        snapshot.scripts.put(identity, new CompiledScript(hash, scriptClass, classes));
+        snapshot.dirty = true;
+    }
+
+    public synchronized void remove(IProject project, String identity) {
+        ProjectSnapshot snapshot = getSnapshot(project);
+        if (snapshot.scripts.remove(identity) != null) {
+            snapshot.dirty = true;
+        }
+    }
+
+    /**
+     * Drops the scripts that are no longer used by the project and writes its snapshot if it changed.
+     */
+    public synchronized void save(IProject project, Set<String> identities) {
+        ProjectSnapshot snapshot = getSnapshot(project);
+        for (Iterator<String> iter = snapshot.scripts.keySet().iterator(); iter.hasNext();) {
+            if (!identities.contains(iter.next())) {
+                iter.remove();
+                snapshot.dirty = true;
+            }
+        }
+        save(project.getName(), snapshot);
+    }
+
+    /**
+     * Writes all changed snapshots, for example when the workbench shuts down.
+     */
+    public synchronized void saveAll() {
+        for (Map.Entry<String, ProjectSnapshot> entry : snapshots.entrySet()) {
+            save(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Forgets the snapshot of a project and deletes it from disk.
+     */
+    public synchronized void delete(IProject project) {
+        snapshots.remove(project.getName());
+        File file = getFile(project.getName());
+        if (file != null && file.exists()) {
+            file.delete();
+        }
+    }
+
+    public synchronized void clear() {
+        snapshots.clear();
+    }
+
+    private ProjectSnapshot getSnapshot(IProject project) {
+        ProjectSnapshot snapshot = snapshots.get(project.getName());
+        if (snapshot == null) {
+            snapshot = new ProjectSnapshot(getOwner(project));
+            read(project.getName(), snapshot);
+            snapshots.put(project.getName(), snapshot);
+        }
+        return snapshot;
+    }
+
+    private static File getFile(String projectName) {
+        GroovyDSLCoreActivator activator = GroovyDSLCoreActivator.getDefault();
+        if (activator == null) {
+            return null;
+        }
+        IPath location = activator.getStateLocation().append("snapshots").append(projectName + ".dsldsnapshot");
+        return location.toFile();
+    }
+
+    private static String getOwner(IProject project) {
+        URI location = project.getLocationURI();
+        return location == null ? null : location.toString();
+    }
+
+    private static String getVersionStamp() {
+        return GroovyDSLCoreActivator.getDefault().getBundle().getVersion() + "/" + GroovySystem.getVersion();
+    }
+
+    private static void read(String projectName, ProjectSnapshot snapshot) {
+        File file = getFile(projectName);
+        if (file == null || !file.isFile() || snapshot.owner == null) {
+            return;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(getVersionStamp())) {
+                return;
+            }
+            if (!in.readUTF().equals(snapshot.owner)) {
+                // left behind by an earlier project of this name
+                return;
+            }
+            int scriptCount = in.readInt();
+            for (int i = 0; i < scriptCount; i++) {
+                String identity = in.readUTF();
+                String hash = in.readUTF();
+                String scriptClass = in.readUTF();
+                int classCount = in.readInt();
+                Map<String, byte[]> classes = new LinkedHashMap<String, byte[]>();
+                for (int j = 0; j < classCount; j++) {
+                    String name = in.readUTF();
+                    byte[] code = new byte[in.readInt()];
+                    in.readFully(code);
+                    classes.put(name, code);
+                }
+                snapshot.scripts.put(identity, new CompiledScript(hash, scriptClass, classes));
+            }
+        } catch (IOException e) {
+            // a damaged snapshot only means that the scripts are compiled again
+            snapshot.scripts.clear();
+            GroovyDSLCoreActivator.logWarning("Could not read the DSLD snapshot of " + projectName + ": " + e.getMessage());
+        } finally {
+            close(in);
+        }
+    }
+
+    private static void save(String projectName, ProjectSnapshot snapshot) {
+        if (!snapshot.dirty) {
+            return;
+        }
+        File file = getFile(projectName);
+        if (file == null || snapshot.owner == null) {
+            return;
+        }
+        snapshot.dirty = false;
+        if (snapshot.scripts.isEmpty()) {
+            file.delete();
+            return;
+        }
+        file.getParentFile().mkdirs();
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(getVersionStamp());
+            out.writeUTF(snapshot.owner);
+            out.writeInt(snapshot.scripts.size());
+            for (Map.Entry<String, CompiledScript> entry : snapshot.scripts.entrySet()) {
+                CompiledScript script = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeUTF(script.hash);
+                out.writeUTF(script.scriptClass);
+                out.writeInt(script.classes.size());
+                for (Map.Entry<String, byte[]> clazz : script.classes.entrySet()) {
+                    out.writeUTF(clazz.getKey());
+                    out.writeInt(clazz.getValue().length);
+                    out.write(clazz.getValue());
+                }
+            }
+        } catch (IOException e) {
+            GroovyDSLCoreActivator.logException("Could not write the DSLD snapshot of " + projectName, e);
+            close(out);
+            out = null;
+            file.delete();
+        } finally {
+            close(out);
+        }
+    }
+
+    private static void close(Closeable stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+}
@@ -35,6 +35,10 @@ public class GroovyDSLCoreActivator extends AbstractUIPlugin {
     
     private final DSLDStoreManager contextStoreManager;
 
+    private final DSLDLibraryCache libraryCache;
+
+    private final DSLDStoreSnapshots storeSnapshots;
+
     private DSLDResourceListener dsldResourceListener;
     private DSLDElementListener dsldElementListener;
     
@@ -48,6 +52,8 @@ public class GroovyDSLCoreActivator extends AbstractUIPlugin {
     public GroovyDSLCoreActivator() {
         plugin = this;
         this.contextStoreManager = new DSLDStoreManager();
+        this.libraryCache = new DSLDLibraryCache();
+        this.storeSnapshots = new DSLDStoreSnapshots();
     }
 
 	
@@ -76,6 +82,7 @@ public class GroovyDSLCoreActivator extends AbstractUIPlugin {
 
 	@Override
 	public void stop(BundleContext bundleContext) throws Exception {
+        storeSnapshots.saveAll();
         super.stop(bundleContext);
 		GroovyDSLCoreActivator.context = null;
         ResourcesPlugin.getWorkspace().removeResourceChangeListener(dsldResourceListener);
@@ -97,6 +104,20 @@ public class GroovyDSLCoreActivator extends AbstractUIPlugin {
 	public DSLDStoreManager getContextStoreManager() {
         return contextStoreManager;
     }
+
+    /**
+     * @return the cache of DSLD scripts found in library archives, shared by all projects
+     */
+    public DSLDLibraryCache getLibraryCache() {
+        return libraryCache;
+    }
+
+    /**
+     * @return the snapshots of compiled DSLD scripts that are kept across sessions
+     */
+    public DSLDStoreSnapshots getStoreSnapshots() {
+        return storeSnapshots;
+    }
 	
     private static void log(int severity, String message, Throwable throwable) {
         final IStatus status = new Status(severity, PLUGIN_ID, 0, message, throwable);
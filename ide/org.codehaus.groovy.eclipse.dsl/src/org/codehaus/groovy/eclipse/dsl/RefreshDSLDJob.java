@@ -18,6 +18,7 @@ import java.util.Set;
 
 import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
+import org.codehaus.groovy.eclipse.dsl.DSLDLibraryCache.ArchiveState;
 import org.codehaus.groovy.eclipse.dsl.inferencing.suggestions.SuggestionsLoader;
 import org.codehaus.groovy.eclipse.dsl.inferencing.suggestions.writer.SuggestionsFileProperties;
 import org.codehaus.groovy.eclipse.dsl.script.DSLDScriptExecutor;
@@ -59,12 +60,14 @@ public class RefreshDSLDJob extends Job {
         private final IProject project;
         private final Set<IStorage> dsldFiles;
         private final Set<String> alreadyAdded; 
+        private final DSLDLibraryCache libraryCache;
         
         
         public DSLDResourceVisitor(IProject project) {
             this.project = project;
             this.dsldFiles = new HashSet<IStorage>();
             alreadyAdded = new HashSet<String>();
+            libraryCache = GroovyDSLCoreActivator.getDefault().getLibraryCache();
         }
     
         public boolean visit(IResource resource) throws CoreException {
@@ -117,6 +120,12 @@ public class RefreshDSLDJob extends Job {
                 if (root.getKind() == IPackageFragmentRoot.K_BINARY ||
                         // GRECLIPSE-1458 must check source folders, but avoid source folders from same project
                         isSourceFolderFromOtherProject(root)) {
+                    // archives shared by several projects are only scanned once per version of the archive
+                    ArchiveState archive = DSLDLibraryCache.getArchiveState(root);
+                    Boolean archiveHasDSLDs = archive == null ? null : libraryCache.hasDSLDs(archive);
+                    if (Boolean.FALSE.equals(archiveHasDSLDs)) {
+                        continue;
+                    }
                     IPackageFragment frag = root.getPackageFragment("dsld");
                     if (frag.exists() || root.getElementName().equals(GLOBAL_DSLD_SUPPORT) || root.getElementName().equals(PLUGIN_DSLD_SUPPORT)) {
                         
@@ -128,7 +137,8 @@ public class RefreshDSLDJob extends Job {
                             // external source roots return null for getResource, but do have a resource 
                             rootResource = ((ExternalPackageFragmentRoot) root).resource();
                         }
-                        if (rootResource != null) {
+                        // an archive in this state has already been refreshed while scanning another project
+                        if (rootResource != null && archiveHasDSLDs == null) {
                             try {
                                 rootResource.refreshLocal(IResource.DEPTH_INFINITE, monitor);
                                 root.close();
@@ -139,6 +149,9 @@ public class RefreshDSLDJob extends Job {
                                 if (!root.exists() || !frag.exists()) {
                                     // must check a second time for existence because the close and re-opening of the root may 
                                     // have changed things
+                                    if (archive != null) {
+                                        libraryCache.setHasDSLDs(archive, false);
+                                    }
                                     continue;
                                 }
                             } catch (CoreException e) {
@@ -192,6 +205,9 @@ public class RefreshDSLDJob extends Job {
                             }
                         }
                     }
+                    if (archive != null && archiveHasDSLDs == null) {
+                        libraryCache.setHasDSLDs(archive, frag.exists());
+                    }
                 }
             }
         }
@@ -298,6 +314,8 @@ public class RefreshDSLDJob extends Job {
 
     @Override
     public IStatus run(IProgressMonitor monitor) {
+        // projects whose open files were inferred before their stores were ready
+        List<IProject> inferredTooEarly = new ArrayList<IProject>();
         try {
             if (GroovyDSLCoreActivator.getDefault().isDSLDDisabled()) {
                 if (GroovyLogManager.manager.hasLoggers()) {
@@ -316,7 +334,9 @@ public class RefreshDSLDJob extends Job {
                 try {
                     res = refreshProject(project, new SubProgressMonitor(monitor, 9));
                 } finally {
-                    contextStoreManager.removeInProgress(project);
+                    if (contextStoreManager.removeInProgress(project)) {
+                        inferredTooEarly.add(project);
+                    }
                 }
                 if (!res.isOK()) {
                     errorStatuses.add(res);
@@ -339,7 +359,12 @@ public class RefreshDSLDJob extends Job {
             // in case the job was exited early, ensure all projects 
             // have their initialization stage removed
             for (IProject project : projects) {
-                contextStoreManager.removeInProgress(project);
+                if (contextStoreManager.removeInProgress(project) && !inferredTooEarly.contains(project)) {
+                    inferredTooEarly.add(project);
+                }
+            }
+            if (!inferredTooEarly.isEmpty()) {
+                contextStoreManager.reconcileOpenWorkingCopies(inferredTooEarly);
             }
         }
     }
@@ -402,6 +427,16 @@ public class RefreshDSLDJob extends Job {
             }
         }
         monitor.worked(6);
+
+        if (DSLDStoreSnapshots.isEnabled()) {
+            Set<String> identities = new HashSet<String>();
+            for (IStorage file : findDSLDFiles) {
+                if (isDSLD(file)) {
+                    identities.add(DSLDStoreSnapshots.getIdentity(file));
+                }
+            }
+            GroovyDSLCoreActivator.getDefault().getStoreSnapshots().save(project, identities);
+        }
         
         monitor.done();
         if (event != null) {
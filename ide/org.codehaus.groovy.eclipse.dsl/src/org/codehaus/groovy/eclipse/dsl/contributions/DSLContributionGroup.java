@@ -14,9 +14,13 @@ import groovy.lang.Closure;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codehaus.groovy.ast.AnnotatedNode;
 import org.codehaus.groovy.ast.AnnotationNode;
@@ -61,27 +65,52 @@ public class DSLContributionGroup extends ContributionGroup {
     @SuppressWarnings("rawtypes")
     private final Closure contributionClosure;
 
+    /**
+     * When <code>true</code>, the contributions of a group whose closure did not look at the wormhole or the scope are remembered
+     * for the current type, static flag and bindings they were computed for.
+     */
+    private static boolean memoize = Boolean.valueOf(System.getProperty("greclipse.dsld.memoizeContributions", "false"));
+
+    /**
+     * Upper bound on the number of remembered evaluations per group. The cache is simply dropped when it is full.
+     */
+    private static final int MAX_MEMOIZED = 256;
+
+    // only used by the group, not by an evaluation
+    private final ConcurrentHashMap<EvaluationKey, List<IContributionElement>> memoized;
 
-    private VariableScope scope;
+    // the state below belongs to a single evaluation of the closure, see #getContributions
+
+    private final VariableScope scope;
     
     // provider that is set for the entire contribution group
     // individual contributions can override
     private String provider = null;
     
-    private ResolverCache resolver;
+    private final ResolverCache resolver;
     
-    private Map<String, Collection<Object>> bindings;
+    private final Map<String, Collection<Object>> bindings;
 
     private ClassNode currentType;
     
-    private Map<String, Object> wormhole;
+    private final Map<String, Object> wormhole;
 
-    private boolean staticScope;
+    private final boolean staticScope;
     
-    private boolean isPrimaryExpression;
+    private final boolean isPrimaryExpression;
+
+    // true if the result of this evaluation depends on more than its EvaluationKey
+    private boolean usedScope;
 
     public DSLContributionGroup(@SuppressWarnings("rawtypes") Closure contributionClosure) {
         this.contributionClosure = contributionClosure;
+        this.memoized = new ConcurrentHashMap<EvaluationKey, List<IContributionElement>>();
+        this.scope = null;
+        this.resolver = null;
+        this.bindings = null;
+        this.wormhole = null;
+        this.staticScope = false;
+        this.isPrimaryExpression = false;
         
         if (contributionClosure != null) {
             contributionClosure.setDelegate(this);
@@ -90,47 +119,84 @@ public class DSLContributionGroup extends ContributionGroup {
     }
 
     /**
-     * This is the main entry point into the contribution
+     * Creates the context of a single evaluation of the group's closure.
+     */
+    private DSLContributionGroup(DSLContributionGroup group, GroovyDSLDContext pattern, BindingSet matches) {
+        this.contributionClosure = group.contributionClosure == null ? null : (Closure) group.contributionClosure.clone();
+        this.memoized = null;
+        this.contributions = new ArrayList<IContributionElement>();
+        this.scope = pattern.getCurrentScope();
+        this.resolver = pattern.getResolverCache();
+        this.bindings = matches.getBindings();
+        this.currentType = pattern.getCurrentType();
+        this.wormhole = scope.getWormhole();
+        this.staticScope = pattern.isStatic();
+        this.isPrimaryExpression = pattern.isPrimaryNode();
+
+        if (contributionClosure != null) {
+            contributionClosure.setDelegate(this);
+            contributionClosure.setResolveStrategy(Closure.DELEGATE_FIRST);
+        }
+    }
+
+    public static boolean isMemoizing() {
+        return memoize;
+    }
+
+    public static void setMemoizing(boolean memoize) {
+        DSLContributionGroup.memoize = memoize;
+    }
+
+    /**
+     * This is the main entry point into the contribution. Each call evaluates the closure on its own copy of the closure with its
+     * own delegate, so a group can be evaluated by several threads at once.
      */
     public List<IContributionElement> getContributions(GroovyDSLDContext pattern, BindingSet matches) {
-        // uh oh...needs to be synchronized, or can we make this class stateless?
-        synchronized (this) {
-            List<IContributionElement> result;
-            try {
-                this.contributions = new ArrayList<IContributionElement>();
-                this.scope = pattern.getCurrentScope();
-                this.resolver = pattern.getResolverCache(); 
-                this.bindings = matches.getBindings();
-                this.currentType = pattern.getCurrentType();
-                this.wormhole = scope.getWormhole();
-                this.staticScope = pattern.isStatic();
-                this.isPrimaryExpression = pattern.isPrimaryNode();
-                contributionClosure.call();
-            } catch (Exception e) {
-                GroovyLogManager.manager.logException(TraceCategory.DSL, e);
-            } finally {
-                result = contributions;
-                // must set targetType here in case someone changed the delegate on us
-                pattern.setTargetType(currentType);
-                this.contributions = null;
-                this.scope = null;
-                this.resolver = null;
-                this.bindings = null;
-                this.currentType = null;
-                this.wormhole = null;
+        EvaluationKey key = null;
+        if (memoize) {
+            key = new EvaluationKey(pattern, matches.getBindings());
+            List<IContributionElement> result = memoized.get(key);
+            if (result != null) {
+                return result;
             }
-        return result;
         }
+
+        DSLContributionGroup evaluation = new DSLContributionGroup(this, pattern, matches);
+        boolean failed = false;
+        try {
+            if (evaluation.contributionClosure != null) {
+                evaluation.contributionClosure.call();
+            }
+        } catch (Exception e) {
+            failed = true;
+            GroovyLogManager.manager.logException(TraceCategory.DSL, e);
+        } finally {
+            // must set targetType here in case someone changed the delegate on us
+            pattern.setTargetType(evaluation.currentType);
+        }
+
+        List<IContributionElement> result = evaluation.contributions;
+        if (key != null && !failed && !evaluation.usedScope) {
+            result = Collections.unmodifiableList(result);
+            if (memoized.size() >= MAX_MEMOIZED) {
+                memoized.clear();
+            }
+            memoized.put(key, result);
+        }
+        return result;
     }
 
     
     @Override
     public Object getProperty(String property) {
         if ("wormhole".equals(property)) {
+            usedScope = true;
             return wormhole;
         } else if ("currentNode".equals(property)) {
+            usedScope = true;
             return scope.getCurrentNode();
         } else if ("enclosingNode".equals(property)) {
+            usedScope = true;
             return scope.getEnclosingNode();
         } else if ("currentType".equals(property)) {
             return currentType;
@@ -143,6 +209,7 @@ public class DSLContributionGroup extends ContributionGroup {
     void setDelegateType(Object arg) {
         ClassNode delegate = asClassNode(arg);
         if (delegate != null) {
+            usedScope = true;
             // also need to set targetType, but only if primary expression
             scope.addVariable("delegate", delegate, VariableScope.CLOSURE_CLASS);
             scope.addVariable("getDelegate", delegate, VariableScope.CLOSURE_CLASS);
@@ -546,4 +613,55 @@ public class DSLContributionGroup extends ContributionGroup {
         }
         return msg;
     }
+
+    /**
+     * What the contributions of a group can depend on when its closure does not look at the scope: the current type (including its
+     * type parameters), whether the scope is static, the module that names are resolved in and the bound values. Bound values are
+     * compared by identity, since AST nodes that are equal by name may still be different declarations.
+     */
+    private static class EvaluationKey {
+        private final String typeName;
+        private final boolean isStatic;
+        private final ResolverCache resolver;
+        private final Map<String, IdentityHashMap<Object, Object>> bindings;
+        private final int hash;
+
+        EvaluationKey(GroovyDSLDContext pattern, Map<String, Collection<Object>> matches) {
+            ClassNode type = pattern.getCurrentType();
+            typeName = type == null ? null : getTypeName(type);
+            isStatic = pattern.isStatic();
+            resolver = pattern.getResolverCache();
+            bindings = new HashMap<String, IdentityHashMap<Object, Object>>(matches.size() * 2);
+            for (Entry<String, Collection<Object>> entry : matches.entrySet()) {
+                IdentityHashMap<Object, Object> values = new IdentityHashMap<Object, Object>();
+                for (Object value : entry.getValue()) {
+                    values.put(value, Boolean.TRUE);
+                }
+                bindings.put(entry.getKey(), values);
+            }
+            int h = typeName == null ? 0 : typeName.hashCode();
+            h = 31 * h + (isStatic ? 1 : 0);
+            h = 31 * h + System.identityHashCode(resolver);
+            hash = 31 * h + bindings.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EvaluationKey)) {
+                return false;
+            }
+            EvaluationKey other = (EvaluationKey) obj;
+            return hash == other.hash && isStatic == other.isStatic && resolver == other.resolver
+                    && (typeName == null ? other.typeName == null : typeName.equals(other.typeName))
+                    && bindings.equals(other.bindings);
+        }
+    }
 }
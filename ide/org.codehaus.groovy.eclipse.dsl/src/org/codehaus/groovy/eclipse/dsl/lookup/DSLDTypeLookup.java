@@ -46,6 +46,20 @@ public class DSLDTypeLookup extends AbstractSimplifiedTypeLookup implements ITyp
 
     private static final String GORM_SIGNATURE = "Provided by Grails ORM DSL";
 
+    /**
+     * When true, files are inferred without waiting for the DSLD store of their project to be initialized. Until it is, they
+     * get fewer or no DSL contributions, and they are reconciled again once it is ready.
+     */
+    private static boolean initializeInBackground = Boolean.valueOf(System.getProperty("greclipse.dsld.initializeInBackground", "false"));
+
+    public static boolean isInitializingInBackground() {
+        return initializeInBackground;
+    }
+
+    public static void setInitializeInBackground(boolean inBackground) {
+        initializeInBackground = inBackground;
+    }
+
     DSLDStoreManager contextStoreManager = GroovyDSLCoreActivator.getDefault().getContextStoreManager();
 
     private DSLDStore store;
@@ -61,9 +75,14 @@ public class DSLDTypeLookup extends AbstractSimplifiedTypeLookup implements ITyp
 
     public void initialize(GroovyCompilationUnit unit, VariableScope topLevelScope) {
         
-        // run referesh dependencies synchronously if DSLD store doesn't exist yet
         final IProject project = unit.getJavaProject().getProject();
-        contextStoreManager.ensureInitialized(project, true);
+        if (initializeInBackground) {
+            // go ahead with whatever is in the store, the file is reconciled again when the store is ready
+            contextStoreManager.ensureInitializedInBackground(project);
+        } else {
+            // run referesh dependencies synchronously if DSLD store doesn't exist yet
+            contextStoreManager.ensureInitialized(project, true);
+        }
         
         disabledScriptsAsSet = DSLPreferences.getDisabledScriptsAsSet();
         try {
@@ -76,6 +95,14 @@ public class DSLDTypeLookup extends AbstractSimplifiedTypeLookup implements ITyp
         store = store.createSubStore(pattern);
     }
 
+    /**
+     * Nothing is contributed to a unit that no pointcut of the store can match
+     */
+    @Override
+    public boolean mayAnswer(Class<? extends Expression> expressionClass) {
+        return store != null && !store.isEmpty() && super.mayAnswer(expressionClass);
+    }
+
     // FIXADE Should shortcut if we find a solution earlier.
     @Override
     protected TypeAndDeclaration lookupTypeAndDeclaration(ClassNode declaringType, String name, VariableScope scope) {
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2015 Codehaus.org, SpringSource, and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *      SpringSource - Initial implemenation
+ *******************************************************************************/
+package org.codehaus.groovy.eclipse.dsl.lookup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.MethodNode;
+
+/**
+ * Facts about {@link ClassNode}s that DSLD pointcuts ask for over and over while a file is inferred: the supertypes, the methods by
+ * name, the fields and the annotations of a type. The facts are worked out once per type.
+ * <p>
+ * Each {@link org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext} has its own cache, so the cache only lives as long as the
+ * inferencing of one module and never keeps the class nodes of an old AST alive. Like the context, it is used by one thread at a
+ * time. Types are compared by identity. All returned collections are unmodifiable.
+ */
+public class TypeFactsCache {
+
+    /**
+     * Each fact is computed the first time it is needed.
+     */
+    private static final class TypeFacts {
+        private Set<ClassNode> supertypes;
+        private Map<String, List<MethodNode>> methodsByName;
+        private List<MethodNode> methods;
+        private List<FieldNode> fields;
+        private List<AnnotationNode> annotations;
+    }
+
+    // ClassNode.equals only compares names, but nodes with the same name may be different versions of a type
+    private final Map<ClassNode, TypeFacts> facts = new IdentityHashMap<ClassNode, TypeFacts>();
+
+    private TypeFacts getFacts(ClassNode type) {
+        TypeFacts typeFacts = facts.get(type);
+        if (typeFacts == null) {
+            typeFacts = new TypeFacts();
+            facts.put(type, typeFacts);
+        }
+        return typeFacts;
+    }
+
+    /**
+     * @return the type itself, its super classes and all the interfaces it implements, without duplicate names
+     */
+    public Set<ClassNode> getSupertypes(ClassNode type) {
+        TypeFacts typeFacts = getFacts(type);
+        if (typeFacts.supertypes == null) {
+            Set<ClassNode> supertypes = new LinkedHashSet<ClassNode>();
+            collectSupertypes(type, supertypes);
+            typeFacts.supertypes = Collections.unmodifiableSet(supertypes);
+        }
+        return typeFacts.supertypes;
+    }
+
+    private static void collectSupertypes(ClassNode type, Set<ClassNode> set) {
+        if (type == null || !set.add(type)) {
+            return;
+        }
+        collectSupertypes(type.getSuperClass(), set);
+        for (ClassNode inter : type.getAllInterfaces()) {
+            if (!inter.getName().equals(type.getName())) {
+                collectSupertypes(inter, set);
+            }
+        }
+    }
+
+    public List<MethodNode> getMethods(ClassNode type) {
+        TypeFacts typeFacts = getFacts(type);
+        if (typeFacts.methods == null) {
+            typeFacts.methods = Collections.unmodifiableList(new ArrayList<MethodNode>(type.getMethods()));
+        }
+        return typeFacts.methods;
+    }
+
+    /**
+     * @return the methods declared by the type with the given name, possibly an empty list
+     */
+    public List<MethodNode> getMethods(ClassNode type, String name) {
+        TypeFacts typeFacts = getFacts(type);
+        Map<String, List<MethodNode>> byName = typeFacts.methodsByName;
+        if (byName == null) {
+            byName = new HashMap<String, List<MethodNode>>();
+            for (MethodNode method : getMethods(type)) {
+                List<MethodNode> named = byName.get(method.getName());
+                if (named == null) {
+                    named = new ArrayList<MethodNode>(1);
+                    byName.put(method.getName(), named);
+                }
+                named.add(method);
+            }
+            for (Map.Entry<String, List<MethodNode>> entry : byName.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            typeFacts.methodsByName = byName;
+        }
+        List<MethodNode> named = byName.get(name);
+        return named == null ? Collections.<MethodNode> emptyList() : named;
+    }
+
+    public List<FieldNode> getFields(ClassNode type) {
+        TypeFacts typeFacts = getFacts(type);
+        if (typeFacts.fields == null) {
+            typeFacts.fields = Collections.unmodifiableList(new ArrayList<FieldNode>(type.getFields()));
+        }
+        return typeFacts.fields;
+    }
+
+    public List<AnnotationNode> getAnnotations(ClassNode type) {
+        TypeFacts typeFacts = getFacts(type);
+        if (typeFacts.annotations == null) {
+            typeFacts.annotations = Collections.unmodifiableList(new ArrayList<AnnotationNode>(type.getAnnotations()));
+        }
+        return typeFacts.annotations;
+    }
+}
@@ -17,6 +17,7 @@ import java.util.Set;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.eclipse.dsl.lookup.ResolverCache;
+import org.codehaus.groovy.eclipse.dsl.lookup.TypeFactsCache;
 import org.codehaus.jdt.groovy.internal.compiler.ast.JDTResolver;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
 import org.eclipse.core.resources.IResource;
@@ -61,6 +62,9 @@ public class GroovyDSLDContext {
     /** will be null if this object created from deprecated API */
     private ResolverCache resolverCache;
 
+    /** facts about the types seen while this module is inferred */
+    private final TypeFactsCache typeFacts = new TypeFactsCache();
+
     private BindingSet currentBinding;
 
     private VariableScope currentScope;
@@ -264,6 +268,10 @@ public class GroovyDSLDContext {
         return resolverCache;
     }
 
+    public TypeFactsCache getTypeFacts() {
+        return typeFacts;
+    }
+
     public boolean isPrimaryNode() {
         return isPrimaryNode;
     }
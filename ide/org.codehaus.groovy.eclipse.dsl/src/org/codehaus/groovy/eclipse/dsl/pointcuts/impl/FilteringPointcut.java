@@ -45,7 +45,7 @@ public abstract class FilteringPointcut<T> extends AbstractPointcut {
     @Override
     public Collection<?> matches(GroovyDSLDContext pattern, Object toMatch) {
         
-        Collection<T> explodedList = explodeObject(toMatch);
+        Collection<T> explodedList = explodeObject(toMatch, pattern);
         if (explodedList == null || explodedList.size() == 0) {
             // nothing to match on, return failure
             return null;
@@ -110,6 +110,14 @@ public abstract class FilteringPointcut<T> extends AbstractPointcut {
     protected abstract T filterObject(T result, GroovyDSLDContext context, String firstArgAsString);
 
 
+    /**
+     * Like {@link #explodeObject(Object)}, for subclasses that look things up
+     * in the {@link GroovyDSLDContext#getTypeFacts() type facts} of the pattern
+     */
+    protected Collection<T> explodeObject(Object toMatch, GroovyDSLDContext pattern) {
+        return explodeObject(toMatch);
+    }
+
     /**
      * Converts element to a collection of the {@link #filterBy} type.
      * or returns null if no match
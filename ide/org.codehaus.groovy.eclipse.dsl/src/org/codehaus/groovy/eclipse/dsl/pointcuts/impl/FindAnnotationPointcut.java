@@ -17,6 +17,7 @@ import java.util.List;
 
 import org.codehaus.groovy.ast.AnnotatedNode;
 import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
 import org.eclipse.core.resources.IStorage;
 
@@ -43,16 +44,18 @@ public class FindAnnotationPointcut extends FilteringPointcut<AnnotationNode> {
      * @param toMatch the object to explode
      */
     @Override
-    protected Collection<AnnotationNode> explodeObject(Object toMatch) {
+    protected Collection<AnnotationNode> explodeObject(Object toMatch, GroovyDSLDContext pattern) {
         if (toMatch instanceof Collection<?>) {
             List<AnnotationNode> annotations = new ArrayList<AnnotationNode>();
             for (Object elt : (Collection<?>) toMatch) {
-                Collection<AnnotationNode> explodedElt = explodeObject(elt);
+                Collection<AnnotationNode> explodedElt = explodeObject(elt, pattern);
                 if (explodedElt != null) {
                     annotations.addAll(explodedElt);
                 }
             }
             return annotations;
+        } else if (toMatch instanceof ClassNode) {
+            return pattern.getTypeFacts().getAnnotations((ClassNode) toMatch);
         } else if (toMatch instanceof AnnotatedNode) {
             return ((AnnotatedNode) toMatch).getAnnotations();
         } else if (toMatch instanceof AnnotationNode) {
@@ -40,19 +40,19 @@ public class FindFieldPointcut extends FilteringPointcut<FieldNode> {
      * @param toMatch the object to explode
      */
     @Override
-    protected Collection<FieldNode> explodeObject(Object toMatch) {
+    protected Collection<FieldNode> explodeObject(Object toMatch, GroovyDSLDContext pattern) {
         if (toMatch instanceof Collection<?>) {
             List<FieldNode> fields = new ArrayList<FieldNode>();
             for (Object elt : (Collection<?>) toMatch) {
                 if (elt instanceof FieldNode) {
                     fields.add((FieldNode) elt);
                 } else if (elt instanceof ClassNode) {
-                    fields.addAll(((ClassNode) elt).getFields());
+                    fields.addAll(pattern.getTypeFacts().getFields((ClassNode) elt));
                 }
             }
             return fields;
         } else if (toMatch instanceof ClassNode) {
-        	return ClassHelper.getWrapper((ClassNode) toMatch).getFields();
+        	return pattern.getTypeFacts().getFields(ClassHelper.getWrapper((ClassNode) toMatch));
         } else if (toMatch instanceof FieldNode) {
             return Collections.singleton((FieldNode) toMatch);
         }
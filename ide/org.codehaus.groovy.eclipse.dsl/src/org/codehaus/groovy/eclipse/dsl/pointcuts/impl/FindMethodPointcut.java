@@ -19,6 +19,7 @@ import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.FieldNode;
 import org.codehaus.groovy.ast.MethodNode;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.GroovyDSLDContext;
+import org.codehaus.groovy.eclipse.dsl.pointcuts.IPointcut;
 import org.eclipse.core.resources.IStorage;
 
 /**
@@ -40,19 +41,19 @@ public class FindMethodPointcut extends FilteringPointcut<MethodNode> {
      * @param toMatch the object to explode
      */
     @Override
-    protected Collection<MethodNode> explodeObject(Object toMatch) {
+    protected Collection<MethodNode> explodeObject(Object toMatch, GroovyDSLDContext pattern) {
         if (toMatch instanceof Collection<?>) {
             List<MethodNode> methods = new ArrayList<MethodNode>();
             for (Object elt : (Collection<?>) toMatch) {
                 if (elt instanceof MethodNode) {
                     methods.add((MethodNode) elt);
                 } else if (elt instanceof ClassNode) {
-                    methods.addAll(((ClassNode) elt).getMethods());
+                    methods.addAll(pattern.getTypeFacts().getMethods((ClassNode) elt));
                 }
             }
             return methods;
         } else if (toMatch instanceof ClassNode) {
-            return ((ClassNode) toMatch).getMethods();
+            return pattern.getTypeFacts().getMethods((ClassNode) toMatch);
         } else if (toMatch instanceof FieldNode) {
             return Collections.singleton((MethodNode) toMatch);
         }
@@ -60,6 +61,20 @@ public class FindMethodPointcut extends FilteringPointcut<MethodNode> {
     }
     
     
+    @Override
+    public Collection<?> matches(GroovyDSLDContext pattern, Object toMatch) {
+        // common case of a single type and a method name, look the methods up by name
+        Object first = getFirstArgument();
+        if (toMatch instanceof ClassNode && !(first instanceof IPointcut)) {
+            String name = asString(first);
+            if (name != null) {
+                // the cached list is shared and unmodifiable, callers get their own copy as from filterResult
+                return reduce(new ArrayList<MethodNode>(pattern.getTypeFacts().getMethods((ClassNode) toMatch, name)));
+            }
+        }
+        return super.matches(pattern, toMatch);
+    }
+
     @Override
     protected MethodNode filterObject(MethodNode result, GroovyDSLDContext context, String firstArgAsString) {
         if (firstArgAsString == null || result.getName().equals(firstArgAsString)) {
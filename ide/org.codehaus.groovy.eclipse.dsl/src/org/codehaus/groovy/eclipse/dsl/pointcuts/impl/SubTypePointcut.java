@@ -11,10 +11,7 @@
 package org.codehaus.groovy.eclipse.dsl.pointcuts.impl;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.codehaus.groovy.ast.ClassNode;
@@ -31,8 +28,6 @@ import org.eclipse.core.resources.IStorage;
  */
 public class SubTypePointcut extends FilteringPointcut<ClassNode> {
     
-    private Map<ClassNode, Set<ClassNode>> cachedHierarchies = new HashMap<ClassNode, Set<ClassNode>>();
-
     public SubTypePointcut(IStorage containerIdentifier, String pointcutName) {
         super(containerIdentifier, pointcutName, ClassNode.class);
     }
@@ -44,17 +39,17 @@ public class SubTypePointcut extends FilteringPointcut<ClassNode> {
      * @param toMatch the object to explode
      */
     @Override
-    protected Collection<ClassNode> explodeObject(Object toMatch) {
+    protected Collection<ClassNode> explodeObject(Object toMatch, GroovyDSLDContext pattern) {
         if (toMatch instanceof Collection<?>) {
             Set<ClassNode> classes = new LinkedHashSet<ClassNode>();
             for (Object elt : (Collection<?>) toMatch) {
                 if (elt instanceof ClassNode) {
-                    classes.addAll(getAllSupers((ClassNode) elt));
+                    classes.addAll(getAllSupers((ClassNode) elt, pattern));
                 }
             }
             return classes;
         } else if (toMatch instanceof ClassNode) {
-            return getAllSupers(((ClassNode) toMatch));
+            return getAllSupers(((ClassNode) toMatch), pattern);
         }
         return null;
     }
@@ -68,26 +63,7 @@ public class SubTypePointcut extends FilteringPointcut<ClassNode> {
         }
     }
     
-    private Set<ClassNode> getAllSupers(ClassNode type) {
-        Set<ClassNode> cached = cachedHierarchies.get(type);
-        if (cached == null) {
-            cached = new HashSet<ClassNode>();
-            internalGetAllSupers(type, cached);
-            cachedHierarchies.put(type, cached);
-        }
-        return cached;
-    }
-    
-    private void internalGetAllSupers(ClassNode type, Set<ClassNode> set) {
-        if (type == null) {
-            return;
-        }
-        set.add(type);
-        internalGetAllSupers(type.getSuperClass(), set);
-        for (ClassNode inter : type.getAllInterfaces()) {
-            if (! inter.getName().equals(type.getName())) {
-                internalGetAllSupers(inter, set);
-            }
-        }
+    private Set<ClassNode> getAllSupers(ClassNode type, GroovyDSLDContext pattern) {
+        return pattern.getTypeFacts().getSupertypes(type);
     }
 }
\ No newline at end of file
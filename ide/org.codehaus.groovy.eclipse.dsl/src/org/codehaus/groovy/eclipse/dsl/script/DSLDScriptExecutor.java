@@ -12,7 +12,6 @@ package org.codehaus.groovy.eclipse.dsl.script;
 
 import groovy.lang.Binding;
 import groovy.lang.Closure;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.MissingMethodException;
 import groovy.lang.Script;
 
@@ -29,6 +28,11 @@ import java.util.Map.Entry;
 
 import org.codehaus.groovy.eclipse.GroovyLogManager;
 import org.codehaus.groovy.eclipse.TraceCategory;
+import org.codehaus.groovy.eclipse.dsl.DSLDLibraryCache;
+import org.codehaus.groovy.eclipse.dsl.DSLDLibraryCache.ArchiveState;
+import org.codehaus.groovy.eclipse.dsl.DSLDStore;
+import org.codehaus.groovy.eclipse.dsl.DSLDStoreSnapshots;
+import org.codehaus.groovy.eclipse.dsl.DSLDStoreSnapshots.RecordingClassLoader;
 import org.codehaus.groovy.eclipse.dsl.GroovyDSLCoreActivator;
 import org.codehaus.groovy.eclipse.dsl.pointcuts.IPointcut;
 import org.eclipse.core.internal.resources.ResourceException;
@@ -207,18 +211,33 @@ public class DSLDScriptExecutor {
         }
     }
     
-    private final GroovyClassLoader gcl;
+    private final RecordingClassLoader gcl;
     private final IJavaProject project;
+    private final DSLDLibraryCache libraryCache;
+    private final DSLDStoreSnapshots snapshots;
     private PointcutFactory factory;
     private IStorage scriptFile;
     
     public DSLDScriptExecutor(IJavaProject project) {
         // FIXADE Should have one classloader per project
-        gcl = new GroovyClassLoader(GroovyDSLCoreActivator.class.getClassLoader());
+        gcl = new RecordingClassLoader(GroovyDSLCoreActivator.class.getClassLoader());
         this.project = project;
+        this.libraryCache = GroovyDSLCoreActivator.getDefault().getLibraryCache();
+        this.snapshots = GroovyDSLCoreActivator.getDefault().getStoreSnapshots();
     }
 
     public Object executeScript(IStorage scriptFile) {
+        return executeScript(scriptFile, null);
+    }
+
+    /**
+     * Compiles and runs the script.
+     *
+     * @param store if not null, the pointcuts that the script registered before are removed from this store just before the script
+     *        runs again. The store is locked while the script runs, but not while it is compiled, so that inference using the store
+     *        never sees the store without the script's pointcuts for long.
+     */
+    public Object executeScript(IStorage scriptFile, DSLDStore store) {
         this.scriptFile = scriptFile;
         String event = null;
         try {
@@ -230,32 +249,60 @@ public class DSLDScriptExecutor {
             factory = new PointcutFactory(scriptFile, project.getProject());
             Object result = null;
             try {
-                String scriptContents = getContents(scriptFile);
-                Class<Script> clazz = null;
-                try {
-                    clazz = gcl.parseClass(scriptContents, scriptFile.getName());
-                } catch (Exception e) {
-                    if (GroovyLogManager.manager.hasLoggers()) {
-                        StringWriter writer = new StringWriter();
-                        e.printStackTrace(new PrintWriter(writer));
-                        GroovyLogManager.manager.log(TraceCategory.DSL, "Attempted to compile " + scriptFile + "but failed because:\n" +
-                                writer.getBuffer());
+                // scripts in archives are compiled once and shared by all projects using the archive
+                ArchiveState archive = DSLDLibraryCache.getArchiveState(scriptFile);
+                String entry = scriptFile.getFullPath().toPortableString();
+                Class<Script> clazz = archive == null ? null : libraryCache.getScript(archive, entry);
+                String scriptContents = null, identity = null, hash = null;
+                if (clazz == null && DSLDStoreSnapshots.isEnabled()) {
+                    // compiled in an earlier session and not changed since
+                    scriptContents = getContents(scriptFile);
+                    identity = DSLDStoreSnapshots.getIdentity(scriptFile);
+                    hash = DSLDStoreSnapshots.hash(scriptContents);
+                    clazz = snapshots.getScript(project.getProject(), identity, hash);
+                    if (clazz != null && archive != null) {
+                        libraryCache.putScript(archive, entry, clazz);
+                    }
+                }
+                if (clazz == null) {
+                    if (scriptContents == null) {
+                        scriptContents = getContents(scriptFile);
+                    }
+                    try {
+                        gcl.takeCompiled();
+                        clazz = gcl.parseClass(scriptContents, scriptFile.getName());
+                        if (hash != null && clazz != null && Script.class.isAssignableFrom(clazz)) {
+                            snapshots.putScript(project.getProject(), identity, hash, clazz.getName(), gcl.takeCompiled());
+                        }
+                    } catch (Exception e) {
+                        if (GroovyLogManager.manager.hasLoggers()) {
+                            StringWriter writer = new StringWriter();
+                            e.printStackTrace(new PrintWriter(writer));
+                            GroovyLogManager.manager.log(TraceCategory.DSL, "Attempted to compile " + scriptFile + "but failed because:\n" +
+                                    writer.getBuffer());
+                        }
+                    }
+                    if (clazz != null && archive != null && Script.class.isAssignableFrom(clazz)) {
+                        libraryCache.putScript(archive, entry, clazz);
                     }
-                    return result;
                 }
                 
-                
-                if (!Script.class.isAssignableFrom(clazz)) {
+                if (clazz != null && !Script.class.isAssignableFrom(clazz)) {
                     // might be some strange compile error
                     // or a class is accidentally defined
                     if (GroovyLogManager.manager.hasLoggers()) {
                         GroovyLogManager.manager.log(TraceCategory.DSL, "Class " + scriptFile + " is not a script.  Can't execute as DSLD.");
                     }
-                    return result;
+                    clazz = null;
+                }
+                if (store == null) {
+                    result = runScript(clazz);
+                } else {
+                    synchronized (store) {
+                        store.purgeIdentifier(scriptFile);
+                        result = runScript(clazz);
+                    }
                 }
-                Script dsldScript = clazz.newInstance();
-                dsldScript.setBinding(new DSLDScriptBinding(dsldScript));
-                result = dsldScript.run();
             } catch (UnsupportedDSLVersion e) {
                 if (GroovyLogManager.manager.hasLoggers()) {
                     GroovyLogManager.manager.log(TraceCategory.DSL, e.getMessage());
@@ -272,6 +319,15 @@ public class DSLDScriptExecutor {
         }
     }
 
+    private Object runScript(Class<Script> clazz) throws Exception {
+        if (clazz == null) {
+            return null;
+        }
+        Script dsldScript = clazz.newInstance();
+        dsldScript.setBinding(new DSLDScriptBinding(dsldScript));
+        return dsldScript.run();
+    }
+
     public String getContents(IStorage file) throws IOException, CoreException {
         BufferedReader br;
         try {
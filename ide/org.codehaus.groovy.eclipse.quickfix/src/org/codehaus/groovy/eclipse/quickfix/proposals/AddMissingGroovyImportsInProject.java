@@ -0,0 +1,168 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.quickfix.proposals;
+
+import greclipse.org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.codehaus.groovy.eclipse.refactoring.actions.OrganizeGroovyImports.UnresolvedTypeData;
+import org.codehaus.groovy.eclipse.refactoring.actions.TypeSearch;
+import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.SubProgressMonitor;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModelMarker;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+/**
+ * Adds the missing imports of all Groovy compilation units of a project at
+ * once. The unresolved names are collected from the problem markers of the
+ * last build, so that no unit needs to be parsed, and all of them are looked
+ * up with a single type name search rather than one search per problem.
+ * Names with more than one candidate type are left alone, the quick fix for
+ * the single problem lets the user choose between them.
+ * <p>
+ * The imports of all units are added as one undoable change.
+ */
+public class AddMissingGroovyImportsInProject {
+
+	private final IJavaProject project;
+
+	public AddMissingGroovyImportsInProject(IJavaProject project) {
+		this.project = project;
+	}
+
+	/**
+	 * @return the unresolved simple names of each Groovy compilation unit of
+	 *         the project that has missing import problems
+	 */
+	public Map<GroovyCompilationUnit, Set<String>> findUnresolvedNames()
+			throws CoreException {
+		Map<GroovyCompilationUnit, Set<String>> namesByUnit = new LinkedHashMap<GroovyCompilationUnit, Set<String>>();
+		IMarker[] markers = project.getProject().findMarkers(
+				IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false,
+				IResource.DEPTH_INFINITE);
+		for (IMarker marker : markers) {
+			String message = marker.getAttribute(IMarker.MESSAGE, null);
+			int id = marker.getAttribute(IJavaModelMarker.ID, -1);
+			if (message == null
+					|| ProblemType.getProblemType(id, marker.getType(),
+							new String[] { message }) != ProblemType.MISSING_IMPORTS_TYPE) {
+				continue;
+			}
+			IJavaElement element = JavaCore.create(marker.getResource());
+			String simpleName = AddMissingGroovyImportsResolver
+					.getUnresolvedSimpleName(message);
+			if (!(element instanceof GroovyCompilationUnit)
+					|| simpleName == null) {
+				continue;
+			}
+			Set<String> names = namesByUnit.get(element);
+			if (names == null) {
+				names = new LinkedHashSet<String>();
+				namesByUnit.put((GroovyCompilationUnit) element, names);
+			}
+			names.add(simpleName);
+		}
+		return namesByUnit;
+	}
+
+	/**
+	 * Adds an import for every unresolved name that has exactly one candidate
+	 * type on the classpath of the project.
+	 * 
+	 * @return the number of imports added
+	 */
+	public int run(IProgressMonitor monitor) throws CoreException {
+		if (monitor == null) {
+			monitor = new NullProgressMonitor();
+		}
+		monitor.beginTask("Adding missing imports", 3);
+		try {
+			Map<GroovyCompilationUnit, Set<String>> namesByUnit = findUnresolvedNames();
+			if (namesByUnit.isEmpty()) {
+				return 0;
+			}
+
+			Map<String, UnresolvedTypeData> unresolvedTypes = new HashMap<String, UnresolvedTypeData>();
+			for (Set<String> names : namesByUnit.values()) {
+				for (String name : names) {
+					if (!unresolvedTypes.containsKey(name)) {
+						unresolvedTypes.put(name, new UnresolvedTypeData(name,
+								false, new SourceRange(0, name.length())));
+					}
+				}
+			}
+			new TypeSearch().searchForTypes(project, unresolvedTypes,
+					new SubProgressMonitor(monitor, 1));
+
+			int added = 0;
+			CompositeChange change = new CompositeChange("Add missing imports");
+			for (Map.Entry<GroovyCompilationUnit, Set<String>> entry : namesByUnit
+					.entrySet()) {
+				GroovyCompilationUnit unit = entry.getKey();
+				ImportRewrite rewrite = ImportRewrite.create(unit, true);
+				for (String name : entry.getValue()) {
+					List<TypeNameMatch> matches = unresolvedTypes.get(name)
+							.getFoundInfos();
+					if (matches.size() == 1) {
+						rewrite.addImport(matches.get(0).getType()
+								.getFullyQualifiedName('.'));
+						added += 1;
+					}
+				}
+				if (rewrite.hasRecordedChanges()) {
+					TextFileChange fileChange = new TextFileChange(
+							unit.getElementName(), (IFile) unit.getResource());
+					fileChange.setEdit(rewrite.rewriteImports(null));
+					change.add(fileChange);
+				}
+			}
+			monitor.worked(1);
+
+			if (added > 0) {
+				change.initializeValidationData(new SubProgressMonitor(monitor, 0));
+				PerformChangeOperation operation = new PerformChangeOperation(change);
+				operation.setUndoManager(RefactoringCore.getUndoManager(),
+						change.getName());
+				ResourcesPlugin.getWorkspace().run(operation,
+						new SubProgressMonitor(monitor, 1));
+			}
+			return added;
+		} finally {
+			monitor.done();
+		}
+	}
+}
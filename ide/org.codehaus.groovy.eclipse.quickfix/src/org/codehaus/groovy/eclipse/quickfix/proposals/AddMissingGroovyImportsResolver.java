@@ -50,6 +50,14 @@ import org.eclipse.text.edits.TextEdit;
  */
 public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
 
+	private static final Pattern WORD = Pattern.compile("\\b\\w+\\b");
+
+	/**
+	 * Relevance of the proposal to add the missing imports of the whole
+	 * project, below that of any single type suggestion
+	 */
+	private static final int IN_PROJECT_RELEVANCE = -1;
+
 	public AddMissingGroovyImportsResolver(QuickFixProblemContext problem) {
 		super(problem);
 	}
@@ -122,6 +130,42 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
 		}
 	}
 
+	/**
+	 * Adds every missing import in the project of the problem that has
+	 * exactly one candidate type.
+	 * 
+	 * @see AddMissingGroovyImportsInProject
+	 */
+	public static class AddMissingImportsInProjectProposal extends
+			AbstractGroovyQuickFixProposal {
+
+		private GroovyCompilationUnit unit;
+
+		public AddMissingImportsInProjectProposal(GroovyCompilationUnit unit,
+				QuickFixProblemContext problem, int relevance) {
+			super(problem, relevance);
+			this.unit = unit;
+		}
+
+		protected String getImageBundleLocation() {
+			return org.eclipse.jdt.internal.ui.JavaPluginImages.IMG_OBJS_IMPDECL;
+		}
+
+		public void apply(IDocument document) {
+			try {
+				new AddMissingGroovyImportsInProject(unit.getJavaProject())
+						.run(null);
+			} catch (CoreException e) {
+				GroovyQuickFixPlugin.log(e);
+			}
+		}
+
+		public String getDisplayString() {
+			return "Add all unambiguous missing imports in project '"
+					+ unit.getJavaProject().getElementName() + "'";
+		}
+	}
+
 	protected ProblemType[] getTypes() {
 		return new ProblemType[] { ProblemType.MISSING_IMPORTS_TYPE };
 	}
@@ -185,12 +229,23 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
 		if (messages == null || messages.length == 0) {
 			return null;
 		}
+		return getUnresolvedSimpleName(messages[0]);
+	}
 
+	/**
+	 * Obtain the simple name of the unresolved type from the message of a
+	 * missing import problem
+	 * 
+	 * @param message
+	 *            of a problem of type {@link ProblemType#MISSING_IMPORTS_TYPE}
+	 * @return top level simple name of the unresolved type, or null if the
+	 *         message does not name one
+	 */
+	public static String getUnresolvedSimpleName(String message) {
 		for (String text : ProblemType.MISSING_IMPORTS_TYPE.groovyProblemSnippets) {
-			int startIndex = messages[0].indexOf(text);
+			int startIndex = message.indexOf(text);
 			if (startIndex >= 0) {
-				Pattern pattern = Pattern.compile("\\b\\w+\\b");
-				Matcher matcher = pattern.matcher(messages[0].substring(startIndex + text.length()));
+				Matcher matcher = WORD.matcher(message.substring(startIndex + text.length()));
 				if (matcher.find()) {
 					return getTopLevelType(matcher.group());
 				}
@@ -237,6 +292,11 @@ public class AddMissingGroovyImportsResolver extends AbstractQuickFixResolver {
 						getGroovyCompilationUnit(), getQuickFixProblem(),
 						revelance));
 			}
+			if (!fixes.isEmpty()) {
+				fixes.add(new AddMissingImportsInProjectProposal(
+						getGroovyCompilationUnit(), getQuickFixProblem(),
+						IN_PROJECT_RELEVANCE));
+			}
 			return fixes;
 		}
 
@@ -16,6 +16,7 @@ package org.codehaus.groovy.eclipse.quickfix.proposals;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.groovy.core.GroovyProblemIds;
 
 /**
  * A descriptor that represents a Java or Eclipse resource problem (compilation problem, etc..)
@@ -29,11 +30,14 @@ public enum ProblemType {
     MISSING_SEMI_COLON_TYPE(IProblem.ParsingErrorInsertToComplete, (String[]) null),
     MISSING_SEMI_COLON_TYPE_VARIANT(IProblem.ParsingErrorInsertTokenAfter, (String[]) null),
     
-    MISSING_IMPORTS_TYPE("Groovy:unable to resolve class", "Groovy:[Static type checking] - The variable"),
-    UNIMPLEMENTED_METHODS_TYPE("Groovy:Can't have an abstract method in a non-abstract class."), 
+    MISSING_IMPORTS_TYPE(new int[] { GroovyProblemIds.UNRESOLVED_CLASS, GroovyProblemIds.STC_UNDECLARED_VARIABLE },
+            "Groovy:unable to resolve class", "Groovy:[Static type checking] - The variable"),
+    UNIMPLEMENTED_METHODS_TYPE(new int[] { GroovyProblemIds.ABSTRACT_METHOD_IN_CONCRETE_CLASS },
+            "Groovy:Can't have an abstract method in a non-abstract class."), 
     MISSING_CLASSPATH_CONTAINER_TYPE(IProblem.IsClassPathCorrect, "groovy.lang.GroovyObject", "groovy.lang.MetaClass"),
 
-    STATIC_TYPE_CHECKING_CANNOT_ASSIGN("Groovy:[Static type checking] - Cannot assign value of type",
+    STATIC_TYPE_CHECKING_CANNOT_ASSIGN(new int[] { GroovyProblemIds.STC_CANNOT_ASSIGN, GroovyProblemIds.STC_CANNOT_RETURN },
+            "Groovy:[Static type checking] - Cannot assign value of type",
     		"Groovy:[Static type checking] - Cannot return value of type");
 
     /**
@@ -49,33 +53,49 @@ public enum ProblemType {
     public final int problemId;
 
     /**
-     * A bit of text that uniquely describes the groovy compiler problem
-     * Only necessary because groovy problems do not have a unique id.
+     * The {@link GroovyProblemIds} of the groovy compiler problems of this type, or an empty array
+     * for Java problems.
+     */
+    public final int groovyProblemIds[];
+
+    /**
+     * A bit of text that uniquely describes the groovy compiler problem.
+     * Only needed for problems recorded before groovy problems had their own ids, which
+     * all have {@link #GROOVY_PROBLEM_ID}.
      */
     public final String groovyProblemSnippets[];
 
-    public static final int GROOVY_PROBLEM_ID = 0;
+    public static final int GROOVY_PROBLEM_ID = GroovyProblemIds.GROOVY_PROBLEM;
     
-    /** Constructor for groovy problems. Can only be distinguished by */
-    private ProblemType(String ... groovyProblemSnippets) {
+    /** Constructor for groovy problems. Distinguished by their ids, or by their message if they have none */
+    private ProblemType(int[] groovyProblemIds, String ... groovyProblemSnippets) {
         this(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER,
-                GROOVY_PROBLEM_ID, groovyProblemSnippets);
+                GROOVY_PROBLEM_ID, groovyProblemIds, groovyProblemSnippets);
     }
 
     private ProblemType(int problemID, String ... groovyProblemSnippets) {
         this(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, problemID,
-                groovyProblemSnippets);
+                new int[0], groovyProblemSnippets);
     }
 
-    private ProblemType(String markerType, int problemID,
+    private ProblemType(String markerType, int problemID, int[] groovyProblemIds,
             String ... groovyProblemSnippets) {
         this.markerType = markerType;
         this.problemId = problemID;
+        this.groovyProblemIds = groovyProblemIds;
         this.groovyProblemSnippets = groovyProblemSnippets;
     }
 
     private boolean matches(int problemID, String markerType, String[] messages) {
-        if (this.problemId == problemID && this.markerType.equals(markerType)) {
+        if (!this.markerType.equals(markerType)) {
+            return false;
+        }
+        for (int groovyProblemId : groovyProblemIds) {
+            if (groovyProblemId == problemID) {
+                return true;
+            }
+        }
+        if (this.problemId == problemID) {
             if (groovyProblemSnippets == null) {
                 // we don't care about the snippet. let all problems match
                 return true;
@@ -102,16 +122,21 @@ public enum ProblemType {
     }
 
     /**
-     * @param problemId2
-     * @return true iff the problemId is recognized by at least one of the problem types
-     * This not entirely useful since all Groovy problems have the same problemId regardless of
-     * whether or not they can be handled by a QuickFix handler
+     * @param problemId
+     * @return true iff the problemId is recognized by at least one of the problem types.
+     * Groovy problems without a more specific id all have {@link #GROOVY_PROBLEM_ID}, which
+     * is recognized whether or not a QuickFix handler can handle them
      */
     public static boolean isRecognizedProblemId(int problemId) {
         for (ProblemType problemType : values()) {
             if (problemType.problemId == problemId) {
                 return true;
             }
+            for (int groovyProblemId : problemType.groovyProblemIds) {
+                if (groovyProblemId == problemId) {
+                    return true;
+                }
+            }
         }
         return false;
     }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -46,7 +47,10 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
 import org.eclipse.ltk.core.refactoring.TextChange;
 import org.eclipse.ltk.core.refactoring.TextEditChangeGroup;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.ISharableParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringArguments;
 import org.eclipse.ltk.core.refactoring.participants.RefactoringProcessor;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
 import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
 import org.eclipse.text.edits.MultiTextEdit;
 import org.eclipse.text.edits.ReplaceEdit;
@@ -64,13 +68,20 @@ import org.eclipse.text.edits.TextEditGroup;
  * Renames accesses to synthetic groovy properties that are backed by a getter,
  * setter, and/or isser.
  *
+ * The participant is shared, so when a field is renamed together with its
+ * getter and setter, the references of all of them are found with a single
+ * search.
+ *
  * @author andrew
  * @created Oct 31, 2012
  */
-public class SyntheticAccessorsRenameParticipant extends RenameParticipant {
+public class SyntheticAccessorsRenameParticipant extends RenameParticipant implements ISharableParticipant {
 
     private IMember renameTarget;
 
+    // other elements renamed by the same refactoring -> their new names
+    private final Map<IMember, String> otherTargets = new LinkedHashMap<IMember, String>();
+
     private List<SearchMatch> matches;
 
     @Override
@@ -202,12 +213,27 @@ public class SyntheticAccessorsRenameParticipant extends RenameParticipant {
      */
     @Override
     protected boolean initialize(Object element) {
-        if (element instanceof IMethod || element instanceof IField) {
+        if (isGroovySourceMember(element)) {
             renameTarget = (IMember) element;
-            if (!renameTarget.isReadOnly()
-                    && GroovyNature.hasGroovyNature(renameTarget.getJavaProject().getProject())) {
-                return true;
-            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Other elements of the refactoring are only searched for with the same
+     * checks as the first one.
+     */
+    public void addElement(Object element, RefactoringArguments arguments) {
+        if (isGroovySourceMember(element) && arguments instanceof RenameArguments) {
+            otherTargets.put((IMember) element, ((RenameArguments) arguments).getNewName());
+        }
+    }
+
+    private static boolean isGroovySourceMember(Object element) {
+        if (element instanceof IMethod || element instanceof IField) {
+            IMember member = (IMember) element;
+            return !member.isReadOnly() && GroovyNature.hasGroovyNature(member.getJavaProject().getProject());
         }
         return false;
     }
@@ -275,7 +301,10 @@ public class SyntheticAccessorsRenameParticipant extends RenameParticipant {
         SyntheticAccessorSearchRequestor synthRequestor = new SyntheticAccessorSearchRequestor();
 
         final List<SearchMatch> matches = new ArrayList<SearchMatch>();
-        synthRequestor.findSyntheticMatches(renameTarget, new ISearchRequestor() {
+        List<IMember> targets = new ArrayList<IMember>(1 + otherTargets.size());
+        targets.add(renameTarget);
+        targets.addAll(otherTargets.keySet());
+        synthRequestor.findSyntheticMatches(targets, new ISearchRequestor() {
             public void acceptMatch(SearchMatch match) {
                 matches.add(match);
             }
@@ -329,15 +358,21 @@ public class SyntheticAccessorsRenameParticipant extends RenameParticipant {
 
     private Map<String, String> getNameMap() {
         Map<String, String> nameMap = new HashMap<String, String>();
-        String newBaseName = basename(getArguments().getNewName());
-        String oldBaseName = basename(renameTarget.getElementName());
+        addNames(renameTarget, getArguments().getNewName(), nameMap);
+        for (Entry<IMember, String> other : otherTargets.entrySet()) {
+            addNames(other.getKey(), other.getValue(), nameMap);
+        }
+        return nameMap;
+    }
+
+    private void addNames(IMember target, String newName, Map<String, String> nameMap) {
+        String newBaseName = basename(newName);
+        String oldBaseName = basename(target.getElementName());
 
         nameMap.put(oldBaseName, newBaseName);
         nameMap.put(accessorName("is", oldBaseName), accessorName("is", newBaseName));
         nameMap.put(accessorName("get", oldBaseName), accessorName("get", newBaseName));
         nameMap.put(accessorName("set", oldBaseName), accessorName("set", newBaseName));
-
-        return nameMap;
     }
 
 }
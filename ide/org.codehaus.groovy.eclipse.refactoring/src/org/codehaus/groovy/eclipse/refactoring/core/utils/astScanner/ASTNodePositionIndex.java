@@ -0,0 +1,122 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.eclipse.refactoring.core.utils.ASTTools;
+import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.IASTNodePredicate;
+
+/**
+ * Index of all the nodes of a module by their start line and column. The module is scanned once, after that finding the nodes that
+ * start at a position is a binary search instead of a scan of the whole module with a
+ * {@link org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.SourceCodePredicate}.
+ * <p>
+ * Nodes starting at the same position are returned in the order the {@link ASTScanner} would have found them.
+ */
+public class ASTNodePositionIndex extends ASTScannerPredicate {
+
+    private static final IASTNodePredicate ALL_NODES = new IASTNodePredicate() {
+        public ASTNode evaluate(ASTNode input) {
+            return input;
+        }
+    };
+
+    private List<ASTNode> scanned = new ArrayList<ASTNode>();
+
+    // start positions as (line << 32 | column), sorted, with the nodes in the same order
+    private final long[] positions;
+    private final ASTNode[] nodes;
+
+    public ASTNodePositionIndex(ModuleNode rootNode) {
+        super(rootNode, ALL_NODES);
+        scanAST();
+
+        // stable sort, so nodes at the same position stay in scan order
+        ASTNode[] sorted = scanned.toArray(new ASTNode[scanned.size()]);
+        Arrays.sort(sorted, new Comparator<ASTNode>() {
+            public int compare(ASTNode a, ASTNode b) {
+                long pa = position(a.getLineNumber(), a.getColumnNumber());
+                long pb = position(b.getLineNumber(), b.getColumnNumber());
+                return pa < pb ? -1 : (pa == pb ? 0 : 1);
+            }
+        });
+        scanned = null;
+        nodes = sorted;
+        positions = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            positions[i] = position(sorted[i].getLineNumber(), sorted[i].getColumnNumber());
+        }
+    }
+
+    @Override
+    void doOnPredicate(ASTNode node) {
+        scanned.add(node);
+    }
+
+    private static long position(int line, int column) {
+        return ((long) line << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the nodes that start at the given line and column, in scan order. Like the {@link ASTScanner}, a node is only
+     *         returned once even if it is visited several times.
+     */
+    public List<ASTNode> getNodesAt(int line, int column) {
+        long key = position(line, column);
+        int low = 0, high = positions.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (positions[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (low >= positions.length || positions[low] != key) {
+            return Collections.emptyList();
+        }
+        List<ASTNode> found = new ArrayList<ASTNode>(2);
+        for (int i = low; i < positions.length && positions[i] == key; i++) {
+            if (!found.contains(nodes[i])) {
+                found.add(nodes[i]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return the node starting at the given position with the longest source range, the first one found if several are as long
+     */
+    public ASTNode getLongestNodeAt(int line, int column) {
+        ASTNode longest = null;
+        int longestLength = 0;
+        for (ASTNode node : getNodesAt(line, column)) {
+            int length = ASTTools.hasValidPosition(node) ? node.getEnd() - node.getStart() : 0;
+            if (longest == null || longestLength < length) {
+                longest = node;
+                longestLength = length;
+            }
+        }
+        return longest;
+    }
+}
@@ -20,7 +20,6 @@ package org.codehaus.groovy.eclipse.refactoring.formatter;
 
 import groovyjarjarantlr.Token;
 
-import java.util.Map.Entry;
 import java.util.Vector;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,10 +35,8 @@ import org.codehaus.groovy.ast.stmt.ReturnStatement;
 import org.codehaus.groovy.ast.stmt.Statement;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.ASTTools;
-import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.ASTNodeInfo;
-import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.ASTScanner;
+import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.ASTNodePositionIndex;
 import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.IncludesClosureOrListPredicate;
-import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.predicates.SourceCodePredicate;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
@@ -47,7 +44,6 @@ import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.text.edits.MultiTextEdit;
-import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.edits.UndoEdit;
 
@@ -60,6 +56,7 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
 
     protected IFormatterPreferences pref;
     private ModuleNode rootNode;
+    private ASTNodePositionIndex nodeIndex;
 
     private Document formattedDocument;
     private final boolean indentOnly;
@@ -68,6 +65,9 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
     private KlenkDocumentScanner tokens;
     private int indentationLevel = 0;
 
+    // whether the nodes may be moved instead of parsed again when the beautifier only changed whitespace
+    private boolean reuseAST = true;
+
     /**
      * Default Formatter for the Groovy-Eclipse Plugin
      *
@@ -119,22 +119,42 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
             // caused by unparseable file
             throw new Exception("Could not format.  Problem parsing Compilation unit.  Fix all syntax errors and try again.");
         }
+        // tokens are matched to nodes by position many times, so index the nodes once
+        nodeIndex = new ASTNodePositionIndex(rootNode);
     }
 
     @Override
     public TextEdit format() {
         formattedDocument = new Document(document.get());
         try {
+            boolean reuseCodebase = false;
             if (!indentOnly) {
                 initCodebase();
                 GroovyBeautifier beautifier = new GroovyBeautifier(this, pref);
-                int lengthBefore = formattedDocument.getLength();
-                beautifier.getBeautifiEdits().apply(formattedDocument);
-                int lengthAfter = formattedDocument.getLength();
-                formatLength += lengthAfter - lengthBefore;
+                IDocument beforeBeautifier = new Document(formattedDocument.get());
+                TextEdit beautifierEdits = beautifier.getBeautifiEdits();
+                beautifierEdits.apply(formattedDocument);
+                formatLength += formattedDocument.getLength() - beforeBeautifier.getLength();
+                if (!reuseAST) {
+                    // parse again below
+                } else if (!beautifierEdits.hasChildren()) {
+                    reuseCodebase = true;
+                } else {
+                    MultiTextEdit changes = MinimalTextEdits.compute(beforeBeautifier.get(), formattedDocument.get());
+                    if (MinimalTextEdits.isWhitespaceOnly(beforeBeautifier.get(), changes)) {
+                        // only whitespace changed, so the nodes can be moved to their new positions instead of parsing again
+                        moveNodes(new NodePositionMover(beforeBeautifier, formattedDocument, changes));
+                        reuseCodebase = true;
+                    }
+                }
             }
 
-            initCodebase();
+            if (reuseCodebase) {
+                // the AST and its node index match the document, only the tokens (disposed by the beautifier) are needed
+                tokens = new KlenkDocumentScanner(formattedDocument);
+            } else {
+                initCodebase();
+            }
             GroovyIndentation indent = new GroovyIndentation(this, pref, indentationLevel);
             UndoEdit undo2 = indent.getIndentationEdits().apply(formattedDocument);
             formatLength += undo2.getLength();
@@ -149,11 +169,24 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
             GroovyCore.logWarning("Cannot format, probably due to compilation errors.  Please fix and try again.", e);
         }
 
-        if (formattedDocument.get().equals(document.get())) {
-            return new MultiTextEdit();
-        }
+        // only replace what changed, so that positions, markers and annotations elsewhere in the document are kept
+        return MinimalTextEdits.compute(document.get(), formattedDocument.get());
+    }
 
-        return new ReplaceEdit(0, document.getLength(), formattedDocument.get());
+    /**
+     * @param reuseAST false to always parse again after the beautifier, so that tests can check that moving the nodes gives the
+     *            same result
+     */
+    public void setReuseAST(boolean reuseAST) {
+        this.reuseAST = reuseAST;
+    }
+
+    /**
+     * Moves every node of the AST, then indexes the nodes again in their new order
+     */
+    private void moveNodes(NodePositionMover mover) {
+        mover.moveAll(rootNode);
+        nodeIndex = new ASTNodePositionIndex(rootNode);
     }
 
     /**
@@ -249,24 +282,7 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
      *         length
      */
     public ASTNode findCorrespondingNode(Token t) {
-
-        ASTScanner scanner = new ASTScanner(rootNode,
-                                            new SourceCodePredicate(t.getLine(), t.getColumn()),
-                                            formattedDocument);
-        scanner.startASTscan();
-        Entry<ASTNode, ASTNodeInfo> found = null;
-        if (scanner.hasMatches()) {
-            for (Entry<ASTNode, ASTNodeInfo> e : scanner.getMatchedNodes().entrySet()) {
-                if (found == null || (found.getValue().getLength() < e.getValue().getLength()))
-                    found = e;
-            }
-        }
-
-        if (found != null) {
-            return found.getKey();
-        } else {
-            return null;
-        }
+        return nodeIndex.getLongestNodeAt(t.getLine(), t.getColumn());
     }
 
     /**
@@ -277,14 +293,10 @@ public class DefaultGroovyFormatter extends GroovyFormatter {
      * @return
      */
     public ClosureExpression findCorrespondingClosure(Token t) {
-        ASTScanner scanner = new ASTScanner(rootNode, new SourceCodePredicate(t.getLine(), t.getColumn()), formattedDocument);
-        scanner.startASTscan();
         ClosureExpression found = null;
-        if (scanner.hasMatches()) {
-            for (Entry<ASTNode, ASTNodeInfo> e : scanner.getMatchedNodes().entrySet()) {
-                if (e.getKey() instanceof ClosureExpression) {
-                    found = (ClosureExpression) e.getKey();
-                }
+        for (ASTNode node : nodeIndex.getNodesAt(t.getLine(), t.getColumn())) {
+            if (node instanceof ClosureExpression) {
+                found = (ClosureExpression) node;
             }
         }
         return found;
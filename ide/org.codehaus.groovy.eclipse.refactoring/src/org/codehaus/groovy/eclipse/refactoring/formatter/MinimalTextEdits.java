@@ -0,0 +1,206 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.refactoring.formatter;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Computes a small set of edits that turn one text into another, for texts that differ mostly in whitespace (as is the case
+ * before and after formatting). The words (identifiers and numbers, or single other characters) of both texts are aligned, and then
+ * only the text between aligned words that actually changed is replaced. Returning these edits instead of a replacement of the whole
+ * document keeps positions, annotations and markers outside of the changed regions intact.
+ */
+public class MinimalTextEdits {
+
+    /**
+     * How many words to look past a difference for the two texts to line up again
+     */
+    private static final int LOOK_AHEAD = 16;
+
+    private final String original;
+    private final String modified;
+
+    // start and end offsets of the words of each text
+    private final int[] originalWords;
+    private final int[] modifiedWords;
+
+    private MinimalTextEdits(String original, String modified) {
+        this.original = original;
+        this.modified = modified;
+        this.originalWords = findWords(original);
+        this.modifiedWords = findWords(modified);
+    }
+
+    /**
+     * @return edits that, applied to the original text, produce the modified text. Empty if the texts are the same.
+     */
+    public static MultiTextEdit compute(String original, String modified) {
+        MultiTextEdit edits = new MultiTextEdit();
+        if (!original.equals(modified)) {
+            new MinimalTextEdits(original, modified).addEdits(edits);
+        }
+        return edits;
+    }
+
+    /**
+     * @param edits edits returned by {@link #compute(String, String)} for the original text
+     * @return true if the edits only replace whitespace with whitespace, so that both texts have the same words in the same order
+     */
+    public static boolean isWhitespaceOnly(String original, MultiTextEdit edits) {
+        for (TextEdit edit : edits.getChildren()) {
+            if (!isWhitespace(original.substring(edit.getOffset(), edit.getExclusiveEnd()))
+                    || !isWhitespace(((ReplaceEdit) edit).getText())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(String text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addEdits(MultiTextEdit edits) {
+        int[] matches = alignWords();
+        // the text between consecutive aligned words, or the start or end of the text
+        int originalStart = 0, modifiedStart = 0;
+        for (int i = 0; i < matches.length; i += 2) {
+            int o = matches[i], m = matches[i + 1];
+            addEdit(edits, originalStart, originalWords[2 * o], modifiedStart, modifiedWords[2 * m]);
+            originalStart = originalWords[2 * o + 1];
+            modifiedStart = modifiedWords[2 * m + 1];
+        }
+        addEdit(edits, originalStart, original.length(), modifiedStart, modified.length());
+    }
+
+    /**
+     * Adds an edit replacing the original range with the modified range, less any common prefix and suffix.
+     */
+    private void addEdit(TextEdit edits, int originalStart, int originalEnd, int modifiedStart, int modifiedEnd) {
+        while (originalStart < originalEnd && modifiedStart < modifiedEnd
+                && original.charAt(originalStart) == modified.charAt(modifiedStart)) {
+            originalStart++;
+            modifiedStart++;
+        }
+        while (originalStart < originalEnd && modifiedStart < modifiedEnd
+                && original.charAt(originalEnd - 1) == modified.charAt(modifiedEnd - 1)) {
+            originalEnd--;
+            modifiedEnd--;
+        }
+        if (originalStart < originalEnd || modifiedStart < modifiedEnd) {
+            edits.addChild(new ReplaceEdit(originalStart, originalEnd - originalStart, modified.substring(modifiedStart,
+                    modifiedEnd)));
+        }
+    }
+
+    private static int[] findWords(String text) {
+        int[] words = new int[Math.max(16, text.length() / 4)];
+        int count = 0;
+        int i = 0, n = text.length();
+        while (i < n) {
+            while (i < n && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i == n) {
+                break;
+            }
+            int start = i;
+            if (Character.isJavaIdentifierPart(text.charAt(i))) {
+                do {
+                    i++;
+                } while (i < n && Character.isJavaIdentifierPart(text.charAt(i)));
+            } else {
+                // punctuation is a word on its own, so that removing a semicolon or moving a brace is a small difference
+                i++;
+            }
+            if (count + 2 > words.length) {
+                int[] grown = new int[words.length * 2];
+                System.arraycopy(words, 0, grown, 0, count);
+                words = grown;
+            }
+            words[count++] = start;
+            words[count++] = i;
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(words, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    private boolean isIdentifier(int o) {
+        return Character.isJavaIdentifierPart(original.charAt(originalWords[2 * o]));
+    }
+
+    private boolean sameWord(int o, int m) {
+        int oStart = originalWords[2 * o], length = originalWords[2 * o + 1] - oStart;
+        int mStart = modifiedWords[2 * m];
+        return length == modifiedWords[2 * m + 1] - mStart && original.regionMatches(oStart, modified, mStart, length);
+    }
+
+    /**
+     * Aligns the words of the two texts, walking both in step and looking a little way ahead to resynchronize where words were
+     * added or removed. Formatting only ever changes a few words in one place, so this is linear in practice.
+     *
+     * @return pairs of indexes of aligned original and modified words, in order
+     */
+    private int[] alignWords() {
+        int n = originalWords.length / 2, m = modifiedWords.length / 2;
+        int[] matches = new int[2 * Math.min(n, m)];
+        int count = 0;
+        int o = 0, d = 0;
+        while (o < n && d < m) {
+            if (sameWord(o, d)) {
+                matches[count++] = o++;
+                matches[count++] = d++;
+                continue;
+            }
+            int[] next = resynchronize(o, d, n, m);
+            if (next == null) {
+                // too different, the rest is replaced as a whole
+                break;
+            }
+            o = next[0];
+            d = next[1];
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(matches, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * @return the closest following pair of words that are the same in both texts, or null if there is none within
+     *         {@link #LOOK_AHEAD} words. Punctuation is common, so a pair of punctuation words only counts if the words after
+     *         them are the same too (or both texts end).
+     */
+    private int[] resynchronize(int o, int d, int n, int m) {
+        for (int distance = 1; distance <= 2 * LOOK_AHEAD; distance++) {
+            for (int skipped = Math.max(0, distance - LOOK_AHEAD); skipped <= Math.min(distance, LOOK_AHEAD); skipped++) {
+                int so = o + skipped, sd = d + distance - skipped;
+                if (so < n && sd < m && sameWord(so, sd) && (isIdentifier(so) || (so + 1 == n && sd + 1 == m)
+                        || (so + 1 < n && sd + 1 < m && sameWord(so + 1, sd + 1)))) {
+                    return new int[] { so, sd };
+                }
+            }
+        }
+        return null;
+    }
+}
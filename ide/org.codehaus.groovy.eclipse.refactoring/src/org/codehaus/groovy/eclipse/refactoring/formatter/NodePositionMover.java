@@ -0,0 +1,304 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.refactoring.formatter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.AnnotatedNode;
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.FieldNode;
+import org.codehaus.groovy.ast.GenericsType;
+import org.codehaus.groovy.ast.ImportNode;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.codehaus.groovy.ast.Parameter;
+import org.codehaus.groovy.ast.PropertyNode;
+import org.codehaus.groovy.ast.expr.DeclarationExpression;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.ast.expr.FieldExpression;
+import org.codehaus.groovy.ast.expr.TupleExpression;
+import org.codehaus.groovy.ast.stmt.CatchStatement;
+import org.codehaus.groovy.ast.stmt.ForStatement;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.eclipse.refactoring.core.utils.astScanner.RefactoringCodeVisitorSupport;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Moves AST nodes parsed from one text to where they are in another text that only differs from it in whitespace, so that the
+ * formatter does not have to parse the source again after the beautifier has only moved things around. The edits are those of
+ * {@link MinimalTextEdits#compute(String, String)}, checked with {@link MinimalTextEdits#isWhitespaceOnly(String, MultiTextEdit)}.
+ * <p>
+ * {@link #moveAll(ModuleNode)} moves every node of a module, including those the formatter does not index, so that the moved AST
+ * is the same as the one a new parse of the modified text would give.
+ * <p>
+ * Columns are counted like the groovy lexer does, with a tab as a single column.
+ */
+class NodePositionMover {
+
+    private final IDocument original;
+    private final IDocument modified;
+
+    // start and exclusive end in the original text, and length of the replacement, of each edit in order
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] newLengths;
+    // how far the text after each edit has moved
+    private final int[] shifts;
+
+    private final Map<ASTNode, Boolean> moved = new IdentityHashMap<ASTNode, Boolean>();
+
+    NodePositionMover(IDocument original, IDocument modified, MultiTextEdit edits) {
+        this.original = original;
+        this.modified = modified;
+        TextEdit[] children = edits.getChildren();
+        starts = new int[children.length];
+        ends = new int[children.length];
+        newLengths = new int[children.length];
+        shifts = new int[children.length];
+        int shift = 0;
+        for (int i = 0; i < children.length; i++) {
+            starts[i] = children[i].getOffset();
+            ends[i] = children[i].getExclusiveEnd();
+            newLengths[i] = ((ReplaceEdit) children[i]).getText().length();
+            shift += newLengths[i] - children[i].getLength();
+            shifts[i] = shift;
+        }
+    }
+
+    /**
+     * Moves all nodes of the module: package, imports, classes with their members, annotations and types, script statements and
+     * methods, and every statement and expression below them
+     */
+    void moveAll(ModuleNode module) {
+        move(module);
+        move(module.getPackage());
+        if (module.getPackage() != null) {
+            moveAnnotations(module.getPackage());
+        }
+        for (ImportNode importNode : module.getImports()) {
+            moveImport(importNode);
+        }
+        for (ImportNode importNode : module.getStarImports()) {
+            moveImport(importNode);
+        }
+        for (ImportNode importNode : module.getStaticImports().values()) {
+            moveImport(importNode);
+        }
+        for (ImportNode importNode : module.getStaticStarImports().values()) {
+            moveImport(importNode);
+        }
+        for (ClassNode classNode : module.getClasses()) {
+            // script classes are not visited, but their position is used
+            move(classNode);
+        }
+        new MovingVisitor(module).scanAST();
+    }
+
+    private void moveImport(ImportNode importNode) {
+        move(importNode);
+        move(importNode.getType());
+        moveAnnotations(importNode);
+    }
+
+    private void moveAnnotations(AnnotatedNode node) {
+        for (AnnotationNode annotation : node.getAnnotations()) {
+            move(annotation);
+            move(annotation.getClassNode());
+        }
+    }
+
+    /**
+     * Goes everywhere the scanner of the refactorings goes, and also to the nodes it leaves out: annotations, properties,
+     * declarations, tuples, and the variables of for loops and catch clauses
+     */
+    private class MovingVisitor extends RefactoringCodeVisitorSupport {
+
+        MovingVisitor(ModuleNode module) {
+            super(module);
+        }
+
+        @Override
+        protected void analyzeNode(ASTNode node) {
+            move(node);
+        }
+
+        @Override
+        protected void analyzeGenerics(ClassNode node) {
+            GenericsType[] generics = node.getGenericsTypes();
+            if (generics != null) {
+                for (GenericsType genericsType : generics) {
+                    move(genericsType);
+                }
+            }
+            super.analyzeGenerics(node);
+        }
+
+        @Override
+        public void visitAnnotations(AnnotatedNode node) {
+            moveAnnotations(node);
+            for (AnnotationNode annotation : node.getAnnotations()) {
+                for (Expression member : annotation.getMembers().values()) {
+                    member.visit(this);
+                }
+            }
+        }
+
+        @Override
+        public void visitClass(ClassNode node) {
+            visitAnnotations(node);
+            super.visitClass(node);
+            for (Statement statement : node.getObjectInitializerStatements()) {
+                statement.visit(this);
+            }
+        }
+
+        @Override
+        public void visitField(FieldNode node) {
+            visitAnnotations(node);
+            super.visitField(node);
+        }
+
+        @Override
+        public void visitProperty(PropertyNode node) {
+            move(node);
+            visitAnnotations(node);
+        }
+
+        @Override
+        public void analyzeParameter(Parameter parameter) {
+            move(parameter);
+            visitAnnotations(parameter);
+        }
+
+        @Override
+        public void visitDeclarationExpression(DeclarationExpression expression) {
+            move(expression);
+            super.visitDeclarationExpression(expression);
+        }
+
+        @Override
+        public void visitTupleExpression(TupleExpression expression) {
+            move(expression);
+            super.visitTupleExpression(expression);
+        }
+
+        @Override
+        public void visitFieldExpression(FieldExpression expression) {
+            move(expression);
+            super.visitFieldExpression(expression);
+        }
+
+        @Override
+        public void visitForLoop(ForStatement forLoop) {
+            analyzeParameter(forLoop.getVariable());
+            super.visitForLoop(forLoop);
+        }
+
+        @Override
+        public void visitCatchStatement(CatchStatement statement) {
+            analyzeParameter(statement.getVariable());
+            super.visitCatchStatement(statement);
+        }
+    }
+
+    /**
+     * Moves the node, unless it has no position or it has been moved already
+     */
+    void move(ASTNode node) {
+        if (node == null || node.getLineNumber() < 1 || moved.containsKey(node)) {
+            return;
+        }
+        moved.put(node, Boolean.TRUE);
+        try {
+            if (node.getEnd() > 0) {
+                node.setStart(moveStart(node.getStart()));
+                node.setEnd(moveEnd(node.getEnd()));
+            }
+            int offset = moveStart(getOffset(original, node.getLineNumber(), node.getColumnNumber()));
+            node.setLineNumber(getLine(offset));
+            node.setColumnNumber(getColumn(offset));
+            if (node.getLastLineNumber() > 0) {
+                offset = moveEnd(getOffset(original, node.getLastLineNumber(), node.getLastColumnNumber()));
+                node.setLastLineNumber(getLine(offset));
+                node.setLastColumnNumber(getColumn(offset));
+            }
+        } catch (BadLocationException e) {
+            // the parser has put the node outside of the text, leave it there
+        }
+    }
+
+    /**
+     * @return the index of the last edit starting at or before the offset, or -1 if there is none
+     */
+    private int findEdit(int offset) {
+        int low = 0, high = starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * A start offset inside replaced whitespace moves to the start of the replacement
+     */
+    private int moveStart(int offset) {
+        int i = findEdit(offset);
+        if (i < 0) {
+            return offset;
+        }
+        if (offset < ends[i]) {
+            return starts[i] + (i == 0 ? 0 : shifts[i - 1]);
+        }
+        return offset + shifts[i];
+    }
+
+    /**
+     * An exclusive end offset inside or at the end of replaced whitespace moves to the end of the replacement
+     */
+    private int moveEnd(int offset) {
+        int i = findEdit(offset - 1);
+        if (i < 0) {
+            return offset;
+        }
+        if (offset <= ends[i]) {
+            return starts[i] + (i == 0 ? 0 : shifts[i - 1]) + newLengths[i];
+        }
+        return offset + shifts[i];
+    }
+
+    private static int getOffset(IDocument document, int line, int column) throws BadLocationException {
+        return document.getLineOffset(line - 1) + column - 1;
+    }
+
+    private int getLine(int offset) throws BadLocationException {
+        return modified.getLineOfOffset(offset) + 1;
+    }
+
+    private int getColumn(int offset) throws BadLocationException {
+        return offset - modified.getLineOffset(modified.getLineOfOffset(offset)) + 1;
+    }
+}
@@ -15,27 +15,19 @@
  */
 package org.codehaus.groovy.eclipse.launchers;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.codehaus.groovy.eclipse.GroovyPlugin;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.groovy.eclipse.editor.GroovyEditor;
-import org.codehaus.jdt.groovy.model.GroovyNature;
-import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.debug.ui.console.FileLink;
 import org.eclipse.debug.ui.console.IConsole;
 import org.eclipse.debug.ui.console.IConsoleLineTracker;
-import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.IPackageFragmentRoot;
-import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.groovy.core.util.ReflectionUtils;
-import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
@@ -107,7 +99,59 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
 
     }
 
+    /**
+     * A link to a Groovy file that is only looked up when the link is first entered or activated, so that appending a long stack
+     * trace to the console does not search for the file of each frame
+     */
+    public class LazyFileLink implements IHyperlink {
+        private final IPath sourceRelativePath;
+        private final int fileLineNumber;
+        private IHyperlink delegate;
+
+        public LazyFileLink(IPath sourceRelativePath, int fileLineNumber) {
+            this.sourceRelativePath = sourceRelativePath;
+            this.fileLineNumber = fileLineNumber;
+        }
+
+        /**
+         * @return a {@link FileLink} to the file, an {@link AmbiguousFileLink} if several files match, or null if none does
+         */
+        public IHyperlink getFileLink() {
+            if (delegate == null) {
+                IFile[] files = fileIndex.findFiles(sourceRelativePath);
+                GroovyPlugin.trace("groovyFile=" + sourceRelativePath + " found " + files.length + " file(s)");
+                if (files.length == 1) {
+                    delegate = new FileLink(files[0], GroovyEditor.EDITOR_ID, -1, -1, fileLineNumber);
+                } else if (files.length > 1) {
+                    delegate = new AmbiguousFileLink(files, GroovyEditor.EDITOR_ID, -1, -1, fileLineNumber);
+                }
+            }
+            return delegate;
+        }
+
+        public void linkEntered() {
+            IHyperlink link = getFileLink();
+            if (link != null) {
+                link.linkEntered();
+            }
+        }
+
+        public void linkExited() {
+            if (delegate != null) {
+                delegate.linkExited();
+            }
+        }
+
+        public void linkActivated() {
+            IHyperlink link = getFileLink();
+            if (link != null) {
+                link.linkActivated();
+            }
+        }
+    }
+
     private IConsole console;
+    private final GroovyFileIndex fileIndex = new GroovyFileIndex();
     private final static Pattern linePattern = Pattern.compile(".*\\((.*)\\.groovy(:(.*))?\\)");
 
 
@@ -159,16 +203,10 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
                     }
                     GroovyPlugin.trace("groovyFile=" + groovyFileName + " lineNumber:" + lineNumber);
                 }
-                // hyperlink if we found something
+                // the file is looked up when the link is used
                 if (groovyFileName != null) {
-                    IFile[] file = searchForFileInLaunchConfig(groovyFileName);
-                    if (file.length == 1) {
-                        IHyperlink link = new FileLink(file[0], GroovyEditor.EDITOR_ID, -1, -1, lineNumber);
-                        console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
-                    } else if (file.length > 1) {
-                        IHyperlink link = new AmbiguousFileLink(file, GroovyEditor.EDITOR_ID, -1, -1, lineNumber);
-                        console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
-                    }
+                    IHyperlink link = new LazyFileLink(new Path(groovyFileName), lineNumber);
+                    console.addLink(link, lineOffset + openParenIndexAt + 1, closeParenIndexAt - openParenIndexAt -1);
                 }
             }
         } catch (Exception e) {
@@ -176,32 +214,6 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
         }
     }
 
-    /**
-     * @param groovyFileName
-     * @return
-     * @throws JavaModelException
-     */
-    private IFile[] searchForFileInLaunchConfig(String groovyFileName) throws JavaModelException {
-        List<IFile> files = new LinkedList<IFile>();
-        IJavaProject[] projects = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProjects();
-        for (IJavaProject javaProject : projects) {
-            if (GroovyNature.hasGroovyNature(javaProject.getProject())) {
-                for (IPackageFragmentRoot root : javaProject.getAllPackageFragmentRoots()) {
-                    if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
-                        IResource resource = root.getResource();
-                        if (resource.isAccessible() && resource.getType() != IResource.FILE) {
-                            IFile file = ((IContainer) resource).getFile(new Path(groovyFileName));
-                            if (file.isAccessible()) {
-                                files.add(file);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return files.toArray(new IFile[files.size()]);
-    }
-
     /**
      * @param files
      * @return
@@ -237,6 +249,7 @@ public class GroovyConsoleLineTracker implements IConsoleLineTracker {
      */
     public void dispose() {
         console = null;
+        fileIndex.dispose();
     }
 
 }
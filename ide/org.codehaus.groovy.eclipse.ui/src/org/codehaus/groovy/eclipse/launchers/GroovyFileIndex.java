@@ -0,0 +1,219 @@
+/*
+ * Copyright 2003-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.groovy.eclipse.launchers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.groovy.eclipse.core.GroovyCore;
+import org.codehaus.jdt.groovy.model.GroovyNature;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IResourceProxyVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The Groovy files in the source folders of all Groovy projects, by simple file name, so that the file of a stack frame printed
+ * to the console can be found without walking every project and package fragment root again for each line.
+ * <p>
+ * The index is built the first time it is asked and then kept up to date with resource deltas: Groovy files that are added or
+ * removed are added or removed, and any change to a project's classpath, description or open state throws the index away, to
+ * be built again on the next lookup. {@link #dispose()} stops listening.
+ */
+public class GroovyFileIndex implements IResourceChangeListener {
+
+    /**
+     * A Groovy file and its path relative to the source folder it was found in
+     */
+    private static final class Entry {
+        final IPath sourceRelativePath;
+        final IFile file;
+
+        Entry(IPath sourceRelativePath, IFile file) {
+            this.sourceRelativePath = sourceRelativePath;
+            this.file = file;
+        }
+    }
+
+    // simple file name -> files with that name, null until the index is built
+    private Map<String, List<Entry>> filesByName;
+
+    // the full paths of the source folders of the Groovy projects, recorded when the index is built
+    private List<IPath> sourceFolders;
+
+    private boolean listening;
+
+    /**
+     * @param sourceRelativePath the path of the file relative to its source folder, for example <code>p/Foo.groovy</code>
+     * @return the accessible files in the source folders of Groovy projects with that path
+     */
+    public synchronized IFile[] findFiles(IPath sourceRelativePath) {
+        if (filesByName == null) {
+            build();
+        }
+        List<Entry> entries = filesByName.get(sourceRelativePath.lastSegment());
+        if (entries == null) {
+            return new IFile[0];
+        }
+        List<IFile> files = new ArrayList<IFile>(1);
+        for (Entry entry : entries) {
+            if (entry.sourceRelativePath.equals(sourceRelativePath) && entry.file.isAccessible()) {
+                files.add(entry.file);
+            }
+        }
+        return files.toArray(new IFile[files.size()]);
+    }
+
+    public synchronized void dispose() {
+        if (listening) {
+            ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+            listening = false;
+        }
+        filesByName = null;
+        sourceFolders = null;
+    }
+
+    private void build() {
+        if (!listening) {
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+            listening = true;
+        }
+        filesByName = new HashMap<String, List<Entry>>();
+        sourceFolders = new ArrayList<IPath>();
+        for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+            if (!project.isAccessible() || !GroovyNature.hasGroovyNature(project)) {
+                continue;
+            }
+            try {
+                IJavaProject javaProject = JavaCore.create(project);
+                for (IPackageFragmentRoot root : javaProject.getAllPackageFragmentRoots()) {
+                    if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                        IResource resource = root.getResource();
+                        if (resource != null && resource.isAccessible() && resource.getType() != IResource.FILE
+                                && !sourceFolders.contains(resource.getFullPath())) {
+                            sourceFolders.add(resource.getFullPath());
+                            addFiles(resource);
+                        }
+                    }
+                }
+            } catch (JavaModelException e) {
+                GroovyCore.logException("Error indexing the Groovy files of " + project.getName(), e);
+            }
+        }
+    }
+
+    private void addFiles(final IResource sourceFolder) {
+        try {
+            sourceFolder.accept(new IResourceProxyVisitor() {
+                public boolean visit(IResourceProxy proxy) throws CoreException {
+                    if (proxy.getType() == IResource.FILE) {
+                        if (proxy.getName().endsWith(".groovy")) {
+                            IFile file = (IFile) proxy.requestResource();
+                            add(sourceFolder.getFullPath(), file);
+                        }
+                        return false;
+                    }
+                    return true;
+                }
+            }, IResource.NONE);
+        } catch (CoreException e) {
+            GroovyCore.logException("Error indexing the Groovy files in " + sourceFolder.getFullPath(), e);
+        }
+    }
+
+    private void add(IPath sourceFolder, IFile file) {
+        List<Entry> entries = filesByName.get(file.getName());
+        if (entries == null) {
+            entries = new ArrayList<Entry>(1);
+            filesByName.put(file.getName(), entries);
+        }
+        entries.add(new Entry(file.getFullPath().removeFirstSegments(sourceFolder.segmentCount()), file));
+    }
+
+    private void remove(IFile file) {
+        List<Entry> entries = filesByName.get(file.getName());
+        if (entries != null) {
+            for (Iterator<Entry> iter = entries.iterator(); iter.hasNext();) {
+                if (iter.next().file.equals(file)) {
+                    iter.remove();
+                }
+            }
+            if (entries.isEmpty()) {
+                filesByName.remove(file.getName());
+            }
+        }
+    }
+
+    public synchronized void resourceChanged(IResourceChangeEvent event) {
+        if (filesByName == null || event.getDelta() == null) {
+            return;
+        }
+        try {
+            event.getDelta().accept(new IResourceDeltaVisitor() {
+                public boolean visit(IResourceDelta delta) throws CoreException {
+                    if (filesByName == null) {
+                        return false;
+                    }
+                    IResource resource = delta.getResource();
+                    switch (resource.getType()) {
+                        case IResource.PROJECT:
+                            if (delta.getKind() != IResourceDelta.CHANGED
+                                    || (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+                                // rebuild on the next lookup
+                                filesByName = null;
+                                return false;
+                            }
+                            return true;
+                        case IResource.FILE:
+                            if (resource.getName().equals(".classpath")) {
+                                filesByName = null;
+                            } else if (resource.getName().endsWith(".groovy")) {
+                                if (delta.getKind() == IResourceDelta.REMOVED) {
+                                    remove((IFile) resource);
+                                } else if (delta.getKind() == IResourceDelta.ADDED) {
+                                    for (IPath sourceFolder : sourceFolders) {
+                                        if (sourceFolder.isPrefixOf(resource.getFullPath())) {
+                                            add(sourceFolder, (IFile) resource);
+                                        }
+                                    }
+                                }
+                            }
+                            return false;
+                        default:
+                            return true;
+                    }
+                }
+            });
+        } catch (CoreException e) {
+            filesByName = null;
+        }
+    }
+}
@@ -24,8 +24,10 @@ import java.util.Map;
 import org.codehaus.groovy.eclipse.core.GroovyCore;
 import org.codehaus.groovy.eclipse.refactoring.actions.OrganizeGroovyImports.UnresolvedTypeData;
 import org.codehaus.jdt.groovy.model.GroovyCompilationUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
@@ -58,6 +60,18 @@ public class TypeSearch {
      */
     public void searchForTypes(GroovyCompilationUnit unit, Map<String, OrganizeGroovyImports.UnresolvedTypeData> missingTypes)
             throws JavaModelException {
+        searchForTypes(unit.getJavaProject(), missingTypes, null);
+    }
+
+    /**
+     * Use a single search for the missing types of any number of compilation units of a project
+     *
+     * @param project the project whose classpath is searched
+     * @param missingTypes the missing types by simple name, the types found are added to them
+     * @throws JavaModelException
+     */
+    public void searchForTypes(IJavaProject project, Map<String, OrganizeGroovyImports.UnresolvedTypeData> missingTypes,
+            IProgressMonitor monitor) throws JavaModelException {
         char[][] allTypes = new char[missingTypes.size()][];
         int i = 0;
         for (String simpleName : missingTypes.keySet()) {
@@ -65,9 +79,9 @@ public class TypeSearch {
         }
         final List<TypeNameMatch> typesFound = new ArrayList<TypeNameMatch>();
         TypeNameMatchCollector collector = new TypeNameMatchCollector(typesFound);
-        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { unit.getJavaProject() });
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { project });
         new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
-                null);
+                monitor);
 
         for (TypeNameMatch match : typesFound) {
             UnresolvedTypeData data = missingTypes.get(match.getSimpleTypeName());
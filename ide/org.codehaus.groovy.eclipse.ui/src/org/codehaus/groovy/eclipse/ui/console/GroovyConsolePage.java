@@ -20,8 +20,11 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 
 import org.codehaus.groovy.eclipse.GroovyLogManager;
+import org.codehaus.groovy.eclipse.GroovyMetrics;
 import org.codehaus.groovy.eclipse.IGroovyLogger;
 import org.codehaus.groovy.eclipse.TraceCategory;
+import org.eclipse.jdt.groovy.search.TypeLookupStatistics;
+import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.widgets.Composite;
@@ -46,10 +49,55 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
 
     private CloseConsoleAction fCloseConsoleAction;
 
+    private Action fLookupStatisticsAction;
+
+    private Action fMetricsAction;
+
     public GroovyConsolePage(TextConsole console, IConsoleView view) {
         super(console, view);
     }
 
+    /**
+     * Prints how the type lookups of the inferencing engine have performed so far. The first use turns counting on.
+     */
+    private class LookupStatisticsAction extends Action {
+        LookupStatisticsAction() {
+            super("Type Lookup Statistics");
+            setToolTipText("Print the statistics of the type lookups");
+        }
+
+        @Override
+        public void run() {
+            if (!TypeLookupStatistics.isEnabled()) {
+                TypeLookupStatistics.setEnabled(true);
+                log(TraceCategory.DEFAULT, "Type lookup statistics are now being collected");
+            } else {
+                log(TraceCategory.DEFAULT, "Type lookup statistics:\n" + TypeLookupStatistics.getInstance().dump());
+            }
+        }
+    }
+
+    /**
+     * Prints the durations of the timed events per category so far. The first use turns collecting on.
+     */
+    private class MetricsAction extends Action {
+        MetricsAction() {
+            super("Event Metrics");
+            setToolTipText("Print the durations of the timed events");
+        }
+
+        @Override
+        public void run() {
+            if (!GroovyMetrics.metrics.isEnabled()) {
+                GroovyMetrics.metrics.setEnabled(true);
+                log(TraceCategory.DEFAULT, "Event metrics are now being collected");
+            } else {
+                String dump = GroovyMetrics.metrics.dump();
+                log(TraceCategory.DEFAULT, "Event metrics:\n" + (dump.length() > 0 ? dump : "no events yet\n"));
+            }
+        }
+    }
+
     private String twodigit(int i) {
         String number = Integer.toString(i);
         if (number.length() < 2) {
@@ -115,6 +163,8 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
             fScrollLockAction = null;
         }
         fCloseConsoleAction = null;
+        fLookupStatisticsAction = null;
+        fMetricsAction = null;
         GroovyLogManager.manager.removeLogger(this);
     }
 
@@ -130,6 +180,8 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
         super.createActions();
         fScrollLockAction = new ScrollLockAction(getConsoleView());
         fCloseConsoleAction = new CloseConsoleAction(getConsole());
+        fLookupStatisticsAction = new LookupStatisticsAction();
+        fMetricsAction = new MetricsAction();
         setAutoScroll(!fScrollLockAction.isChecked());
     }
 
@@ -144,6 +196,8 @@ public class GroovyConsolePage extends TextConsolePage implements IGroovyLogger
     protected void configureToolBar(IToolBarManager mgr) {
         super.configureToolBar(mgr);
         mgr.appendToGroup(IConsoleConstants.OUTPUT_GROUP, fScrollLockAction);
+        mgr.appendToGroup(IConsoleConstants.OUTPUT_GROUP, fLookupStatisticsAction);
+        mgr.appendToGroup(IConsoleConstants.OUTPUT_GROUP, fMetricsAction);
         mgr.appendToGroup(IConsoleConstants.LAUNCH_GROUP, fCloseConsoleAction);
     }
 }
@@ -38,6 +38,10 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 	 */
 	private Map accessRestrictions;
 	ImportBinding[] defaultImports;
+	// GROOVY start
+	// lookups shared by the groovy units built with this environment, dropped on reset (see DefaultImportsTable)
+	public Object groovyDefaultImportsTable;
+	// GROOVY end
 	public PackageBinding defaultPackage;
 	HashtableOfPackage knownPackages;
 	private int lastCompletedUnitIndex = -1;
@@ -1443,6 +1447,9 @@ public void releaseClassFiles(org.eclipse.jdt.internal.compiler.ClassFile[] clas
 public void reset() {
 	this.defaultPackage = new PackageBinding(this); // assume the default package always exists
 	this.defaultImports = null;
+	// GROOVY start
+	this.groovyDefaultImportsTable = null;
+	// GROOVY end
 	this.knownPackages = new HashtableOfPackage();
 	this.accessRestrictions = new HashMap(3);
 
@@ -433,42 +433,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		// GROOVY start
 		// sort the sourceUnits - java first! might be temporary, hmmm
 		if (this.options.buildGroovyFiles==2) {
-			int groovyFileIndex = -1;
-//			System.out.println("before");
-//			for (int u=0,max=sourceUnits.length;u<max;u++) {
-//				System.out.println(sourceUnits[u].getFileName());
-//			}
-			for (int u=0,max=sourceUnits.length;u<max;u++) {
-				char[] fn = sourceUnits[u].getFileName();
-				boolean isDotJava = fn[fn.length-1]=='a'; // a means .java
-				if (isDotJava) {
-					if (groovyFileIndex!=-1) {
-						// swap them!
-						ICompilationUnit swap = sourceUnits[groovyFileIndex];
-						sourceUnits[groovyFileIndex] = sourceUnits[u];
-						sourceUnits[u] = swap;
-						// find the next .groovy file after the groovyFileIndex (worst case it will be 'u')
-						int newGroovyFileIndex = -1;
-						for (int g=groovyFileIndex;g<=u;g++) {
-							char[] fn2 = sourceUnits[g].getFileName();
-							boolean isDotGroovy = fn2[fn2.length-1]=='y';
-							if (isDotGroovy) {
-								newGroovyFileIndex = g;
-								break;
-							}
-						}
-						groovyFileIndex = newGroovyFileIndex;
-					}
-				} else {
-					if (groovyFileIndex==-1) {
-						groovyFileIndex = u;
-					}
-				}
-			}
-//			System.out.println("after");
-//			for (int u=0,max=sourceUnits.length;u<max;u++) {
-//				System.out.println(sourceUnits[u].getFileName());
-//			}
+			partitionJavaFirst(sourceUnits);
 		}
 		// GROOVY end
 		CompilationUnitDeclaration unit = null;
@@ -803,6 +768,41 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.lookupEnvironment.completeTypeBindings();
 	}
 
+	// GROOVY start
+	/**
+	 * Moves the Java units before the Groovy units in a single pass, keeping the order of the units of each language, and
+	 * records how many units of each language there are.
+	 */
+	private void partitionJavaFirst(ICompilationUnit[] sourceUnits) {
+		int max = sourceUnits.length;
+		ICompilationUnit[] groovyUnits = null;
+		int javaCount = 0;
+		int groovyCount = 0;
+		for (int u = 0; u < max; u++) {
+			ICompilationUnit sourceUnit = sourceUnits[u];
+			if (isGroovyUnit(sourceUnit.getFileName())) {
+				if (groovyUnits == null) {
+					groovyUnits = new ICompilationUnit[max - u];
+				}
+				groovyUnits[groovyCount++] = sourceUnit;
+			} else {
+				// never overtakes u, so no unit that is still to be classified is overwritten
+				sourceUnits[javaCount++] = sourceUnit;
+			}
+		}
+		if (groovyCount > 0) {
+			System.arraycopy(groovyUnits, 0, sourceUnits, javaCount, groovyCount);
+		}
+		this.stats.javaUnitCount += javaCount;
+		this.stats.groovyUnitCount += groovyCount;
+	}
+
+	private static boolean isGroovyUnit(char[] fileName) {
+		// groovy-like extensions come from the content types, when there are any
+		return LanguageSupportFactory.isInterestingSourceFile(new String(fileName));
+	}
+	// GROOVY end
+
 	/**
 	 * Process a compilation unit already parsed and build.
 	 */
@@ -845,6 +845,15 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		// GROOVY start
+		if (this.options.buildGroovyFiles==2) {
+			if (isGroovyUnit(unit.getFileName())) {
+				this.stats.groovyProcessTime += System.currentTimeMillis() - parseStart;
+			} else {
+				this.stats.javaProcessTime += System.currentTimeMillis() - parseStart;
+			}
+		}
+		// GROOVY end
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
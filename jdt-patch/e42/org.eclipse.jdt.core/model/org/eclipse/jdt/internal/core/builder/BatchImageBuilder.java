@@ -277,6 +277,11 @@ private void printStats() {
 	System.out.print(", resolve: " + compilerStats.resolveTime + " ms (" + ((int) (compilerStats.resolveTime * 1000.0 / time)) / 10.0 + "%)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	System.out.print(", analyze: " + compilerStats.analyzeTime + " ms (" + ((int) (compilerStats.analyzeTime * 1000.0 / time)) / 10.0 + "%)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	System.out.println(", generate: " + compilerStats.generateTime + " ms (" + ((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0 + "%)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	// GROOVY start
+	if (compilerStats.groovyUnitCount > 0) {
+		System.out.println(">   java: " + compilerStats.javaUnitCount + " units, " + compilerStats.javaProcessTime + " ms, groovy: " + compilerStats.groovyUnitCount + " units, " + compilerStats.groovyProcessTime + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+	// GROOVY end
 }
 
 protected void processAnnotationResults(CompilationParticipantResult[] results) {
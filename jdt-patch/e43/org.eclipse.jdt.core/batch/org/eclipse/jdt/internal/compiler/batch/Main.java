@@ -976,6 +976,18 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				// GROOVY start
+				if (compilerStats.groovyUnitCount > 0) {
+					printlnOut(
+						this.main.bind("compile.languageTime", //$NON-NLS-1$
+							new String[] {
+								String.valueOf(compilerStats.javaUnitCount),
+								String.valueOf(compilerStats.javaProcessTime),
+								String.valueOf(compilerStats.groovyUnitCount),
+								String.valueOf(compilerStats.groovyProcessTime),
+							}));
+				}
+				// GROOVY end
 			}
 		}
 
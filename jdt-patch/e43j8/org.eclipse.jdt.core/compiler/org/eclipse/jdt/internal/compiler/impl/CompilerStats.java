@@ -24,6 +24,14 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// GROOVY start
+	// the units of each language and the time spent processing them after the initial parse, only when groovy files are built
+	public int javaUnitCount;
+	public int groovyUnitCount;
+	public long javaProcessTime;
+	public long groovyProcessTime;
+	// GROOVY end
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end